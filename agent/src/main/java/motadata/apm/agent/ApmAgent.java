@@ -0,0 +1,111 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.agent;
+
+import java.lang.instrument.Instrumentation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of the optional {@code custom-instrumentation-agent}.
+ * <p>
+ * Attach with {@code -javaagent:custom-instrumentation-agent.jar[=options]}.
+ * Options are comma-separated: {@code verbose} logs every woven class, and any
+ * other option is a package to weave, for example
+ * {@code =com.acme.orders,com.acme.billing,verbose}. Without packages, every
+ * class outside the JDK is checked for the annotations.
+ * <p>
+ * The agent only rewrites classes as they are loaded. When it is attached
+ * late through {@code agentmain}, classes loaded before that are not woven.
+ * The application must have the custom instrumentation library on its class
+ * path, because woven code calls {@code motadata.apm.WeaveSupport}.
+ *
+ * @since 1.1.0
+ */
+public final class ApmAgent
+{
+
+    private static final String LOG_PREFIX = "[motadata-apm-agent] ";
+
+    private ApmAgent()
+    {
+        throw new AssertionError("ApmAgent is a utility class and should not be instantiated");
+    }
+
+    /**
+     * Installs the transformer before the application's main method runs.
+     *
+     * @param arguments       The agent options, or null
+     * @param instrumentation The instrumentation instance
+     */
+    public static void premain(String arguments, Instrumentation instrumentation)
+    {
+        install(arguments, instrumentation);
+    }
+
+    /**
+     * Installs the transformer when the agent is attached to a running JVM.
+     *
+     * @param arguments       The agent options, or null
+     * @param instrumentation The instrumentation instance
+     */
+    public static void agentmain(String arguments, Instrumentation instrumentation)
+    {
+        install(arguments, instrumentation);
+    }
+
+    private static void install(String arguments, Instrumentation instrumentation)
+    {
+        List<String> packages = new ArrayList<>();
+
+        boolean verbose = false;
+
+        if (arguments != null)
+        {
+            for (String option : arguments.split(","))
+            {
+                option = option.trim();
+
+                if ("verbose".equals(option))
+                {
+                    verbose = true;
+                }
+                else if (!option.isEmpty())
+                {
+                    packages.add(option);
+                }
+            }
+        }
+
+        instrumentation.addTransformer(new TracedTransformer(TracedTransformer.toInternalPrefixes(packages), verbose));
+
+        if (verbose)
+        {
+            log("installed" + (packages.isEmpty() ? "" : " for " + packages));
+        }
+    }
+
+    static void log(String message)
+    {
+        System.err.println(LOG_PREFIX + message);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.agent;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Class writer that computes stack map frames without loading classes.
+ * <p>
+ * The default {@link ClassWriter#getCommonSuperClass(String, String)} loads
+ * the classes involved. Doing that while the woven class is itself being
+ * loaded can trigger class initialization or circular loading. This writer
+ * reads the superclass chain from the class files found through the woven
+ * class's loader instead.
+ *
+ * @since 1.1.0
+ */
+final class HierarchyClassWriter extends ClassWriter
+{
+
+    private static final String OBJECT = "java/lang/Object";
+
+    private final ClassLoader loader;
+
+    HierarchyClassWriter(ClassReader reader, ClassLoader loader)
+    {
+        super(reader, ClassWriter.COMPUTE_FRAMES);
+
+        this.loader = loader;
+    }
+
+    @Override
+    protected String getCommonSuperClass(String type1, String type2)
+    {
+        if (type1.equals(type2))
+        {
+            return type1;
+        }
+
+        ClassReader first = read(type1);
+
+        ClassReader second = read(type2);
+
+        if (first == null || second == null || isInterface(first) || isInterface(second))
+        {
+            return OBJECT;
+        }
+
+        Set<String> ancestors = new HashSet<>();
+
+        for (ClassReader current = first; current != null; current = read(current.getSuperName()))
+        {
+            ancestors.add(current.getClassName());
+        }
+
+        for (ClassReader current = second; current != null; current = read(current.getSuperName()))
+        {
+            if (ancestors.contains(current.getClassName()))
+            {
+                return current.getClassName();
+            }
+        }
+
+        return OBJECT;
+    }
+
+    private ClassReader read(String type)
+    {
+        if (type == null)
+        {
+            return null;
+        }
+
+        String resource = type + ".class";
+
+        try (InputStream input = loader != null ? loader.getResourceAsStream(resource) : ClassLoader.getSystemResourceAsStream(resource))
+        {
+            return input == null ? null : new ClassReader(input);
+        }
+        catch (IOException exception)
+        {
+            return null;
+        }
+    }
+
+    private static boolean isInterface(ClassReader reader)
+    {
+        return (reader.getAccess() & Opcodes.ACC_INTERFACE) != 0;
+    }
+}
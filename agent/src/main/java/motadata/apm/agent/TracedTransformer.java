@@ -0,0 +1,194 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.agent;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.nio.charset.StandardCharsets;
+import java.security.ProtectionDomain;
+import java.util.List;
+
+/**
+ * Weaves classes that use {@code @Traced} or {@code @ApmAttribute}.
+ * <p>
+ * Most classes are rejected by a byte search for the annotation descriptors
+ * in the raw class file, before any parsing. Matching classes get a
+ * code-skipping {@link WeavePlan} pass and, if anything is to be woven, a
+ * rewriting pass. Any failure leaves the class unchanged.
+ *
+ * @since 1.1.0
+ */
+final class TracedTransformer implements ClassFileTransformer
+{
+
+    private static final byte[] TRACED = bytes("motadata/apm/Traced;");
+
+    private static final byte[] APM_ATTRIBUTE = bytes("motadata/apm/ApmAttribute;");
+
+    private static final String[] EXCLUDED_PREFIXES = {"java/", "javax/", "jdk/", "sun/", "com/sun/", "motadata/apm/"};
+
+    private final String[] includedPrefixes;
+
+    private final boolean verbose;
+
+    /**
+     * Creates a transformer.
+     *
+     * @param includedPrefixes The internal-name package prefixes to weave, or
+     *                         an empty array for all packages
+     * @param verbose          Whether to log every woven class
+     */
+    TracedTransformer(String[] includedPrefixes, boolean verbose)
+    {
+        this.includedPrefixes = includedPrefixes;
+
+        this.verbose = verbose;
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer)
+    {
+        if (className == null || classBeingRedefined != null || !isCandidate(className)
+                || (indexOf(classfileBuffer, TRACED) < 0 && indexOf(classfileBuffer, APM_ATTRIBUTE) < 0))
+        {
+            return null;
+        }
+
+        try
+        {
+            ClassReader reader = new ClassReader(classfileBuffer);
+
+            WeavePlan plan = new WeavePlan();
+
+            reader.accept(plan, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+
+            for (String warning : plan.warnings())
+            {
+                ApmAgent.log(warning);
+            }
+
+            if (plan.isEmpty())
+            {
+                return null;
+            }
+
+            ClassWriter writer = new HierarchyClassWriter(reader, loader);
+
+            reader.accept(new WeavingClassVisitor(writer, plan), ClassReader.SKIP_FRAMES);
+
+            if (verbose)
+            {
+                ApmAgent.log("woven " + className.replace('/', '.'));
+            }
+
+            return writer.toByteArray();
+        }
+        catch (Throwable throwable)
+        {
+            ApmAgent.log("failed to weave " + className.replace('/', '.') + ", class left unchanged: " + throwable);
+
+            return null;
+        }
+    }
+
+    private boolean isCandidate(String className)
+    {
+        for (String prefix : EXCLUDED_PREFIXES)
+        {
+            if (className.startsWith(prefix))
+            {
+                return false;
+            }
+        }
+
+        if (includedPrefixes.length == 0)
+        {
+            return true;
+        }
+
+        for (String prefix : includedPrefixes)
+        {
+            if (className.startsWith(prefix))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds a byte sequence in a class file.
+     *
+     * @param data    The class file
+     * @param pattern The sequence to find
+     * @return The index of the first match, or -1
+     */
+    static int indexOf(byte[] data, byte[] pattern)
+    {
+        byte first = pattern[0];
+
+        int last = data.length - pattern.length;
+
+        outer:
+        for (int i = 0; i <= last; i++)
+        {
+            if (data[i] != first)
+            {
+                continue;
+            }
+
+            for (int j = 1; j < pattern.length; j++)
+            {
+                if (data[i + j] != pattern[j])
+                {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+
+    private static byte[] bytes(String value)
+    {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String[] toInternalPrefixes(List<String> packages)
+    {
+        String[] prefixes = new String[packages.size()];
+
+        for (int i = 0; i < prefixes.length; i++)
+        {
+            String name = packages.get(i).replace('.', '/');
+
+            prefixes[i] = name.endsWith("/") ? name : name + '/';
+        }
+
+        return prefixes;
+    }
+}
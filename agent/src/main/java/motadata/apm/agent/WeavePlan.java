@@ -0,0 +1,422 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.agent;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import motadata.apm.rules.KeyRules;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * What to weave into one class, collected in a first, code-skipping pass
+ * over the class file.
+ * <p>
+ * Annotation values are validated and turned into prepared keys here, once
+ * per class. Each distinct key and handle type gets one synthetic static field
+ * that holds the key handle.
+ *
+ * @since 1.1.0
+ */
+final class WeavePlan extends ClassVisitor
+{
+
+    static final String TRACED = "Lmotadata/apm/Traced;";
+
+    static final String APM_ATTRIBUTE = "Lmotadata/apm/ApmAttribute;";
+
+    private static final String FIELD_PREFIX = "apm$key$";
+
+    private final Map<String, MethodPlan> methods = new HashMap<>();
+
+    private final Map<String, Handle> handles = new LinkedHashMap<>();
+
+    private final List<String> warnings = new ArrayList<>();
+
+    private String className;
+
+    private boolean skipped;
+
+    WeavePlan()
+    {
+        super(Opcodes.ASM9);
+    }
+
+    @Override
+    public void visit(int version, int access, String name, String signature, String superName, String[] interfaces)
+    {
+        className = name;
+
+        skipped = (access & (Opcodes.ACC_INTERFACE | Opcodes.ACC_ANNOTATION | Opcodes.ACC_MODULE)) != 0;
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions)
+    {
+        if (skipped || name.startsWith("<") || (access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE | Opcodes.ACC_BRIDGE | Opcodes.ACC_SYNTHETIC)) != 0)
+        {
+            return null;
+        }
+
+        MethodPlan method = new MethodPlan(name, descriptor);
+
+        return new MethodVisitor(Opcodes.ASM9)
+        {
+            @Override
+            public AnnotationVisitor visitAnnotation(String annotation, boolean visible)
+            {
+                if (TRACED.equals(annotation))
+                {
+                    method.traced = true;
+
+                    return new ValueVisitor(value -> method.spanName = value);
+                }
+
+                if (APM_ATTRIBUTE.equals(annotation))
+                {
+                    return new ValueVisitor(value -> method.returnKey = value);
+                }
+
+                return null;
+            }
+
+            @Override
+            public AnnotationVisitor visitParameterAnnotation(int parameter, String annotation, boolean visible)
+            {
+                if (APM_ATTRIBUTE.equals(annotation) && parameter < method.parameterKeys.length)
+                {
+                    return new ValueVisitor(value -> method.parameterKeys[parameter] = value);
+                }
+
+                return null;
+            }
+
+            @Override
+            public void visitEnd()
+            {
+                if (method.isAnnotated())
+                {
+                    methods.put(name + descriptor, method);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void visitEnd()
+    {
+        for (MethodPlan method : methods.values())
+        {
+            resolve(method);
+        }
+    }
+
+    /**
+     * Returns whether anything in the class needs weaving.
+     *
+     * @return true if at least one method is woven
+     */
+    boolean isEmpty()
+    {
+        for (MethodPlan method : methods.values())
+        {
+            if (method.isWoven())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    MethodPlan method(String name, String descriptor)
+    {
+        MethodPlan method = methods.get(name + descriptor);
+
+        return method != null && method.isWoven() ? method : null;
+    }
+
+    Iterable<Handle> handles()
+    {
+        return handles.values();
+    }
+
+    List<String> warnings()
+    {
+        return warnings;
+    }
+
+    /**
+     * Validates a method's annotation values and assigns handle fields.
+     */
+    private void resolve(MethodPlan method)
+    {
+        if (method.traced)
+        {
+            String name = method.spanName == null || method.spanName.isEmpty() ? defaultSpanName(method.name) : method.spanName;
+
+            method.spanName = KeyRules.prepare(name);
+
+            if (method.spanName == null)
+            {
+                warnings.add("invalid @Traced name '" + name + "' on " + className + "." + method.name + ", method not traced");
+            }
+        }
+
+        Type[] arguments = Type.getArgumentTypes(method.descriptor);
+
+        for (int i = 0; i < arguments.length; i++)
+        {
+            method.parameterHandles[i] = handle(method, method.parameterKeys[i], arguments[i], "parameter " + i);
+        }
+
+        method.returnHandle = handle(method, method.returnKey, Type.getReturnType(method.descriptor), "return value");
+    }
+
+    private Handle handle(MethodPlan method, String key, Type type, String target)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        String kind = HandleKind.of(type);
+
+        String prepared = KeyRules.prepare(key);
+
+        if (kind == null || prepared == null)
+        {
+            warnings.add((kind == null ? "unsupported type " + type.getClassName() : "invalid key '" + key + "'")
+                    + " for @ApmAttribute on " + target + " of " + className + "." + method.name + ", attribute skipped");
+
+            return null;
+        }
+
+        return handles.computeIfAbsent(kind + ' ' + prepared, ignored -> new Handle(FIELD_PREFIX + handles.size(), kind, prepared));
+    }
+
+    private String defaultSpanName(String methodName)
+    {
+        String simpleName = className.substring(className.lastIndexOf('/') + 1);
+
+        StringBuilder name = new StringBuilder();
+
+        for (char c : (simpleName + '.' + methodName).toCharArray())
+        {
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.')
+            {
+                name.append(c);
+            }
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * The handle types the agent can generate and the setters they use.
+     */
+    static final class HandleKind
+    {
+
+        static final String BOOLEAN = "BooleanKey";
+
+        static final String DOUBLE = "DoubleKey";
+
+        static final String LONG = "LongKey";
+
+        static final String STRING = "StringKey";
+
+        private HandleKind()
+        {
+            throw new AssertionError("HandleKind is a utility class and should not be instantiated");
+        }
+
+        /**
+         * Maps a value type to the handle type that records it.
+         *
+         * @param type The parameter or return type
+         * @return The handle type, or null if the type is not supported
+         */
+        static String of(Type type)
+        {
+            switch (type.getSort())
+            {
+                case Type.BOOLEAN:
+                    return BOOLEAN;
+
+                case Type.FLOAT:
+                case Type.DOUBLE:
+                    return DOUBLE;
+
+                case Type.CHAR:
+                case Type.BYTE:
+                case Type.SHORT:
+                case Type.INT:
+                case Type.LONG:
+                    return LONG;
+
+                case Type.OBJECT:
+                    return STRING;
+
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * A synthetic static field holding one key handle.
+     */
+    static final class Handle
+    {
+
+        final String field;
+
+        final String kind;
+
+        final String key;
+
+        private Handle(String field, String kind, String key)
+        {
+            this.field = field;
+
+            this.kind = kind;
+
+            this.key = key;
+        }
+
+        String descriptor()
+        {
+            return "Lmotadata/apm/" + kind + ";";
+        }
+    }
+
+    /**
+     * The annotations found on one method and the handles resolved for them.
+     */
+    static final class MethodPlan
+    {
+
+        final String name;
+
+        final String descriptor;
+
+        boolean traced;
+
+        String spanName;
+
+        String returnKey;
+
+        Handle returnHandle;
+
+        final String[] parameterKeys;
+
+        final Handle[] parameterHandles;
+
+        private MethodPlan(String name, String descriptor)
+        {
+            this.name = name;
+
+            this.descriptor = descriptor;
+
+            int count = Type.getArgumentTypes(descriptor).length;
+
+            this.parameterKeys = new String[count];
+
+            this.parameterHandles = new Handle[count];
+        }
+
+        boolean isTraced()
+        {
+            return traced && spanName != null;
+        }
+
+        private boolean isAnnotated()
+        {
+            if (traced || returnKey != null)
+            {
+                return true;
+            }
+
+            for (String key : parameterKeys)
+            {
+                if (key != null)
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private boolean isWoven()
+        {
+            if (isTraced() || returnHandle != null)
+            {
+                return true;
+            }
+
+            for (Handle handle : parameterHandles)
+            {
+                if (handle != null)
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Reads the {@code value} element of an annotation.
+     */
+    private static final class ValueVisitor extends AnnotationVisitor
+    {
+
+        private final Consumer<String> target;
+
+        private ValueVisitor(Consumer<String> target)
+        {
+            super(Opcodes.ASM9);
+
+            this.target = target;
+        }
+
+        @Override
+        public void visit(String name, Object value)
+        {
+            if ("value".equals(name) && value instanceof String)
+            {
+                target.accept((String) value);
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.agent;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.AdviceAdapter;
+import org.objectweb.asm.commons.Method;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Second pass over a class: adds the synthetic key handle fields, initializes
+ * them in the static initializer, and weaves the planned methods.
+ *
+ * @since 1.1.0
+ */
+final class WeavingClassVisitor extends ClassVisitor
+{
+
+    static final Type WEAVE_SUPPORT = Type.getObjectType("motadata/apm/WeaveSupport");
+
+    private static final int FIELD_ACCESS = Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC;
+
+    private final WeavePlan plan;
+
+    private String className;
+
+    private boolean hasStaticInitializer;
+
+    WeavingClassVisitor(ClassVisitor next, WeavePlan plan)
+    {
+        super(Opcodes.ASM9, next);
+
+        this.plan = plan;
+    }
+
+    @Override
+    public void visit(int version, int access, String name, String signature, String superName, String[] interfaces)
+    {
+        className = name;
+
+        super.visit(version, access, name, signature, superName, interfaces);
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions)
+    {
+        MethodVisitor next = super.visitMethod(access, name, descriptor, signature, exceptions);
+
+        if ("<clinit>".equals(name))
+        {
+            hasStaticInitializer = true;
+
+            return new MethodVisitor(Opcodes.ASM9, next)
+            {
+                @Override
+                public void visitCode()
+                {
+                    super.visitCode();
+
+                    initializeHandles(mv);
+                }
+            };
+        }
+
+        WeavePlan.MethodPlan method = plan.method(name, descriptor);
+
+        if (method == null)
+        {
+            return next;
+        }
+
+        MethodNode woven = new MethodNode(Opcodes.ASM9, access, name, descriptor, signature, exceptions);
+
+        return new WeavingMethodVisitor(woven, next, access, name, descriptor, className, method);
+    }
+
+    @Override
+    public void visitEnd()
+    {
+        for (WeavePlan.Handle handle : plan.handles())
+        {
+            super.visitField(FIELD_ACCESS, handle.field, handle.descriptor(), null, null).visitEnd();
+        }
+
+        if (!hasStaticInitializer)
+        {
+            MethodVisitor initializer = super.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+
+            initializer.visitCode();
+
+            initializeHandles(initializer);
+
+            initializer.visitInsn(Opcodes.RETURN);
+
+            initializer.visitMaxs(0, 0);
+
+            initializer.visitEnd();
+        }
+
+        super.visitEnd();
+    }
+
+    /**
+     * Emits the code that builds every key handle once and stores it in its
+     * synthetic field.
+     */
+    private void initializeHandles(MethodVisitor initializer)
+    {
+        for (WeavePlan.Handle handle : plan.handles())
+        {
+            String factory = Character.toLowerCase(handle.kind.charAt(0)) + handle.kind.substring(1);
+
+            initializer.visitLdcInsn(handle.key);
+
+            initializer.visitMethodInsn(Opcodes.INVOKESTATIC, WEAVE_SUPPORT.getInternalName(), factory, "(Ljava/lang/String;)" + handle.descriptor(), false);
+
+            initializer.visitFieldInsn(Opcodes.PUTSTATIC, className, handle.field, handle.descriptor());
+        }
+    }
+
+    /**
+     * Weaves one method: parameter attributes and span start on entry,
+     * return attributes and span end on every return, and span end with the
+     * error on every exception.
+     * <p>
+     * The woven method is buffered in a {@link MethodNode} so that the
+     * catch-all, which has to be registered before its start label, can be
+     * moved behind the method's own handlers before the method is written.
+     */
+    private static final class WeavingMethodVisitor extends AdviceAdapter
+    {
+
+        private static final Method ENTER = Method.getMethod("Object enter(String)");
+
+        private static final Method EXIT = Method.getMethod("void exit(Object, Throwable)");
+
+        private final MethodNode woven;
+
+        private final MethodVisitor next;
+
+        private final String owner;
+
+        private final WeavePlan.MethodPlan method;
+
+        private final Type[] arguments;
+
+        private final Type returnType;
+
+        private final Label start = new Label();
+
+        private final Label handler = new Label();
+
+        private int state = -1;
+
+        private WeavingMethodVisitor(MethodNode woven, MethodVisitor next, int access, String name, String descriptor, String owner, WeavePlan.MethodPlan method)
+        {
+            super(Opcodes.ASM9, woven, access, name, descriptor);
+
+            this.woven = woven;
+
+            this.next = next;
+
+            this.owner = owner;
+
+            this.method = method;
+
+            this.arguments = Type.getArgumentTypes(descriptor);
+
+            this.returnType = Type.getReturnType(descriptor);
+        }
+
+        @Override
+        protected void onMethodEnter()
+        {
+            if (method.isTraced())
+            {
+                push(method.spanName);
+
+                invokeStatic(WEAVE_SUPPORT, ENTER);
+
+                state = newLocal(Type.getType(Object.class));
+
+                storeLocal(state);
+
+                visitTryCatchBlock(start, handler, handler, "java/lang/Throwable");
+
+                visitLabel(start);
+            }
+
+            for (int i = 0; i < arguments.length; i++)
+            {
+                WeavePlan.Handle handle = method.parameterHandles[i];
+
+                if (handle != null)
+                {
+                    getStatic(Type.getObjectType(owner), handle.field, Type.getType(handle.descriptor()));
+
+                    loadArg(i);
+
+                    record(handle, arguments[i]);
+                }
+            }
+        }
+
+        @Override
+        protected void onMethodExit(int opcode)
+        {
+            if (opcode == ATHROW)
+            {
+                return;
+            }
+
+            WeavePlan.Handle handle = method.returnHandle;
+
+            if (handle != null && opcode != RETURN)
+            {
+                Type handleType = Type.getType(handle.descriptor());
+
+                if (returnType.getSize() == 2)
+                {
+                    dup2();
+
+                    getStatic(Type.getObjectType(owner), handle.field, handleType);
+
+                    dupX2();
+
+                    pop();
+                }
+                else
+                {
+                    dup();
+
+                    getStatic(Type.getObjectType(owner), handle.field, handleType);
+
+                    swap();
+                }
+
+                record(handle, returnType);
+            }
+
+            if (state >= 0)
+            {
+                loadLocal(state);
+
+                visitInsn(ACONST_NULL);
+
+                invokeStatic(WEAVE_SUPPORT, EXIT);
+            }
+        }
+
+        @Override
+        public void visitMaxs(int maxStack, int maxLocals)
+        {
+            if (state >= 0)
+            {
+                visitLabel(handler);
+
+                dup();
+
+                loadLocal(state);
+
+                swap();
+
+                invokeStatic(WEAVE_SUPPORT, EXIT);
+
+                throwException();
+            }
+
+            super.visitMaxs(maxStack, maxLocals);
+        }
+
+        @Override
+        public void visitEnd()
+        {
+            super.visitEnd();
+
+            if (state >= 0)
+            {
+                // The JVM takes the first matching entry, and the reader visits
+                // the method's own handlers after onMethodEnter, so the
+                // catch-all goes last to keep inner catch blocks working.
+                woven.tryCatchBlocks.add(woven.tryCatchBlocks.remove(0));
+            }
+
+            woven.accept(next);
+        }
+
+        /**
+         * With the handle and the value on the stack, converts the value to
+         * the setter's parameter type and calls the matching setter.
+         */
+        private void record(WeavePlan.Handle handle, Type type)
+        {
+            Type valueType;
+
+            switch (handle.kind)
+            {
+                case WeavePlan.HandleKind.BOOLEAN:
+                    valueType = Type.BOOLEAN_TYPE;
+
+                    break;
+
+                case WeavePlan.HandleKind.DOUBLE:
+                    valueType = Type.DOUBLE_TYPE;
+
+                    break;
+
+                case WeavePlan.HandleKind.LONG:
+                    valueType = Type.LONG_TYPE;
+
+                    break;
+
+                default:
+                    valueType = Type.getType(Object.class);
+
+                    break;
+            }
+
+            if (valueType.getSort() != Type.OBJECT && type.getSort() != valueType.getSort())
+            {
+                cast(type, valueType);
+            }
+
+            invokeStatic(WEAVE_SUPPORT, new Method("set", Type.VOID_TYPE, new Type[]{Type.getType(handle.descriptor()), valueType}));
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.agent;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import motadata.apm.CustomInstrumentation;
+import motadata.fixtures.OrderService;
+import motadata.fixtures.PriceList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WeavingTest
+{
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    private final OpenTelemetrySdk sdk = OpenTelemetrySdk.builder()
+            .setTracerProvider(SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build())
+            .build();
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        CustomInstrumentation.setOpenTelemetry(sdk);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        CustomInstrumentation.clearOpenTelemetry();
+    }
+
+    @Test
+    void twoSlotReturnsAndParametersAreRecorded() throws Exception
+    {
+        Class<?> woven = weave(OrderService.class);
+
+        Object service = woven.getConstructor(String.class).newInstance("eu-west");
+
+        assertEquals(3007L, woven.getMethod("total", String.class, int.class).invoke(service, "o-1", 3));
+
+        assertEquals(2.5, woven.getMethod("ratio", double.class, long.class, boolean.class).invoke(service, 5.0, 2L, false));
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+
+        assertEquals(2, spans.size());
+
+        SpanData total = spans.get(0);
+
+        assertEquals("apm.order.total", total.getName());
+
+        assertEquals("o-1", total.getAttributes().get(AttributeKey.stringKey("apm.order.id")));
+
+        assertEquals(3L, total.getAttributes().get(AttributeKey.longKey("apm.order.count")));
+
+        assertEquals(3007L, total.getAttributes().get(AttributeKey.longKey("apm.order.total")));
+
+        SpanData ratio = spans.get(1);
+
+        assertEquals("apm.orderservice.ratio", ratio.getName());
+
+        assertEquals(5.0, ratio.getAttributes().get(AttributeKey.doubleKey("apm.order.weight")));
+
+        assertEquals(false, ratio.getAttributes().get(AttributeKey.booleanKey("apm.order.gift")));
+
+        assertEquals(2.5, ratio.getAttributes().get(AttributeKey.doubleKey("apm.order.ratio")));
+    }
+
+    @Test
+    void existingStaticInitializerAlsoBuildsTheHandles() throws Exception
+    {
+        Class<?> woven = weave(PriceList.class);
+
+        assertEquals(250L, woven.getMethod("price", String.class).invoke(null, "sku-1"));
+
+        SpanData span = exporter.getFinishedSpanItems().get(0);
+
+        assertEquals("apm.price.lookup", span.getName());
+
+        assertEquals("sku-1", span.getAttributes().get(AttributeKey.stringKey("apm.price.sku")));
+
+        assertEquals(250L, span.getAttributes().get(AttributeKey.longKey("apm.price.value")));
+    }
+
+    @Test
+    void thrownExceptionEndsTheSpanWithAnErrorAndIsRethrown() throws Exception
+    {
+        Class<?> woven = weave(OrderService.class);
+
+        Object service = woven.getConstructor(String.class).newInstance("eu-west");
+
+        Method fail = woven.getMethod("fail", String.class);
+
+        InvocationTargetException thrown = assertThrows(InvocationTargetException.class, () -> fail.invoke(service, "o-2"));
+
+        assertInstanceOf(IOException.class, thrown.getCause());
+
+        assertFalse(Span.current().getSpanContext().isValid());
+
+        SpanData span = exporter.getFinishedSpanItems().get(0);
+
+        assertEquals("apm.order.fail", span.getName());
+
+        assertEquals(StatusCode.ERROR, span.getStatus().getStatusCode());
+
+        assertEquals("o-2", span.getAttributes().get(AttributeKey.stringKey("apm.order.id")));
+
+        EventData event = span.getEvents().get(0);
+
+        assertEquals("exception", event.getName());
+
+        assertEquals("java.io.IOException", event.getAttributes().get(AttributeKey.stringKey("exception.type")));
+    }
+
+    @Test
+    void catchBlocksInsideTheMethodStillRun() throws Exception
+    {
+        Class<?> woven = weave(OrderService.class);
+
+        Object service = woven.getConstructor(String.class).newInstance("eu-west");
+
+        assertEquals("recovered", woven.getMethod("recover").invoke(service));
+
+        SpanData span = exporter.getFinishedSpanItems().get(0);
+
+        assertEquals(StatusCode.UNSET, span.getStatus().getStatusCode());
+
+        assertEquals(0, span.getEvents().size());
+    }
+
+    @Test
+    void untracedReturnAttributeGoesToTheCurrentSpan() throws Exception
+    {
+        Class<?> woven = weave(OrderService.class);
+
+        Object service = woven.getConstructor(String.class).newInstance("eu-west");
+
+        Span parent = sdk.getTracer("test").spanBuilder("parent").startSpan();
+
+        try (Scope ignored = parent.makeCurrent())
+        {
+            assertEquals("eu-west", woven.getMethod("region").invoke(service));
+        }
+        finally
+        {
+            parent.end();
+        }
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+
+        assertEquals(1, spans.size());
+
+        assertEquals("eu-west", spans.get(0).getAttributes().get(AttributeKey.stringKey("apm.order.region")));
+    }
+
+    /**
+     * Runs a fixture class file through the transformer and defines the
+     * result in its own class loader.
+     */
+    private static Class<?> weave(Class<?> fixture) throws IOException
+    {
+        String internalName = fixture.getName().replace('.', '/');
+
+        ClassLoader parent = WeavingTest.class.getClassLoader();
+
+        byte[] woven = new TracedTransformer(new String[0], false).transform(parent, internalName, null, null, read(parent, internalName));
+
+        assertNotNull(woven, internalName + " was not woven");
+
+        return new WovenClassLoader(parent).define(fixture.getName(), woven);
+    }
+
+    private static byte[] read(ClassLoader loader, String internalName) throws IOException
+    {
+        try (InputStream input = loader.getResourceAsStream(internalName + ".class"))
+        {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            byte[] buffer = new byte[4096];
+
+            int read;
+
+            while ((read = input.read(buffer)) > 0)
+            {
+                output.write(buffer, 0, read);
+            }
+
+            return output.toByteArray();
+        }
+    }
+
+    private static final class WovenClassLoader extends ClassLoader
+    {
+
+        private WovenClassLoader(ClassLoader parent)
+        {
+            super(parent);
+        }
+
+        private Class<?> define(String name, byte[] bytes)
+        {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
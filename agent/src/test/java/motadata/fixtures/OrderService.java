@@ -0,0 +1,81 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.fixtures;
+
+import motadata.apm.ApmAttribute;
+import motadata.apm.Traced;
+
+import java.io.IOException;
+
+/**
+ * Woven by the agent tests: two-slot returns and parameters, a constructor,
+ * no static initializer, a thrown exception and a caught one.
+ */
+public class OrderService
+{
+
+    private final String region;
+
+    public OrderService(String region)
+    {
+        this.region = region;
+    }
+
+    @Traced("order.total")
+    @ApmAttribute("order.total")
+    public long total(@ApmAttribute("order.id") String id, @ApmAttribute("order.count") int count)
+    {
+        return count * 1000L + region.length();
+    }
+
+    @Traced
+    @ApmAttribute("order.ratio")
+    public double ratio(@ApmAttribute("order.weight") double weight, long quantity, @ApmAttribute("order.gift") boolean gift)
+    {
+        return gift ? 0 : weight / quantity;
+    }
+
+    @Traced("order.fail")
+    public void fail(@ApmAttribute("order.id") String id) throws IOException
+    {
+        throw new IOException("unavailable " + id);
+    }
+
+    @Traced("order.recover")
+    public String recover()
+    {
+        try
+        {
+            throw new IllegalStateException("inner");
+        }
+        catch (IllegalStateException exception)
+        {
+            return "recovered";
+        }
+    }
+
+    @ApmAttribute("order.region")
+    public String region()
+    {
+        return region;
+    }
+}
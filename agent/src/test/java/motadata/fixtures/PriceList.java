@@ -0,0 +1,54 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.fixtures;
+
+import motadata.apm.ApmAttribute;
+import motadata.apm.Traced;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Woven by the agent tests: a class whose static initializer already exists
+ * and must also build the key handles.
+ */
+public class PriceList
+{
+
+    private static final Map<String, Long> PRICES = new HashMap<>();
+
+    static
+    {
+        PRICES.put("sku-1", 250L);
+    }
+
+    private PriceList()
+    {
+    }
+
+    @Traced("price.lookup")
+    @ApmAttribute("price.value")
+    public static long price(@ApmAttribute("price.sku") String sku)
+    {
+        return PRICES.get(sku);
+    }
+}
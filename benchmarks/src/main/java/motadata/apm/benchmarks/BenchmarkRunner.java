@@ -0,0 +1,75 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks JAR.
+ * <p>
+ * Accepts the standard JMH command line and adds two defaults so every run is
+ * comparable across releases:
+ * <ul>
+ *   <li>The GC profiler is always attached, reporting allocated bytes per
+ *       operation ({@code gc.alloc.rate.norm})</li>
+ *   <li>Results are written as JSON to {@code jmh-result.json} unless
+ *       {@code -rf}/{@code -rff} say otherwise</li>
+ * </ul>
+ *
+ * @since 1.1.0
+ */
+public final class BenchmarkRunner
+{
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner()
+    {
+        throw new AssertionError("BenchmarkRunner is a utility class and should not be instantiated");
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+
+        if (!commandLine.getResultFormat().hasValue())
+        {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!commandLine.getResult().hasValue())
+        {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
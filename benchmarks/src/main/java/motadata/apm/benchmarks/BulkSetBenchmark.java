@@ -0,0 +1,106 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.benchmarks;
+
+import motadata.apm.AttributeSession;
+import motadata.apm.AttributeStatus;
+import motadata.apm.CustomInstrumentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks writing a typical request's worth of attributes one call at a
+ * time, through a session, and through {@code setAll}.
+ *
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkSetBenchmark
+{
+
+    @Param({"5", "20"})
+    public int count;
+
+    private String[] keys;
+
+    private Map<String, Object> attributes;
+
+    @Setup
+    public void setUp()
+    {
+        keys = new String[count];
+
+        attributes = new LinkedHashMap<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            keys[i] = "apm.request.field" + i;
+
+            attributes.put(keys[i], (long) i);
+        }
+    }
+
+    @Benchmark
+    public void individualTrySet(SpanFixture fixture, Blackhole blackhole)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            blackhole.consume(CustomInstrumentation.trySet(keys[i], (long) i));
+        }
+    }
+
+    @Benchmark
+    public void session(SpanFixture fixture, Blackhole blackhole) throws Exception
+    {
+        AttributeSession session = CustomInstrumentation.current();
+
+        for (int i = 0; i < count; i++)
+        {
+            blackhole.consume(session.trySet(keys[i], (long) i));
+        }
+    }
+
+    @Benchmark
+    public Map<String, AttributeStatus> setAll(SpanFixture fixture)
+    {
+        return CustomInstrumentation.setAll(attributes);
+    }
+}
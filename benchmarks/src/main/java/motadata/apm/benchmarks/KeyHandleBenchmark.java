@@ -0,0 +1,115 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.benchmarks;
+
+import io.opentelemetry.api.common.AttributeKey;
+import motadata.apm.AttributeSession;
+import motadata.apm.CustomInstrumentation;
+import motadata.apm.LongKey;
+import motadata.apm.StringKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks writes through pre-validated key handles and span-bound
+ * sessions against a raw {@code Span.setAttribute(AttributeKey, T)} baseline
+ * with a pre-built key.
+ *
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyHandleBenchmark
+{
+
+    private static final AttributeKey<Long> RAW_KEY = AttributeKey.longKey("apm.order.id");
+
+    private LongKey longKey;
+
+    private StringKey stringKey;
+
+    private AttributeSession session;
+
+    private long value = 1234567890123L;
+
+    private String string = "order-1234567890";
+
+    @Setup
+    public void setUp(SpanFixture fixture) throws Exception
+    {
+        longKey = CustomInstrumentation.longKey("apm.order.id");
+
+        stringKey = CustomInstrumentation.stringKey("apm.order.name");
+
+        session = CustomInstrumentation.on(fixture.span);
+    }
+
+    @Benchmark
+    public void rawSpanTypedKey(SpanFixture fixture)
+    {
+        fixture.span.setAttribute(RAW_KEY, value);
+    }
+
+    @Benchmark
+    public void handleLongCurrentSpan(SpanFixture fixture) throws Exception
+    {
+        longKey.set(value);
+    }
+
+    @Benchmark
+    public void handleLongExplicitSpan(SpanFixture fixture) throws Exception
+    {
+        longKey.set(fixture.span, value);
+    }
+
+    @Benchmark
+    public void handleString(SpanFixture fixture) throws Exception
+    {
+        stringKey.set(string);
+    }
+
+    @Benchmark
+    public void sessionRawKey(SpanFixture fixture) throws Exception
+    {
+        session.set("apm.order.id", value);
+    }
+
+    @Benchmark
+    public void sessionHandle(SpanFixture fixture) throws Exception
+    {
+        session.set(longKey, value);
+    }
+}
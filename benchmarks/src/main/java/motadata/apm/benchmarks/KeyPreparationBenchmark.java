@@ -0,0 +1,115 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.benchmarks;
+
+import io.opentelemetry.api.common.AttributeKey;
+import motadata.apm.CustomInstrumentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the single-pass key scanner with the regular-expression key
+ * preparation it replaced.
+ * <p>
+ * The scanner is measured through {@link CustomInstrumentation#stringKey(String)},
+ * which prepares the key without the prepared-key cache. The regex baseline
+ * builds the same {@link AttributeKey} and fails the same way, so both sides
+ * differ only in how the key is validated and normalized.
+ *
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyPreparationBenchmark
+{
+
+    private static final String DEFAULT_PREFIX = "apm.";
+
+    private static final Pattern KEY_VALIDATION_PATTERN = Pattern.compile("[a-zA-Z0-9.]+");
+
+    @Param({"apm.order.id", "order.id", "Apm.Order.Id", "  apm.order.id  ", "order id!"})
+    public String key;
+
+    @Setup
+    public void setUp()
+    {
+        key = new String(key);
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole)
+    {
+        try
+        {
+            blackhole.consume(CustomInstrumentation.stringKey(key));
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole)
+    {
+        try
+        {
+            blackhole.consume(AttributeKey.stringKey(prepareWithRegex(key)));
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    private static String prepareWithRegex(String key) throws Exception
+    {
+        String trimmed = key.trim();
+
+        if (trimmed.isEmpty() || !KEY_VALIDATION_PATTERN.matcher(trimmed).matches())
+        {
+            throw new Exception("Invalid attribute key: " + key);
+        }
+
+        trimmed = trimmed.toLowerCase(Locale.ROOT);
+
+        return trimmed.startsWith(DEFAULT_PREFIX) ? trimmed : DEFAULT_PREFIX + trimmed;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.benchmarks;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import motadata.apm.AttributeStatus;
+import motadata.apm.CustomInstrumentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the loop-based list filters with the stream pipelines they
+ * replaced, for clean lists and lists containing nulls.
+ * <p>
+ * The filters are measured through the public {@code trySet*List} setters on
+ * a recording span. The stream baselines filter the same list and write it to
+ * the same span through the OpenTelemetry API, so the difference also
+ * includes the setters' per-write checks.
+ *
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class ListFilterBenchmark
+{
+
+    private static final String KEY = "apm.shard.rows";
+
+    private static final AttributeKey<List<Long>> LONGS_KEY = AttributeKey.longArrayKey(KEY);
+
+    private static final AttributeKey<List<Double>> DOUBLES_KEY = AttributeKey.doubleArrayKey(KEY);
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean withNulls;
+
+    private List<Long> longs;
+
+    private List<Double> doubles;
+
+    private List<Integer> integers;
+
+    private SdkTracerProvider tracerProvider;
+
+    private Span span;
+
+    private Scope scope;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        longs = new ArrayList<>(size);
+
+        doubles = new ArrayList<>(size);
+
+        integers = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            boolean hole = withNulls && i % 10 == 9;
+
+            longs.add(hole ? null : (long) i);
+
+            doubles.add(hole ? null : i * 1.5);
+
+            integers.add(hole ? null : i);
+        }
+
+        tracerProvider = SdkTracerProvider.builder().build();
+
+        span = tracerProvider.get("benchmarks").spanBuilder("benchmark").startSpan();
+
+        scope = span.makeCurrent();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        scope.close();
+
+        span.end();
+
+        tracerProvider.close();
+    }
+
+    @Benchmark
+    public AttributeStatus loopFilterNullValues()
+    {
+        return CustomInstrumentation.trySetLongList(KEY, longs);
+    }
+
+    @Benchmark
+    public Span streamFilterNullValues()
+    {
+        return span.setAttribute(LONGS_KEY, longs.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(() -> new ArrayList<>(longs.size()))));
+    }
+
+    @Benchmark
+    public AttributeStatus loopFilterDoubles()
+    {
+        return CustomInstrumentation.trySetDoubleList(KEY, doubles);
+    }
+
+    @Benchmark
+    public Span streamFilterDoubles()
+    {
+        return span.setAttribute(DOUBLES_KEY, doubles.stream()
+                .filter(v -> v != null && !Double.isNaN(v) && !Double.isInfinite(v))
+                .collect(Collectors.toCollection(() -> new ArrayList<>(doubles.size()))));
+    }
+
+    @Benchmark
+    public AttributeStatus loopConvertIntegers()
+    {
+        return CustomInstrumentation.trySetIntegerList(KEY, integers);
+    }
+
+    @Benchmark
+    public Span streamConvertIntegers()
+    {
+        return span.setAttribute(LONGS_KEY, integers.stream()
+                .filter(Objects::nonNull)
+                .map(Integer::longValue)
+                .collect(Collectors.toCollection(() -> new ArrayList<>(integers.size()))));
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.benchmarks;
+
+import motadata.apm.AttributeStatus;
+import motadata.apm.CustomInstrumentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every {@code set*List} and {@code set*Array} method across list
+ * sizes, span kinds and valid and rejected keys.
+ *
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListSetBenchmark
+{
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int size;
+
+    @Param({"valid", "rejected"})
+    public String keyKind;
+
+    private String key;
+
+    private List<Boolean> booleans;
+
+    private List<Double> doubles;
+
+    private List<Integer> integers;
+
+    private List<Long> longs;
+
+    private List<String> strings;
+
+    private boolean[] booleanArray;
+
+    private double[] doubleArray;
+
+    private int[] intArray;
+
+    private long[] longArray;
+
+    @Setup
+    public void setUp()
+    {
+        key = "valid".equals(keyKind) ? "apm.shard.rows" : "shard rows!";
+
+        booleans = new ArrayList<>(size);
+
+        doubles = new ArrayList<>(size);
+
+        integers = new ArrayList<>(size);
+
+        longs = new ArrayList<>(size);
+
+        strings = new ArrayList<>(size);
+
+        booleanArray = new boolean[size];
+
+        doubleArray = new double[size];
+
+        intArray = new int[size];
+
+        longArray = new long[size];
+
+        for (int i = 0; i < size; i++)
+        {
+            booleans.add(i % 2 == 0);
+
+            doubles.add(i * 1.5);
+
+            integers.add(i);
+
+            longs.add(i * 1000L);
+
+            strings.add("value-" + i);
+
+            booleanArray[i] = i % 2 == 0;
+
+            doubleArray[i] = i * 1.5;
+
+            intArray[i] = i;
+
+            longArray[i] = i * 1000L;
+        }
+    }
+
+    @Benchmark
+    public void setBooleanList(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setBooleanList(key, booleans);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setDoubleList(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setDoubleList(key, doubles);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setIntegerList(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setIntegerList(key, integers);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setLongList(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setLongList(key, longs);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setStringList(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setStringList(key, strings);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public AttributeStatus trySetLongList(SpanFixture fixture)
+    {
+        return CustomInstrumentation.trySetLongList(key, longs);
+    }
+
+    @Benchmark
+    public void setBooleanArray(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setBooleanArray(key, booleanArray);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setDoubleArray(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setDoubleArray(key, doubleArray);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setIntegerArray(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setIntegerArray(key, intArray);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setLongArray(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.setLongArray(key, longArray);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+}
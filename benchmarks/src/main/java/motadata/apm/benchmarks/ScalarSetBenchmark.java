@@ -0,0 +1,235 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.benchmarks;
+
+import motadata.apm.AttributeStatus;
+import motadata.apm.CustomInstrumentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every scalar {@code set} and {@code trySet} overload against a
+ * raw {@code Span.setAttribute} baseline.
+ * <p>
+ * Runs for recording, non-recording and invalid spans and for valid and
+ * rejected keys. The {@code rejected} key fails validation, so the throwing
+ * setters measure the cost of building and catching the exception.
+ *
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScalarSetBenchmark
+{
+
+    @Param({"valid", "rejected"})
+    public String keyKind;
+
+    private String key;
+
+    private boolean primitiveBoolean = true;
+
+    private double primitiveDouble = 1234.5678;
+
+    private int primitiveInt = 123456;
+
+    private long primitiveLong = 1234567890123L;
+
+    private Boolean boxedBoolean = Boolean.TRUE;
+
+    private Double boxedDouble = 1234.5678;
+
+    private Integer boxedInteger = 123456;
+
+    private Long boxedLong = 1234567890123L;
+
+    private String string = "order-1234567890";
+
+    @Setup
+    public void setUp()
+    {
+        key = "valid".equals(keyKind) ? "apm.order.id" : "order id!";
+    }
+
+    @Benchmark
+    public void rawSpanLong(SpanFixture fixture)
+    {
+        fixture.span.setAttribute(key, primitiveLong);
+    }
+
+    @Benchmark
+    public void rawSpanString(SpanFixture fixture)
+    {
+        fixture.span.setAttribute(key, string);
+    }
+
+    @Benchmark
+    public void setBoxedBoolean(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, boxedBoolean);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setBoxedDouble(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, boxedDouble);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setBoxedInteger(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, boxedInteger);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setBoxedLong(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, boxedLong);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setString(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, string);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setPrimitiveBoolean(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, primitiveBoolean);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setPrimitiveDouble(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, primitiveDouble);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setPrimitiveInt(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, primitiveInt);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public void setPrimitiveLong(SpanFixture fixture, Blackhole blackhole)
+    {
+        try
+        {
+            CustomInstrumentation.set(key, primitiveLong);
+        }
+        catch (Exception exception)
+        {
+            blackhole.consume(exception);
+        }
+    }
+
+    @Benchmark
+    public AttributeStatus trySetBoxedLong(SpanFixture fixture)
+    {
+        return CustomInstrumentation.trySet(key, boxedLong);
+    }
+
+    @Benchmark
+    public AttributeStatus trySetPrimitiveLong(SpanFixture fixture)
+    {
+        return CustomInstrumentation.trySet(key, primitiveLong);
+    }
+
+    @Benchmark
+    public AttributeStatus trySetString(SpanFixture fixture)
+    {
+        return CustomInstrumentation.trySet(key, string);
+    }
+}
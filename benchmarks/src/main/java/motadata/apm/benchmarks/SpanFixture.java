@@ -0,0 +1,81 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.benchmarks;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Per-thread span fixture shared by all benchmarks.
+ * <p>
+ * Each benchmark thread starts its own span and makes it current for the
+ * whole trial, so the library's {@code Span.current()} lookups see it:
+ * <ul>
+ *   <li>{@code recording} - a sampled SDK span that stores every attribute</li>
+ *   <li>{@code nonRecording} - an SDK span dropped by the sampler</li>
+ *   <li>{@code invalid} - the invalid span returned when no span is active</li>
+ * </ul>
+ *
+ * @since 1.1.0
+ */
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class SpanFixture
+{
+
+    @Param({"recording", "nonRecording", "invalid"})
+    public String spanKind;
+
+    public Span span;
+
+    private SdkTracerProvider tracerProvider;
+
+    private Scope scope;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler("recording".equals(spanKind) ? Sampler.alwaysOn() : Sampler.alwaysOff())
+                .build();
+
+        span = "invalid".equals(spanKind) ? Span.getInvalid() : tracerProvider.get("benchmarks").spanBuilder("benchmark").startSpan();
+
+        scope = span.makeCurrent();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        scope.close();
+
+        span.end();
+
+        tracerProvider.close();
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.processor;
+
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+import motadata.apm.rules.KeyRules;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compile-time companion of the attribute key rules.
+ * <p>
+ * The processor does two things:
+ * <ol>
+ *   <li>Every {@code static final String} constant annotated with
+ *       {@code motadata.apm.ApmKey} is checked with {@link KeyRules}. For each
+ *       enclosing type, a {@code <Enclosing>ApmKeys} class is generated with one
+ *       pre-built key handle per constant, built from the already prepared
+ *       key.</li>
+ *   <li>Once javac has attributed each class, {@link KeyCallScanner} checks
+ *       the constant keys passed to {@code CustomInstrumentation} and
+ *       {@code AttributeSession} methods.</li>
+ * </ol>
+ * Invalid keys are reported as compiler errors, so they fail the build
+ * instead of throwing at runtime.
+ * <p>
+ * The processor supports every annotation type so that it runs, and
+ * registers its call-site listener, even in compilations without
+ * {@code @ApmKey}; it never claims annotations from other processors.
+ * <p>
+ * Call-site checks rely on the javac tree API. Under compilers that do not
+ * provide it, a warning is printed and only {@code @ApmKey} constants are
+ * checked.
+ *
+ * @since 1.1.0
+ */
+@SupportedAnnotationTypes("*")
+public final class ApmKeyProcessor extends AbstractProcessor
+{
+
+    private static final String APM_KEY = "motadata.apm.ApmKey";
+
+    private static final String GENERATED_SUFFIX = "ApmKeys";
+
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv)
+    {
+        super.init(processingEnv);
+
+        messager = processingEnv.getMessager();
+
+        try
+        {
+            Trees trees = Trees.instance(processingEnv);
+
+            JavacTask.instance(processingEnv).addTaskListener(new CallSiteListener(trees));
+        }
+        catch (IllegalArgumentException | LinkageError exception)
+        {
+            messager.printMessage(Diagnostic.Kind.WARNING, "motadata-apm: javac tree API unavailable, CustomInstrumentation call sites are not checked");
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        TypeElement apmKey = processingEnv.getElementUtils().getTypeElement(APM_KEY);
+
+        if (apmKey == null || roundEnv.processingOver())
+        {
+            return false;
+        }
+
+        Map<TypeElement, List<VariableElement>> constants = new LinkedHashMap<>();
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(apmKey))
+        {
+            if (isValidConstant(element))
+            {
+                constants.computeIfAbsent((TypeElement) element.getEnclosingElement(), ignored -> new ArrayList<>()).add((VariableElement) element);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : constants.entrySet())
+        {
+            generate(entry.getKey(), entry.getValue(), apmKey);
+        }
+
+        // Never claim annotations; the processor only observes every round.
+        return false;
+    }
+
+    /**
+     * Checks that an annotated element is a valid string constant holding a
+     * valid key, reporting an error otherwise.
+     *
+     * @param element The annotated element
+     * @return true if a handle can be generated for it
+     */
+    private boolean isValidConstant(Element element)
+    {
+        Set<Modifier> modifiers = element.getModifiers();
+
+        if (element.getKind() != ElementKind.FIELD || !modifiers.contains(Modifier.STATIC) || !modifiers.contains(Modifier.FINAL)
+                || !(((VariableElement) element).getConstantValue() instanceof String))
+        {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@ApmKey must be placed on a static final String constant", element);
+
+            return false;
+        }
+
+        if (element.getModifiers().contains(Modifier.PRIVATE))
+        {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@ApmKey constants must not be private", element);
+
+            return false;
+        }
+
+        String key = (String) ((VariableElement) element).getConstantValue();
+
+        if (KeyRules.prepare(key) == null)
+        {
+            messager.printMessage(Diagnostic.Kind.ERROR, KeyRules.describe(key), element);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the handle class for the constants of one type.
+     *
+     * @param owner     The type declaring the constants
+     * @param constants The valid constants
+     * @param apmKey    The annotation type
+     */
+    private void generate(TypeElement owner, List<VariableElement> constants, TypeElement apmKey)
+    {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(owner);
+
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+
+        String className = flatName(owner) + GENERATED_SUFFIX;
+
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty())
+        {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n")
+                .append(" * Pre-built key handles for the {@code @ApmKey} constants of\n")
+                .append(" * {@link ").append(owner.getQualifiedName()).append("}.\n")
+                .append(" * <p>\n")
+                .append(" * Generated by ").append(getClass().getName()).append("; do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append("\n{\n");
+
+        for (VariableElement constant : constants)
+        {
+            String type = handleType(constant, apmKey);
+
+            source.append("\n    /**\n")
+                    .append("     * Handle for {@link ").append(owner.getQualifiedName()).append('#').append(constant.getSimpleName()).append("}.\n")
+                    .append("     */\n")
+                    .append("    public static final motadata.apm.").append(type).append(' ').append(constant.getSimpleName()).append(";\n");
+        }
+
+        source.append("\n    static\n    {\n        try\n        {\n");
+
+        for (VariableElement constant : constants)
+        {
+            String type = handleType(constant, apmKey);
+
+            String factory = Character.toLowerCase(type.charAt(0)) + type.substring(1);
+
+            source.append("            ").append(constant.getSimpleName())
+                    .append(" = motadata.apm.CustomInstrumentation.").append(factory).append("(\"")
+                    .append(KeyRules.prepare((String) constant.getConstantValue())).append("\");\n\n");
+        }
+
+        source.setLength(source.length() - 1);
+
+        source.append("        }\n        catch (Exception exception)\n        {\n")
+                .append("            throw new ExceptionInInitializerError(exception);\n")
+                .append("        }\n    }\n\n")
+                .append("    private ").append(className).append("()\n    {\n    }\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + '.' + className;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, constants.toArray(new Element[0])).openWriter())
+        {
+            writer.write(source.toString());
+        }
+        catch (IOException exception)
+        {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + qualifiedName + ": " + exception.getMessage(), owner);
+        }
+    }
+
+    /**
+     * Returns the simple name of the key handle class requested by a
+     * constant's {@code @ApmKey} annotation.
+     */
+    private static String handleType(VariableElement constant, TypeElement apmKey)
+    {
+        for (AnnotationMirror mirror : constant.getAnnotationMirrors())
+        {
+            if (!mirror.getAnnotationType().asElement().equals(apmKey))
+            {
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet())
+            {
+                if (entry.getKey().getSimpleName().contentEquals("value"))
+                {
+                    String type = entry.getValue().getValue().toString();
+
+                    return type.charAt(0) + type.substring(1).toLowerCase(Locale.ROOT) + "Key";
+                }
+            }
+        }
+
+        return "StringKey";
+    }
+
+    /**
+     * Joins the simple names of a type and its enclosing types with
+     * underscores.
+     */
+    private static String flatName(TypeElement type)
+    {
+        String name = type.getSimpleName().toString();
+
+        Element enclosing = type.getEnclosingElement();
+
+        while (enclosing instanceof TypeElement)
+        {
+            name = enclosing.getSimpleName() + "_" + name;
+
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name;
+    }
+
+    /**
+     * Runs the call-site checks on each class once javac has attributed it.
+     */
+    private static final class CallSiteListener implements TaskListener
+    {
+
+        private final Trees trees;
+
+        private CallSiteListener(Trees trees)
+        {
+            this.trees = trees;
+        }
+
+        @Override
+        public void started(TaskEvent event)
+        {
+        }
+
+        @Override
+        public void finished(TaskEvent event)
+        {
+            if (event.getKind() != TaskEvent.Kind.ANALYZE || event.getTypeElement() == null)
+            {
+                return;
+            }
+
+            TreePath path = trees.getPath(event.getTypeElement());
+
+            if (path != null)
+            {
+                new KeyCallScanner(trees, event.getCompilationUnit()).scan(path, null);
+            }
+        }
+    }
+}
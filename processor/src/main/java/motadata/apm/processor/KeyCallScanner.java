@@ -0,0 +1,145 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.processor;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+import motadata.apm.rules.KeyRules;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks the constant keys passed to {@code CustomInstrumentation} and
+ * {@code AttributeSession} in an attributed compilation unit.
+ * <p>
+ * Every method of those classes whose first parameter is a {@code String}
+ * takes an attribute key or a key-like name (setters, {@code trySet*}, key
+ * factories, sampling rules and {@code trace}). When that argument is a
+ * string literal, a {@code null} literal or a reference to a compile-time
+ * constant, it is checked with {@link KeyRules} and an error is reported on
+ * the argument if the runtime would reject it. Keys computed at runtime are
+ * left to the runtime checks.
+ *
+ * @since 1.1.0
+ */
+final class KeyCallScanner extends TreePathScanner<Void, Void>
+{
+
+    private static final Set<String> KEY_OWNERS = new HashSet<>(Arrays.asList(
+            "motadata.apm.CustomInstrumentation",
+            "motadata.apm.AttributeSession"));
+
+    private final Trees trees;
+
+    private final CompilationUnitTree unit;
+
+    KeyCallScanner(Trees trees, CompilationUnitTree unit)
+    {
+        this.trees = trees;
+
+        this.unit = unit;
+    }
+
+    @Override
+    public Void visitMethodInvocation(MethodInvocationTree node, Void unused)
+    {
+        List<? extends ExpressionTree> arguments = node.getArguments();
+
+        if (!arguments.isEmpty() && isKeyMethod(trees.getElement(getCurrentPath())))
+        {
+            check(arguments.get(0));
+        }
+
+        return super.visitMethodInvocation(node, unused);
+    }
+
+    private void check(ExpressionTree argument)
+    {
+        if (argument.getKind() == Tree.Kind.NULL_LITERAL)
+        {
+            report(argument, KeyRules.describe(null));
+
+            return;
+        }
+
+        Object constant = null;
+
+        if (argument instanceof LiteralTree)
+        {
+            constant = ((LiteralTree) argument).getValue();
+        }
+        else
+        {
+            Element element = trees.getElement(new TreePath(getCurrentPath(), argument));
+
+            if (element instanceof VariableElement)
+            {
+                constant = ((VariableElement) element).getConstantValue();
+            }
+        }
+
+        if (constant instanceof String && KeyRules.prepare((String) constant) == null)
+        {
+            report(argument, KeyRules.describe((String) constant));
+        }
+    }
+
+    private void report(Tree argument, String message)
+    {
+        trees.printMessage(Diagnostic.Kind.ERROR, message, argument, unit);
+    }
+
+    private static boolean isKeyMethod(Element element)
+    {
+        if (!(element instanceof ExecutableElement))
+        {
+            return false;
+        }
+
+        ExecutableElement method = (ExecutableElement) element;
+
+        Element owner = method.getEnclosingElement();
+
+        if (!(owner instanceof TypeElement) || !KEY_OWNERS.contains(((TypeElement) owner).getQualifiedName().toString()))
+        {
+            return false;
+        }
+
+        List<? extends VariableElement> parameters = method.getParameters();
+
+        return !parameters.isEmpty() && "java.lang.String".equals(parameters.get(0).asType().toString());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.processor;
+
+import io.opentelemetry.api.trace.Span;
+import motadata.apm.BooleanKey;
+import motadata.apm.CustomInstrumentation;
+import motadata.apm.LongKey;
+import motadata.apm.StringKey;
+import motadata.apm.rules.KeyRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compiles small sources with the processor attached and checks the reported
+ * errors and the generated key handle classes.
+ */
+class ApmKeyProcessorTest
+{
+
+    @TempDir
+    Path directory;
+
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+    @Test
+    void invalidApmKeyConstantFailsTheBuild() throws Exception
+    {
+        boolean compiled = compile("app/BadKeys.java",
+                "package app;\n"
+                        + "import motadata.apm.ApmKey;\n"
+                        + "public final class BadKeys\n"
+                        + "{\n"
+                        + "    @ApmKey\n"
+                        + "    public static final String ORDER = \"order id\";\n"
+                        + "}\n");
+
+        assertFalse(compiled);
+
+        assertEquals(Collections.singletonList(KeyRules.describe("order id")), errors());
+    }
+
+    @Test
+    void invalidLiteralAtACallSiteFailsTheBuild() throws Exception
+    {
+        boolean compiled = compile("app/BadCall.java",
+                "package app;\n"
+                        + "import motadata.apm.CustomInstrumentation;\n"
+                        + "public final class BadCall\n"
+                        + "{\n"
+                        + "    void run() throws Exception\n"
+                        + "    {\n"
+                        + "        CustomInstrumentation.set(\"order.id\", \"valid\");\n"
+                        + "        CustomInstrumentation.set(\"order-id\", \"invalid\");\n"
+                        + "    }\n"
+                        + "}\n");
+
+        assertFalse(compiled);
+
+        List<String> errors = errors();
+
+        assertEquals(1, errors.size());
+
+        assertTrue(errors.get(0).contains(KeyRules.describe("order-id")), errors.get(0));
+    }
+
+    @Test
+    void generatedClassHoldsPreparedHandles() throws Exception
+    {
+        boolean compiled = compile("app/OrderKeys.java",
+                "package app;\n"
+                        + "import motadata.apm.ApmKey;\n"
+                        + "import motadata.apm.CustomInstrumentation;\n"
+                        + "public final class OrderKeys\n"
+                        + "{\n"
+                        + "    @ApmKey(ApmKey.Type.LONG)\n"
+                        + "    public static final String ORDER_ID = \"Order.Id\";\n"
+                        + "    @ApmKey\n"
+                        + "    public static final String REGION = \"apm.region\";\n"
+                        + "    public static final class Nested\n"
+                        + "    {\n"
+                        + "        @ApmKey(ApmKey.Type.BOOLEAN)\n"
+                        + "        public static final String GIFT = \"gift\";\n"
+                        + "    }\n"
+                        + "    void run() throws Exception\n"
+                        + "    {\n"
+                        + "        CustomInstrumentation.set(REGION, \"eu-west\");\n"
+                        + "    }\n"
+                        + "}\n");
+
+        assertTrue(compiled, diagnostics.getDiagnostics()::toString);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{directory.resolve("classes").toUri().toURL()}, getClass().getClassLoader()))
+        {
+            Class<?> keys = loader.loadClass("app.OrderKeysApmKeys");
+
+            LongKey orderId = assertInstanceOf(LongKey.class, keys.getField("ORDER_ID").get(null));
+
+            assertEquals(CustomInstrumentation.longKey("Order.Id").getName(), orderId.getName());
+
+            StringKey region = assertInstanceOf(StringKey.class, keys.getField("REGION").get(null));
+
+            assertEquals(CustomInstrumentation.stringKey("apm.region").getName(), region.getName());
+
+            BooleanKey gift = assertInstanceOf(BooleanKey.class, loader.loadClass("app.OrderKeys_NestedApmKeys").getField("GIFT").get(null));
+
+            assertEquals(CustomInstrumentation.booleanKey("gift").getName(), gift.getName());
+        }
+    }
+
+    @Test
+    void keyRulesAgreeWithTheRuntime()
+    {
+        for (String key : Arrays.asList("order.id", "Order.ID", "apm.order", "APM.order", "apm.", "apm", "a", "", " ", "order id",
+                "order-id", "orderé", ".order", "order.", "x..y", "0.1"))
+        {
+            String prepared = KeyRules.prepare(key);
+
+            try
+            {
+                assertEquals(prepared, CustomInstrumentation.stringKey(key).getName(), key);
+            }
+            catch (Exception exception)
+            {
+                assertNull(prepared, key);
+
+                assertEquals(KeyRules.describe(key), exception.getMessage(), key);
+            }
+        }
+    }
+
+    /**
+     * Compiles one source file into {@code classes} under the temporary
+     * directory, with the processor and the runtime library attached.
+     *
+     * @return true if the compilation succeeded
+     */
+    private boolean compile(String path, String source) throws Exception
+    {
+        Path file = directory.resolve("src").resolve(path);
+
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+
+        Files.createDirectories(file.getParent());
+
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8))
+        {
+            List<String> options = new ArrayList<>(Arrays.asList("-d", classes.toString(),
+                    "-classpath", location(CustomInstrumentation.class) + File.pathSeparator + location(Span.class)));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, options, null,
+                    files.getJavaFileObjects(file.toFile()));
+
+            task.setProcessors(Collections.singletonList(new ApmKeyProcessor()));
+
+            return task.call();
+        }
+    }
+
+    private List<String> errors()
+    {
+        List<String> errors = new ArrayList<>();
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+        {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+
+        return errors;
+    }
+
+    private static String location(Class<?> type) throws Exception
+    {
+        return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+}
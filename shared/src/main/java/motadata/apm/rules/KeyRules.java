@@ -0,0 +1,110 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm.rules;
+
+/**
+ * Build-time copy of the attribute key rules, shared by the annotation
+ * processor and the annotation agent.
+ * <p>
+ * Mirrors {@code CustomInstrumentation.scanKey}: the key is trimmed like
+ * {@link String#trim()}, must consist of ASCII letters, digits and dots only,
+ * is lowercased and gets the "apm." prefix unless it already starts with it,
+ * ignoring case. The modules compile this source directly, so they do not
+ * depend on the runtime library; a test of the runtime module checks that
+ * both implementations prepare every key the same way.
+ *
+ * @since 1.1.0
+ */
+public final class KeyRules
+{
+
+    public static final String DEFAULT_PREFIX = "apm.";
+
+    private KeyRules()
+    {
+        throw new AssertionError("KeyRules is a utility class and should not be instantiated");
+    }
+
+    /**
+     * Prepares a key exactly as the runtime would.
+     *
+     * @param key The original attribute key
+     * @return The prepared key, or null if the key is invalid
+     */
+    public static String prepare(String key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        String trimmed = key.trim();
+
+        if (trimmed.isEmpty())
+        {
+            return null;
+        }
+
+        StringBuilder prepared = new StringBuilder(DEFAULT_PREFIX.length() + trimmed.length());
+
+        for (int i = 0; i < trimmed.length(); i++)
+        {
+            char c = trimmed.charAt(i);
+
+            if (c >= 'A' && c <= 'Z')
+            {
+                prepared.append((char) (c + ('a' - 'A')));
+            }
+            else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.')
+            {
+                prepared.append(c);
+            }
+            else
+            {
+                return null;
+            }
+        }
+
+        return prepared.indexOf(DEFAULT_PREFIX) == 0 ? prepared.toString() : DEFAULT_PREFIX + prepared;
+    }
+
+    /**
+     * Describes why a key is invalid, using the runtime's wording.
+     *
+     * @param key The invalid attribute key
+     * @return The error message
+     */
+    public static String describe(String key)
+    {
+        if (key == null)
+        {
+            return "Attribute key cannot be null";
+        }
+
+        if (key.trim().isEmpty())
+        {
+            return "Attribute key cannot be empty or whitespace only";
+        }
+
+        return "Attribute key contains invalid characters. Only alphabets, numbers, and dots are allowed: '" + key.trim() + "'";
+    }
+}
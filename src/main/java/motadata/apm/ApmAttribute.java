@@ -0,0 +1,61 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records a method parameter or return value as a span attribute when the
+ * {@code custom-instrumentation-agent} Java agent is attached.
+ * <p>
+ * On a parameter, the value is written when the method is entered. On a
+ * method, the return value is written on every normal return. If the method
+ * is also {@link Traced}, the attribute goes to its span, otherwise to the
+ * current span.
+ * <p>
+ * {@code boolean} values become boolean attributes. Integral values become
+ * long attributes. {@code float} and {@code double} values become double
+ * attributes. Any other value is written with {@link String#valueOf(Object)};
+ * nulls are skipped. Arrays are not supported and are skipped with a
+ * warning. The key is validated when the class is woven, and the key handle
+ * is built once per class.
+ * <p>
+ * Without the agent the annotation has no effect.
+ *
+ * @since 1.1.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.PARAMETER, ElementType.METHOD})
+public @interface ApmAttribute
+{
+    /**
+     * Returns the attribute key.
+     *
+     * @return The attribute key (will be prefixed with "apm." if needed)
+     */
+    String value();
+}
@@ -0,0 +1,90 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code static final String} constant as an attribute key.
+ * <p>
+ * With the {@code custom-instrumentation-processor} annotation processor on
+ * the compiler path, the constant's value is checked against the key rules
+ * at compile time, and the build fails if it is invalid. The processor also
+ * generates a {@code <Enclosing>ApmKeys} class next to the enclosing type. It
+ * holds one pre-built key handle per constant, with the same field name and
+ * the handle type chosen by {@link #value()}:
+ * <pre>{@code
+ * public final class OrderKeys
+ * {
+ *     @ApmKey(ApmKey.Type.LONG)
+ *     public static final String ORDER_ID = "order.id";
+ * }
+ *
+ * OrderKeysApmKeys.ORDER_ID.set(orderId);
+ * }</pre>
+ * The annotation is not retained at runtime and has no effect without the
+ * processor.
+ *
+ * @since 1.1.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface ApmKey
+{
+    /**
+     * Returns the type of the generated key handle.
+     *
+     * @return The handle type, {@link Type#STRING} by default
+     */
+    Type value() default Type.STRING;
+
+    /**
+     * Key handle types that can be generated.
+     */
+    enum Type
+    {
+        /**
+         * Generates a {@link BooleanKey}.
+         */
+        BOOLEAN,
+
+        /**
+         * Generates a {@link DoubleKey}.
+         */
+        DOUBLE,
+
+        /**
+         * Generates a {@link LongKey}.
+         */
+        LONG,
+
+        /**
+         * Generates a {@link StringKey}.
+         */
+        STRING
+    }
+}
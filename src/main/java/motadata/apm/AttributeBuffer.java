@@ -0,0 +1,100 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+
+/**
+ * Collects validated attributes for a single batched write, applying the
+ * cardinality guard and the per-span limits to each one as it is added.
+ *
+ * @since 1.1.0
+ */
+final class AttributeBuffer
+{
+
+    private final AttributesBuilder builder = Attributes.builder();
+
+    private final AttributeLimits limits;
+
+    private final SpanState state;
+
+    /**
+     * Creates a buffer.
+     *
+     * @param limits The limits to apply
+     * @param state  The state of the target span, or null to skip limit
+     *               accounting
+     */
+    AttributeBuffer(AttributeLimits limits, SpanState state)
+    {
+        this.limits = limits;
+
+        this.state = state;
+    }
+
+    /**
+     * Adds an attribute, truncating or dropping it according to the limits.
+     *
+     * @param <T>   The attribute value type
+     * @param key   The attribute key
+     * @param value The attribute value
+     * @return {@link AttributeStatus#OK} if the attribute was added, or
+     *         {@link AttributeStatus#LIMIT_EXCEEDED} if it was dropped
+     */
+    <T> AttributeStatus put(AttributeKey<T> key, T value)
+    {
+        value = CustomInstrumentation.guardCardinality(key, value);
+
+        if (state != null)
+        {
+            value = state.admit(limits, key, value);
+
+            if (value == null)
+            {
+                return AttributeStatus.LIMIT_EXCEEDED;
+            }
+        }
+
+        builder.put(key, value);
+
+        return AttributeStatus.OK;
+    }
+
+    /**
+     * Builds the collected attributes, adding the truncation marker if this
+     * batch was the first to hit a limit on the span.
+     *
+     * @return The attributes to write
+     */
+    Attributes build()
+    {
+        if (state != null && state.takeMarker())
+        {
+            builder.put(CustomInstrumentation.TRUNCATED_KEY, true);
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-span limits enforced by {@link CustomInstrumentation} before attributes
+ * reach the SDK.
+ * <p>
+ * The limits bound how much data a single span can accumulate through this
+ * library:
+ * <ul>
+ *   <li>Maximum number of distinct attribute keys per span</li>
+ *   <li>Maximum length of a string value, including list elements</li>
+ *   <li>Maximum number of elements in a list value</li>
+ *   <li>Maximum total estimated size of all attributes on the span</li>
+ * </ul>
+ * Overflow is handled deterministically: over-long strings and lists are cut
+ * to their limit, and writes that would exceed the attribute count or the
+ * total size are dropped. The first time either happens on a span, an
+ * {@code apm.truncated} attribute is added to it.
+ * <p>
+ * Overwriting a key the span already holds does not count as another
+ * attribute, matching the SDK, which keeps one value per key. Its size is
+ * charged as the difference from the value it replaces; if that difference
+ * does not fit the total size, the overwrite is dropped and the previous
+ * value stays.
+ * <p>
+ * The size of an attribute is estimated as the length of its key plus the
+ * length of its string values, 8 for each long or double and 1 for each
+ * boolean.
+ * <p>
+ * Instances are immutable; create them through {@link #builder()} and
+ * install them with {@link CustomInstrumentation#setAttributeLimits(AttributeLimits)}.
+ *
+ * @since 1.1.0
+ */
+public final class AttributeLimits
+{
+
+    private static final AttributeLimits UNLIMITED = new AttributeLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private final int maxAttributeCount;
+
+    private final int maxStringLength;
+
+    private final int maxListLength;
+
+    private final long maxTotalBytes;
+
+    private final boolean unlimited;
+
+    private AttributeLimits(int maxAttributeCount, int maxStringLength, int maxListLength, long maxTotalBytes)
+    {
+        this.maxAttributeCount = maxAttributeCount;
+
+        this.maxStringLength = maxStringLength;
+
+        this.maxListLength = maxListLength;
+
+        this.maxTotalBytes = maxTotalBytes;
+
+        this.unlimited = maxAttributeCount == Integer.MAX_VALUE && maxStringLength == Integer.MAX_VALUE
+                && maxListLength == Integer.MAX_VALUE && maxTotalBytes == Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns limits that impose no bound; this is the default.
+     *
+     * @return The unlimited limits
+     */
+    public static AttributeLimits unlimited()
+    {
+        return UNLIMITED;
+    }
+
+    /**
+     * Returns a new builder with every limit unset.
+     *
+     * @return A new builder
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Returns the maximum number of distinct attribute keys per span.
+     *
+     * @return The maximum attribute count
+     */
+    public int getMaxAttributeCount()
+    {
+        return maxAttributeCount;
+    }
+
+    /**
+     * Returns the maximum length of a string value.
+     *
+     * @return The maximum string length
+     */
+    public int getMaxStringLength()
+    {
+        return maxStringLength;
+    }
+
+    /**
+     * Returns the maximum number of elements in a list value.
+     *
+     * @return The maximum list length
+     */
+    public int getMaxListLength()
+    {
+        return maxListLength;
+    }
+
+    /**
+     * Returns the maximum total estimated size of the attributes on a span.
+     *
+     * @return The maximum total bytes
+     */
+    public long getMaxTotalBytes()
+    {
+        return maxTotalBytes;
+    }
+
+    /**
+     * Returns whether these limits impose no bound, in which case no per-span
+     * accounting is done at all.
+     *
+     * @return true if every limit is unset
+     */
+    boolean isUnlimited()
+    {
+        return unlimited;
+    }
+
+    /**
+     * Cuts string and list values down to the configured lengths.
+     *
+     * @param <T>   The attribute value type
+     * @param key   The attribute key
+     * @param value The attribute value
+     * @return The value itself if it is within limits, otherwise a truncated
+     *         copy
+     */
+    @SuppressWarnings("unchecked")
+    <T> T truncate(AttributeKey<T> key, T value)
+    {
+        switch (key.getType())
+        {
+            case STRING:
+                return (T) truncate((String) value);
+
+            case STRING_ARRAY:
+                return (T) truncateStrings((List<String>) value);
+
+            case BOOLEAN_ARRAY:
+            case LONG_ARRAY:
+            case DOUBLE_ARRAY:
+                List<?> list = (List<?>) value;
+
+                return list.size() > maxListLength ? (T) new ArrayList<>(list.subList(0, maxListLength)) : value;
+
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Estimates the size of an attribute.
+     *
+     * @param <T>   The attribute value type
+     * @param key   The attribute key
+     * @param value The attribute value
+     * @return The estimated size in bytes
+     */
+    static <T> long sizeOf(AttributeKey<T> key, T value)
+    {
+        long size = key.getKey().length();
+
+        switch (key.getType())
+        {
+            case STRING:
+                return size + ((String) value).length();
+
+            case BOOLEAN:
+                return size + 1;
+
+            case LONG:
+            case DOUBLE:
+                return size + 8;
+
+            case STRING_ARRAY:
+                for (Object element : (List<?>) value)
+                {
+                    size += ((String) element).length();
+                }
+
+                return size;
+
+            case BOOLEAN_ARRAY:
+                return size + ((List<?>) value).size();
+
+            default:
+                return size + 8L * ((List<?>) value).size();
+        }
+    }
+
+    private String truncate(String value)
+    {
+        return value.length() > maxStringLength ? value.substring(0, maxStringLength) : value;
+    }
+
+    private List<String> truncateStrings(List<String> values)
+    {
+        int size = Math.min(values.size(), maxListLength);
+
+        boolean changed = size < values.size();
+
+        for (int i = 0; i < size && !changed; i++)
+        {
+            changed = values.get(i).length() > maxStringLength;
+        }
+
+        if (!changed)
+        {
+            return values;
+        }
+
+        List<String> truncated = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            truncated.add(truncate(values.get(i)));
+        }
+
+        return truncated;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AttributeLimits{maxAttributeCount=" + maxAttributeCount + ", maxStringLength=" + maxStringLength
+                + ", maxListLength=" + maxListLength + ", maxTotalBytes=" + maxTotalBytes + '}';
+    }
+
+    /**
+     * Builder for {@link AttributeLimits}. Limits that are not set stay
+     * unbounded.
+     *
+     * @since 1.1.0
+     */
+    public static final class Builder
+    {
+
+        private int maxAttributeCount = Integer.MAX_VALUE;
+
+        private int maxStringLength = Integer.MAX_VALUE;
+
+        private int maxListLength = Integer.MAX_VALUE;
+
+        private long maxTotalBytes = Long.MAX_VALUE;
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Sets the maximum number of distinct attribute keys per span.
+         *
+         * @param maxAttributeCount The limit (must be positive)
+         * @return This builder
+         */
+        public Builder setMaxAttributeCount(int maxAttributeCount)
+        {
+            this.maxAttributeCount = maxAttributeCount;
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum length of a string value, including list elements.
+         *
+         * @param maxStringLength The limit (must be positive)
+         * @return This builder
+         */
+        public Builder setMaxStringLength(int maxStringLength)
+        {
+            this.maxStringLength = maxStringLength;
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of elements in a list value.
+         *
+         * @param maxListLength The limit (must be positive)
+         * @return This builder
+         */
+        public Builder setMaxListLength(int maxListLength)
+        {
+            this.maxListLength = maxListLength;
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum total estimated size of the attributes on a span.
+         *
+         * @param maxTotalBytes The limit (must be positive)
+         * @return This builder
+         */
+        public Builder setMaxTotalBytes(long maxTotalBytes)
+        {
+            this.maxTotalBytes = maxTotalBytes;
+
+            return this;
+        }
+
+        /**
+         * Builds the limits.
+         *
+         * @return The immutable limits
+         * @throws Exception if any limit is zero or negative
+         */
+        public AttributeLimits build() throws Exception
+        {
+            if (maxAttributeCount <= 0 || maxStringLength <= 0 || maxListLength <= 0 || maxTotalBytes <= 0)
+            {
+                throw new Exception("Attribute limits must be positive: maxAttributeCount=" + maxAttributeCount
+                        + ", maxStringLength=" + maxStringLength + ", maxListLength=" + maxListLength
+                        + ", maxTotalBytes=" + maxTotalBytes);
+            }
+
+            return new AttributeLimits(maxAttributeCount, maxStringLength, maxListLength, maxTotalBytes);
+        }
+    }
+}
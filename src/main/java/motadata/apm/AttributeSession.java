@@ -0,0 +1,832 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A lightweight, span-bound view over the {@link CustomInstrumentation}
+ * setters.
+ * <p>
+ * A session captures its span once, so a block of writes does not repeat the
+ * {@code Span.current()} context lookup for every attribute. Because the span
+ * is held directly, a session can also write to a span captured earlier on a
+ * different thread, for example from an asynchronous callback, without
+ * re-entering the span's context.
+ * <p>
+ * Every setter applies exactly the same validation, namespacing and
+ * non-recording short-circuit as its static counterpart. Writes through key
+ * handles are allocation-free apart from what the SDK itself stores.
+ * <p>
+ * Sessions are immutable and thread-safe, but should not outlive the span
+ * they were created for.
+ *
+ * @since 1.1.0
+ */
+public final class AttributeSession
+{
+
+    private final Span span;
+
+    AttributeSession(Span span)
+    {
+        this.span = span;
+    }
+
+    /**
+     * Returns the span this session writes to.
+     *
+     * @return The captured span
+     */
+    public Span getSpan()
+    {
+        return span;
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, Boolean)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, Boolean value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, Double)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, Double value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, Integer)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, Integer value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, Long)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, Long value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, String)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, String value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, boolean)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, boolean value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, double)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, double value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, int)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, int value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, long)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void set(String key, long value) throws Exception
+    {
+        CustomInstrumentation.set(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setBooleanList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setBooleanList(String key, List<Boolean> values) throws Exception
+    {
+        CustomInstrumentation.setBooleanList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setDoubleList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setDoubleList(String key, List<Double> values) throws Exception
+    {
+        CustomInstrumentation.setDoubleList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setIntegerList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setIntegerList(String key, List<Integer> values) throws Exception
+    {
+        CustomInstrumentation.setIntegerList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setLongList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setLongList(String key, List<Long> values) throws Exception
+    {
+        CustomInstrumentation.setLongList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setStringList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setStringList(String key, List<String> values) throws Exception
+    {
+        CustomInstrumentation.setStringList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setBooleanArray(String, boolean[])}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setBooleanArray(String key, boolean[] values) throws Exception
+    {
+        CustomInstrumentation.setBooleanArray(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setDoubleArray(String, double[])}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setDoubleArray(String key, double[] values) throws Exception
+    {
+        CustomInstrumentation.setDoubleArray(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setIntegerArray(String, int[])}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setIntegerArray(String key, int[] values) throws Exception
+    {
+        CustomInstrumentation.setIntegerArray(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setLongArray(String, long[])}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @throws Exception if the key or value is invalid
+     */
+    public void setLongArray(String key, long[] values) throws Exception
+    {
+        CustomInstrumentation.setLongArray(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, Boolean)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, Boolean value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, Double)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, Double value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, Integer)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, Integer value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, Long)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, Long value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, String)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, String value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, boolean)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, boolean value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, double)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, double value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, int)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, int value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, long)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The value to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, long value)
+    {
+        return CustomInstrumentation.trySet(span, key, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetBooleanList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetBooleanList(String key, List<Boolean> values)
+    {
+        return CustomInstrumentation.trySetBooleanList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetDoubleList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetDoubleList(String key, List<Double> values)
+    {
+        return CustomInstrumentation.trySetDoubleList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetIntegerList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetIntegerList(String key, List<Integer> values)
+    {
+        return CustomInstrumentation.trySetIntegerList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetLongList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetLongList(String key, List<Long> values)
+    {
+        return CustomInstrumentation.trySetLongList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetStringList(String, List)}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetStringList(String key, List<String> values)
+    {
+        return CustomInstrumentation.trySetStringList(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetBooleanArray(String, boolean[])}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetBooleanArray(String key, boolean[] values)
+    {
+        return CustomInstrumentation.trySetBooleanArray(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetDoubleArray(String, double[])}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetDoubleArray(String key, double[] values)
+    {
+        return CustomInstrumentation.trySetDoubleArray(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetIntegerArray(String, int[])}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetIntegerArray(String key, int[] values)
+    {
+        return CustomInstrumentation.trySetIntegerArray(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetLongArray(String, long[])}.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetLongArray(String key, long[] values)
+    {
+        return CustomInstrumentation.trySetLongArray(span, key, values);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#set(String, Supplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @throws Exception if the key, supplier or supplied value is invalid
+     */
+    public void set(String key, Supplier<String> supplier) throws Exception
+    {
+        CustomInstrumentation.set(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setBoolean(String, BooleanSupplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @throws Exception if the key, supplier or supplied value is invalid
+     */
+    public void setBoolean(String key, BooleanSupplier supplier) throws Exception
+    {
+        CustomInstrumentation.setBoolean(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setDouble(String, DoubleSupplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @throws Exception if the key, supplier or supplied value is invalid
+     */
+    public void setDouble(String key, DoubleSupplier supplier) throws Exception
+    {
+        CustomInstrumentation.setDouble(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setLong(String, LongSupplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @throws Exception if the key, supplier or supplied value is invalid
+     */
+    public void setLong(String key, LongSupplier supplier) throws Exception
+    {
+        CustomInstrumentation.setLong(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setStringList(String, Supplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @throws Exception if the key, supplier or supplied value is invalid
+     */
+    public void setStringList(String key, Supplier<List<String>> supplier) throws Exception
+    {
+        CustomInstrumentation.setStringList(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySet(String, Supplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySet(String key, Supplier<String> supplier)
+    {
+        return CustomInstrumentation.trySet(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetBoolean(String, BooleanSupplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetBoolean(String key, BooleanSupplier supplier)
+    {
+        return CustomInstrumentation.trySetBoolean(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetDouble(String, DoubleSupplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetDouble(String key, DoubleSupplier supplier)
+    {
+        return CustomInstrumentation.trySetDouble(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetLong(String, LongSupplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetLong(String key, LongSupplier supplier)
+    {
+        return CustomInstrumentation.trySetLong(span, key, supplier);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#trySetStringList(String, Supplier)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    public AttributeStatus trySetStringList(String key, Supplier<List<String>> supplier)
+    {
+        return CustomInstrumentation.trySetStringList(span, key, supplier);
+    }
+
+    /**
+     * Sets a pre-validated boolean attribute on the session span.
+     *
+     * @param key   The key handle
+     * @param value The value to set
+     * @throws Exception if the value is invalid
+     */
+    public void set(BooleanKey key, boolean value) throws Exception
+    {
+        key.set(span, value);
+    }
+
+    /**
+     * Sets a pre-validated double attribute on the session span.
+     *
+     * @param key   The key handle
+     * @param value The value to set
+     * @throws Exception if the value is invalid
+     */
+    public void set(DoubleKey key, double value) throws Exception
+    {
+        key.set(span, value);
+    }
+
+    /**
+     * Sets a pre-validated long attribute on the session span.
+     *
+     * @param key   The key handle
+     * @param value The value to set
+     * @throws Exception if the value is invalid
+     */
+    public void set(LongKey key, long value) throws Exception
+    {
+        key.set(span, value);
+    }
+
+    /**
+     * Sets a pre-validated string attribute on the session span.
+     *
+     * @param key   The key handle
+     * @param value The value to set
+     * @throws Exception if the value is invalid
+     */
+    public void set(StringKey key, String value) throws Exception
+    {
+        key.set(span, value);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setAll(Map)}.
+     *
+     * @param attributes The attributes to set
+     * @return The rejected entries mapped to the reason they were rejected
+     */
+    public Map<String, AttributeStatus> setAll(Map<String, ?> attributes)
+    {
+        return CustomInstrumentation.setAll(span, attributes);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#setAll(Attributes)}.
+     *
+     * @param attributes The attributes to set
+     * @return The rejected entries mapped to the reason they were rejected
+     */
+    public Map<String, AttributeStatus> setAll(Attributes attributes)
+    {
+        return CustomInstrumentation.setAll(span, attributes);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#addEvent(String)}.
+     *
+     * @param name The event name (will be prefixed with "apm." if needed)
+     * @throws Exception if the name is invalid
+     */
+    public void addEvent(String name) throws Exception
+    {
+        CustomInstrumentation.addEvent(span, name, (Map<String, ?>) null);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#addEvent(String, Map)}.
+     *
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes; may be null or empty
+     * @throws Exception if the name or an attribute is invalid
+     */
+    public void addEvent(String name, Map<String, ?> attributes) throws Exception
+    {
+        CustomInstrumentation.addEvent(span, name, attributes);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#addEvent(String, Attributes)}.
+     *
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes; may be null or empty
+     * @throws Exception if the name or an attribute is invalid
+     */
+    public void addEvent(String name, Attributes attributes) throws Exception
+    {
+        CustomInstrumentation.addEvent(span, name, attributes == null ? null : CustomInstrumentation.asMap(attributes));
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#tryAddEvent(String)}.
+     *
+     * @param name The event name (will be prefixed with "apm." if needed)
+     * @return The outcome of the write
+     */
+    public AttributeStatus tryAddEvent(String name)
+    {
+        return CustomInstrumentation.tryAddEvent(span, name, (Map<String, ?>) null);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#tryAddEvent(String, Map)}.
+     *
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes; may be null or empty
+     * @return The outcome of the write
+     */
+    public AttributeStatus tryAddEvent(String name, Map<String, ?> attributes)
+    {
+        return CustomInstrumentation.tryAddEvent(span, name, attributes);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#tryAddEvent(String, Attributes)}.
+     *
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes; may be null or empty
+     * @return The outcome of the write
+     */
+    public AttributeStatus tryAddEvent(String name, Attributes attributes)
+    {
+        return CustomInstrumentation.tryAddEvent(span, name, attributes == null ? null : CustomInstrumentation.asMap(attributes));
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#recordException(Throwable)}.
+     *
+     * @param throwable The exception to record
+     * @throws Exception if the exception is null
+     */
+    public void recordException(Throwable throwable) throws Exception
+    {
+        CustomInstrumentation.recordException(span, throwable);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#tryRecordException(Throwable)}.
+     *
+     * @param throwable The exception to record
+     * @return The outcome of the write
+     */
+    public AttributeStatus tryRecordException(Throwable throwable)
+    {
+        return CustomInstrumentation.tryRecordException(span, throwable);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#time(String, Runnable)}.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param runnable The task to run
+     * @throws Exception if the key is invalid or the task is null
+     */
+    public void time(String key, Runnable runnable) throws Exception
+    {
+        CustomInstrumentation.time(span, CustomInstrumentation.cachedKey(key), runnable);
+    }
+
+    /**
+     * Session form of {@link CustomInstrumentation#time(String, Callable)}.
+     *
+     * @param <T>      The result type
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param callable The task to run
+     * @return The result of the task
+     * @throws Exception if the key is invalid, the task is null or the task
+     *                   throws
+     */
+    public <T> T time(String key, Callable<T> callable) throws Exception
+    {
+        return CustomInstrumentation.time(span, CustomInstrumentation.cachedKey(key), callable);
+    }
+
+    /**
+     * Ends a measurement of the given stopwatch on this session's span.
+     *
+     * @param stopwatch  The stopwatch
+     * @param startNanos The value returned by {@link Stopwatch#start()}
+     * @return The elapsed time in nanoseconds
+     * @throws Exception if the stopwatch is null
+     */
+    public long stop(Stopwatch stopwatch, long startNanos) throws Exception
+    {
+        if (stopwatch == null)
+        {
+            throw new Exception("Stopwatch cannot be null");
+        }
+
+        return stopwatch.stop(span, startNanos);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+/**
+ * Outcome of a non-throwing attribute write.
+ * <p>
+ * Returned by the {@code CustomInstrumentation.trySet*} methods in place of a
+ * checked exception. Constants are shared singletons, so reporting a failure
+ * allocates nothing.
+ *
+ * @since 1.1.0
+ */
+public enum AttributeStatus
+{
+    /**
+     * The attribute was passed to the span.
+     */
+    OK,
+
+    /**
+     * The key was null, empty, or contained invalid characters.
+     */
+    INVALID_KEY,
+
+    /**
+     * The value or list was null.
+     */
+    NULL_VALUE,
+
+    /**
+     * The double value was NaN or Infinite.
+     */
+    NON_FINITE,
+
+    /**
+     * The value type cannot be stored as a span attribute, or a list mixed
+     * element types.
+     */
+    UNSUPPORTED_TYPE,
+
+    /**
+     * The list was empty, or contained no valid values after filtering.
+     */
+    EMPTY_LIST,
+
+    /**
+     * The per-span attribute count or size limit, or the per-span event
+     * limit, was reached, so the write was dropped.
+     */
+    LIMIT_EXCEEDED,
+
+    /**
+     * No active span was available.
+     */
+    NO_SPAN,
+
+    /**
+     * The span is not recording, so the write was discarded before any
+     * validation.
+     */
+    NOT_RECORDING,
+
+    /**
+     * The key has a sampling rate below 1 and this write was not selected,
+     * so it was discarded before any value validation.
+     *
+     * @since 1.1.0
+     */
+    SAMPLED_OUT,
+
+    /**
+     * The key exceeded its configured process-wide write rate or per-span
+     * write cap, so the write was shed before any value validation.
+     *
+     * @since 1.1.0
+     */
+    RATE_LIMITED;
+
+    /**
+     * Returns whether the write was accepted.
+     * <p>
+     * Writes skipped because the span is not recording or because the key
+     * was sampled out are accepted: they are dropped by design and say nothing
+     * about the validity of the input.
+     *
+     * @return true if this status is {@link #OK}, {@link #NOT_RECORDING} or
+     *         {@link #SAMPLED_OUT}
+     */
+    public boolean isOk()
+    {
+        return this == OK || this == NOT_RECORDING || this == SAMPLED_OUT;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-key cardinality guard for string attribute values.
+ * <p>
+ * Each prepared key gets a {@link HyperLogLog} sketch of the current window
+ * and a union sketch seeded with the previous window when the window rotates,
+ * so the estimate always spans between one and two windows of recent values.
+ * Windows rotate lock-free by swapping an immutable holder with
+ * compare-and-set. Once a key's estimate crosses the
+ * threshold, its values are replaced according to the configured
+ * {@link CardinalityOverflow} policy until the estimate drops back below it.
+ * <p>
+ * The hot path hashes the value, tries to raise one register and reads a
+ * volatile flag. When a register is raised, the union sketch is raised too
+ * and its running sums give the new estimate in constant time; only a window
+ * rotation copies the registers. The number of guarded keys is bounded; values
+ * of keys beyond that bound pass through unchanged.
+ *
+ * @since 1.1.0
+ */
+final class CardinalityGuard
+{
+
+    static final String OVERFLOW_VALUE = "__overflow__";
+
+    private static final int MAX_KEYS = 1024;
+
+    private static final int BUCKETS = 64;
+
+    private static final String[] BUCKET_VALUES = new String[BUCKETS];
+
+    static
+    {
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            BUCKET_VALUES[i] = (i < 10 ? "__bucket_0" : "__bucket_") + i + "__";
+        }
+    }
+
+    private final long threshold;
+
+    private final long windowMillis;
+
+    private final CardinalityOverflow overflow;
+
+    private final ConcurrentHashMap<String, KeySketch> sketches = new ConcurrentHashMap<>();
+
+    CardinalityGuard(long threshold, long windowMillis, CardinalityOverflow overflow)
+    {
+        this.threshold = threshold;
+
+        this.windowMillis = windowMillis;
+
+        this.overflow = overflow;
+    }
+
+    /**
+     * Records a value for a key and returns the value to write.
+     *
+     * @param key   The prepared attribute key
+     * @param value The string value
+     * @return The value itself, or its replacement if the key has overflowed
+     */
+    String apply(String key, String value)
+    {
+        KeySketch sketch = sketches.get(key);
+
+        if (sketch == null)
+        {
+            if (sketches.size() >= MAX_KEYS)
+            {
+                return value;
+            }
+
+            sketch = sketches.computeIfAbsent(key, k -> new KeySketch(System.currentTimeMillis()));
+        }
+
+        long hash = HyperLogLog.hash(value);
+
+        if (!sketch.offer(hash, System.currentTimeMillis()))
+        {
+            return value;
+        }
+
+        return overflow == CardinalityOverflow.REPLACE ? OVERFLOW_VALUE : BUCKET_VALUES[(int) (hash & (BUCKETS - 1))];
+    }
+
+    /**
+     * Returns the current distinct-value estimate of every guarded key.
+     *
+     * @return An immutable map of prepared keys to estimates
+     */
+    Map<String, Long> estimates()
+    {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+
+        for (Map.Entry<String, KeySketch> entry : sketches.entrySet())
+        {
+            estimates.put(entry.getKey(), entry.getValue().estimate);
+        }
+
+        return Collections.unmodifiableMap(estimates);
+    }
+
+    /**
+     * Immutable pair of sketches for the current window alone and for the
+     * current and previous windows together.
+     */
+    private static final class Window
+    {
+
+        private final HyperLogLog current;
+
+        private final HyperLogLog union;
+
+        private final long start;
+
+        private Window(HyperLogLog previous, long start)
+        {
+            this.current = new HyperLogLog();
+
+            this.union = previous == null ? current : new HyperLogLog(previous);
+
+            this.start = start;
+        }
+    }
+
+    /**
+     * Sliding-window sketch state of a single key.
+     */
+    private final class KeySketch
+    {
+
+        private final AtomicReference<Window> window;
+
+        private volatile long estimate;
+
+        private volatile boolean overflowed;
+
+        private KeySketch(long now)
+        {
+            this.window = new AtomicReference<>(new Window(null, now));
+        }
+
+        /**
+         * Offers a hashed value, rotating the window if it has expired.
+         *
+         * @param hash The value hash
+         * @param now  The current time in milliseconds
+         * @return true if the key is over its threshold
+         */
+        private boolean offer(long hash, long now)
+        {
+            Window current = window.get();
+
+            boolean changed = false;
+
+            if (now - current.start >= windowMillis)
+            {
+                HyperLogLog previous = now - current.start >= 2 * windowMillis ? null : current.current;
+
+                Window rotated = new Window(previous, now);
+
+                if (window.compareAndSet(current, rotated))
+                {
+                    changed = true;
+                }
+
+                current = window.get();
+            }
+
+            if (current.current.offer(hash))
+            {
+                if (current.union != current.current)
+                {
+                    current.union.offer(hash);
+                }
+
+                changed = true;
+            }
+
+            if (changed)
+            {
+                long updated = current.union.estimate();
+
+                estimate = updated;
+
+                overflowed = updated > threshold;
+            }
+
+            return overflowed;
+        }
+    }
+}
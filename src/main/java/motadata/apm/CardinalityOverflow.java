@@ -0,0 +1,43 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+/**
+ * What {@link CustomInstrumentation} does with string values of a key whose
+ * estimated distinct-value count has crossed the configured threshold.
+ *
+ * @since 1.1.0
+ */
+public enum CardinalityOverflow
+{
+    /**
+     * Replace every value with {@code "__overflow__"}.
+     */
+    REPLACE,
+
+    /**
+     * Hash every value into one of a fixed number of buckets, written as
+     * {@code "__bucket_NN__"}. This keeps a coarse distribution while bounding
+     * the number of distinct values.
+     */
+    BUCKET
+}
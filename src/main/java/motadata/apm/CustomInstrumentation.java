@@ -21,14 +21,30 @@
 
 package motadata.apm;
 
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributeType;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 /**
  * Utility class for setting custom instrumentation attributes on OpenTelemetry
@@ -38,7 +54,19 @@ import java.util.stream.Collectors;
  * <ul>
  *   <li>Setting scalar attributes (Boolean, Double, Integer, Long, String, boolean, double, integer, long) on the current span</li>
  *   <li>Setting list attributes (List of Boolean, Double, Integer, Long, String) on the current span</li>
+ *   <li>Setting array attributes from primitive arrays (boolean, double, int, long) on the current span</li>
+ *   <li>Setting attributes from lazily evaluated suppliers that only run for recording spans</li>
+ *   <li>Running tasks inside short-lived child spans</li>
+ *   <li>Timing code into accumulated per-span duration attributes</li>
+ *   <li>Adding named events with validated attributes, bounded per span</li>
+ *   <li>Recording exceptions with bounded, deduplicated stack traces</li>
+ *   <li>Setting many attributes at once with a single span lookup</li>
+ *   <li>Span-bound sessions that reuse a resolved span across many writes</li>
+ *   <li>Optional per-span limits on attribute count, string length, list length and total size</li>
+ *   <li>Optional per-key cardinality guard for string values</li>
  *   <li>Validation of attribute keys and values with descriptive error messages</li>
+ *   <li>Pre-validated key handles for attributes that are written repeatedly</li>
+ *   <li>Namespaced metric instruments with pre-bound attributes</li>
  * </ul>
  * <p>
  * All attribute keys are automatically prefixed with "apm." unless already
@@ -46,6 +74,9 @@ import java.util.stream.Collectors;
  * This ensures consistent namespacing for APM-related attributes across the
  * application.
  * <p>
+ * Writes to spans that are not recording (unsampled or invalid spans) return
+ * immediately without validating the key or the value.
+ * <p>
  * Thread-safe: All methods operate on the current span context which is
  * thread-local.
  * The class depends only on the OpenTelemetry Span.current() method for span
@@ -58,7 +89,40 @@ public final class CustomInstrumentation
 
     private static final String DEFAULT_PREFIX = "apm.";
 
-    private static final Pattern KEY_VALIDATION_PATTERN = Pattern.compile("[a-zA-Z0-9.]+");
+    private static final String INSTRUMENTATION_NAME = "motadata-apm-custom-instrumentation";
+
+    private static final int DEFAULT_KEY_CACHE_SIZE = 2048;
+
+    private static final int DEFAULT_EVENT_LIMIT = 128;
+
+    private static final KeyCache KEY_CACHE = new KeyCache(Integer.getInteger("motadata.apm.key.cache.size", DEFAULT_KEY_CACHE_SIZE));
+
+    private static final OutcomeCounters OUTCOMES = new OutcomeCounters();
+
+    private static final ConcurrentHashMap<String, MetricCounter> COUNTERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentHashMap<String, MetricHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentHashMap<String, MetricGauge> GAUGES = new ConcurrentHashMap<>();
+
+    static final AttributeKey<Boolean> TRUNCATED_KEY = AttributeKey.booleanKey(DEFAULT_PREFIX + "truncated");
+
+    private static volatile AttributeLimits attributeLimits = AttributeLimits.unlimited();
+
+    private static volatile CardinalityGuard cardinalityGuard;
+
+    private static volatile KeySampler keySampler;
+
+    private static volatile KeyRateLimiter rateLimiter;
+
+    private static volatile int eventLimit = DEFAULT_EVENT_LIMIT;
+
+    private static volatile ExceptionRecorder exceptionRecorder = new ExceptionRecorder(ExceptionRecorder.DEFAULT_MAX_FRAMES,
+            ExceptionRecorder.DEFAULT_FINGERPRINT_FRAMES, ExceptionRecorder.DEFAULT_WINDOW_MILLIS);
+
+    private static volatile Tracer tracer;
+
+    private static volatile Meter meter;
 
     private CustomInstrumentation()
     {
@@ -76,104 +140,259 @@ public final class CustomInstrumentation
      *   <li>Converts the key to lowercase for consistency</li>
      *   <li>Adds the "apm." prefix if not already present</li>
      * </ol>
+     * The work is done by {@link #scanKey(String)}; error messages are only
+     * built once the key is known to be invalid.
      *
      * @param key The original attribute key
      * @return The prepared key with "apm." prefix in lowercase
      * @throws Exception if the key is null, empty, or contains
      *                   invalid characters
      */
-    private static String prepareKey(String key) throws Exception
+    static String prepareKey(String key) throws Exception
+    {
+        String prepared = key == null ? null : scanKey(key);
+
+        if (prepared == null)
+        {
+            throw invalidKey(key);
+        }
+
+        return prepared;
+    }
+
+    /**
+     * Builds the descriptive exception for a key rejected by
+     * {@link #scanKey(String)}.
+     *
+     * @param key The original attribute key
+     * @return The exception describing why the key is invalid
+     */
+    private static Exception invalidKey(String key)
+    {
+        OUTCOMES.record(AttributeStatus.INVALID_KEY, key);
+
+        return invalidKeyMessage(key);
+    }
+
+    /**
+     * Builds the descriptive exception for a key rejected by
+     * {@link #scanKey(String)} without counting the rejection.
+     *
+     * @param key The original attribute key
+     * @return The exception describing why the key is invalid
+     */
+    private static Exception invalidKeyMessage(String key)
     {
         if (key == null)
         {
-            throw new Exception("Attribute key cannot be null");
+            return new Exception("Attribute key cannot be null");
         }
 
         key = key.trim();
 
         if (key.isEmpty())
         {
-            throw new Exception("Attribute key cannot be empty or whitespace only");
+            return new Exception("Attribute key cannot be empty or whitespace only");
+        }
+
+        return new Exception("Attribute key contains invalid characters. Only alphabets, numbers, and dots are allowed: '" + key + "'");
+    }
+
+    /**
+     * Trims, validates, lowercases and prefixes an attribute key in a single
+     * pass over its characters.
+     * <p>
+     * Only ASCII letters, digits and dots are accepted, so lowercasing is done
+     * arithmetically and does not depend on the default locale. Leading and
+     * trailing characters up to and including the space character are trimmed,
+     * matching {@link String#trim()}.
+     * <p>
+     * When the key is already trimmed, lowercase and prefixed, the original
+     * instance is returned and nothing is allocated. Otherwise exactly one
+     * string is created.
+     *
+     * @param key The original attribute key (must not be null)
+     * @return The prepared key, or null if the key is empty after trimming or
+     *         contains invalid characters
+     */
+    static String scanKey(String key)
+    {
+        int start = 0;
+
+        int end = key.length();
+
+        while (start < end && key.charAt(start) <= ' ')
+        {
+            start++;
+        }
+
+        while (end > start && key.charAt(end - 1) <= ' ')
+        {
+            end--;
+        }
+
+        if (start == end)
+        {
+            return null;
+        }
+
+        boolean uppercase = false;
+
+        for (int i = start; i < end; i++)
+        {
+            char c = key.charAt(i);
+
+            if (c >= 'A' && c <= 'Z')
+            {
+                uppercase = true;
+            }
+            else if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '.')
+            {
+                return null;
+            }
         }
 
-        if (!KEY_VALIDATION_PATTERN.matcher(key).matches())
+        boolean prefixed = hasDefaultPrefix(key, start, end);
+
+        if (prefixed && !uppercase && start == 0 && end == key.length())
         {
-            throw new Exception("Attribute key contains invalid characters. Only alphabets, numbers, and dots are allowed: '" + key + "'");
+            return key;
         }
 
-        key = key.toLowerCase();
+        int offset = prefixed ? 0 : DEFAULT_PREFIX.length();
+
+        char[] chars = new char[offset + end - start];
+
+        DEFAULT_PREFIX.getChars(0, offset, chars, 0);
+
+        for (int i = start; i < end; i++)
+        {
+            char c = key.charAt(i);
+
+            chars[offset + i - start] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
 
-        return key.startsWith(DEFAULT_PREFIX) ? key : DEFAULT_PREFIX + key;
+        return new String(chars);
     }
 
     /**
-     * Validates that a value is not null.
-     * <p>
-     * This method is used to validate attribute values before setting them on a
-     * span.
+     * Checks, ignoring ASCII case, whether the given key range starts with the
+     * "apm." prefix.
      *
-     * @param value The value to validate
-     * @param key   The attribute key (used in error messages)
-     * @throws Exception if the value is null
+     * @param key   The key to check
+     * @param start The start of the trimmed range
+     * @param end   The end of the trimmed range
+     * @return true if the range starts with the prefix
      */
-    private static void validateValue(Object value, String key) throws Exception
+    private static boolean hasDefaultPrefix(String key, int start, int end)
     {
-        if (value == null)
+        if (end - start < DEFAULT_PREFIX.length())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < DEFAULT_PREFIX.length(); i++)
         {
-            throw new Exception("Attribute value cannot be null for key: " + key);
+            if ((key.charAt(start + i) | 0x20) != (DEFAULT_PREFIX.charAt(i) | 0x20))
+            {
+                return false;
+            }
         }
+
+        return true;
     }
 
     /**
-     * Validates that a list is not null and not empty.
+     * Prepares an attribute key through the bounded prepared-key cache.
      * <p>
-     * This method is used to validate list attribute values before setting them on
-     * a span.
+     * Cache hits return the shared prepared key instance, including its typed
+     * {@link AttributeKey} instances, without any validation work. Misses fall
+     * back to {@link #scanKey(String)} and offer the result to the cache;
+     * invalid keys are never cached.
      *
-     * @param list The list to validate
-     * @param key  The attribute key (used in error messages)
-     * @throws Exception if the list is null or empty
+     * @param key The original attribute key
+     * @return The cached prepared key, or null if the key is invalid
      */
-    private static void validateList(List<?> list, String key) throws Exception
+    private static PreparedKey lookupKey(String key)
     {
-        if (list == null)
+        PreparedKey prepared = KEY_CACHE.get(key);
+
+        if (prepared != null || key == null)
         {
-            throw new Exception("List cannot be null for key: " + key);
+            return prepared;
         }
 
-        if (list.isEmpty())
+        String name = scanKey(key);
+
+        return name == null ? null : KEY_CACHE.put(key, new PreparedKey(name));
+    }
+
+    /**
+     * Prepares an attribute key through the bounded prepared-key cache,
+     * failing with a descriptive exception for invalid keys.
+     *
+     * @param key The original attribute key
+     * @return The cached prepared key
+     * @throws Exception if the key is null, empty, or contains
+     *                   invalid characters
+     */
+    static PreparedKey cachedKey(String key) throws Exception
+    {
+        PreparedKey prepared = lookupKey(key);
+
+        if (prepared == null)
         {
-            throw new Exception("List cannot be empty for key: " + key);
+            throw invalidKey(key);
         }
+
+        return prepared;
     }
 
     /**
      * Filters out null values from a list and returns a new list containing only
      * non-null values.
      * <p>
+     * The list is first scanned for nulls. In the common case where there are
+     * none, it is copied as a whole in a single array copy; the element-wise
+     * filtering copy only runs when something actually needs removing.
+     * <p>
      * This method is thread-safe as it:
      * <ul>
      *   <li>Does not modify the input list</li>
-     *   <li>Uses Java 8 streams for functional-style filtering</li>
      *   <li>Uses only local variables (no shared state)</li>
      *   <li>Is stateless and can be safely called from multiple threads</li>
      * </ul>
      *
      * @param <T>  The type of elements in the list
      * @param list The input list to filter (must not be null)
-     * @param key  The attribute key (used in error messages)
-     * @return A new list containing only non-null values from the input list
-     * @throws Exception if the filtered list is empty (all values were null)
+     * @return A new list containing only non-null values from the input list,
+     *         empty if all values were null
      */
-    private static <T> List<T> filterNullValues(List<T> list, String key) throws Exception
+    static <T> List<T> filterNullValues(List<T> list)
     {
-        List<T> filtered = list.stream()
-                .filter(Objects::nonNull)
-                .collect(Collectors.toCollection(() -> new ArrayList<>(list.size())));
+        int count = 0;
 
-        if (filtered.isEmpty())
+        for (T value : list)
+        {
+            if (value != null)
+            {
+                count++;
+            }
+        }
+
+        if (count == list.size())
+        {
+            return new ArrayList<>(list);
+        }
+
+        List<T> filtered = new ArrayList<>(count);
+
+        for (T value : list)
         {
-            throw new Exception("List contains only null values for key: " + key);
+            if (value != null)
+            {
+                filtered.add(value);
+            }
         }
 
         return filtered;
@@ -182,55 +401,153 @@ public final class CustomInstrumentation
     /**
      * Filters out null, NaN, and Infinite values from a Double list.
      * <p>
-     * This method is thread-safe and uses Java 8 streams for functional-style
-     * filtering.
+     * This method is thread-safe. Like {@link #filterNullValues(List)}, it
+     * copies the list as a whole when every value is valid and only filters
+     * element by element otherwise.
      *
      * @param list The input list to filter (must not be null)
-     * @param key  The attribute key (used in error messages)
-     * @return A new list containing only valid Double values
-     * @throws Exception if the filtered list is empty
+     * @return A new list containing only valid Double values, empty if no
+     *         value was valid
      */
-    private static List<Double> filterDoubles(List<Double> list, String key) throws Exception
+    static List<Double> filterDoubles(List<Double> list)
     {
-        List<Double> filtered = list.stream()
-                .filter(v -> v != null && !Double.isNaN(v) && !Double.isInfinite(v))
-                .collect(Collectors.toCollection(() -> new ArrayList<>(list.size())));
+        int count = 0;
 
-        if (filtered.isEmpty())
+        for (Double value : list)
+        {
+            if (isFinite(value))
+            {
+                count++;
+            }
+        }
+
+        if (count == list.size())
         {
-            throw new Exception("List contains only invalid values for key: " + key);
+            return new ArrayList<>(list);
+        }
+
+        List<Double> filtered = new ArrayList<>(count);
+
+        for (Double value : list)
+        {
+            if (isFinite(value))
+            {
+                filtered.add(value);
+            }
         }
 
         return filtered;
     }
 
+    /**
+     * Checks that a boxed double is neither null, NaN nor Infinite.
+     *
+     * @param value The value to check
+     * @return true if the value is a finite number
+     */
+    private static boolean isFinite(Double value)
+    {
+        return value != null && !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+
     /**
      * Converts an Integer list to Long list, filtering out null values.
      * <p>
-     * This method is thread-safe and uses Java 8 streams for functional-style
-     * filtering and mapping.
+     * This method is thread-safe. The non-null values are widened into a
+     * compact long array exposed as a primitive-backed list, so no
+     * intermediate {@code Long} objects are created.
      * Integer values are converted to Long for OpenTelemetry compatibility.
      *
      * @param list The input list to convert (must not be null)
-     * @param key  The attribute key (used in error messages)
-     * @return A new list containing Long values converted from non-null Integers
-     * @throws Exception if the filtered list is empty
+     * @return A new list containing Long values converted from non-null
+     *         Integers, empty if all values were null
      */
-    private static List<Long> convertIntegers(List<Integer> list, String key) throws Exception
+    static List<Long> convertIntegers(List<Integer> list)
     {
-        List<Long> filtered = list.stream()
-                .filter(Objects::nonNull)
-                .map(Integer::longValue)
-                .collect(Collectors.toCollection(() -> new ArrayList<>(list.size())));
+        int count = 0;
 
-        if (filtered.isEmpty())
+        for (Integer value : list)
+        {
+            if (value != null)
+            {
+                count++;
+            }
+        }
+
+        long[] widened = new long[count];
+
+        int index = 0;
+
+        for (Integer value : list)
+        {
+            if (value != null && index < count)
+            {
+                widened[index++] = value;
+            }
+        }
+
+        return PrimitiveLists.ofLongs(index == count ? widened : Arrays.copyOf(widened, index));
+    }
+
+    /**
+     * Returns a private copy of a double array without NaN and Infinite
+     * values.
+     * <p>
+     * The values are checked in a single tight loop; when all are finite the
+     * array is copied as a whole.
+     *
+     * @param values The input array (must not be null)
+     * @return A new array containing only the finite values, empty if none
+     */
+    private static double[] finiteDoubles(double[] values)
+    {
+        int count = 0;
+
+        for (double value : values)
+        {
+            if (!Double.isNaN(value) && !Double.isInfinite(value))
+            {
+                count++;
+            }
+        }
+
+        if (count == values.length)
+        {
+            return values.clone();
+        }
+
+        double[] filtered = new double[count];
+
+        for (int i = 0, j = 0; j < count; i++)
         {
-            throw new Exception("List contains only null values for key: " + key);
+            if (!Double.isNaN(values[i]) && !Double.isInfinite(values[i]))
+            {
+                filtered[j++] = values[i];
+            }
         }
 
         return filtered;
     }
 
+    /**
+     * Widens an int array to a new long array for OpenTelemetry
+     * compatibility.
+     *
+     * @param values The input array (must not be null)
+     * @return A new array containing the widened values
+     */
+    private static long[] widenIntegers(int[] values)
+    {
+        long[] widened = new long[values.length];
+
+        for (int i = 0; i < values.length; i++)
+        {
+            widened[i] = values[i];
+        }
+
+        return widened;
+    }
+
     /**
      * Retrieves the current active span from the OpenTelemetry context.
      * <p>
@@ -240,7 +557,7 @@ public final class CustomInstrumentation
      * @return The current active span
      * @throws Exception if no active span is available or an error occurs
      */
-    private static Span getCurrentSpan() throws Exception
+    static Span getCurrentSpan() throws Exception
     {
         try
         {
@@ -255,275 +572,3991 @@ public final class CustomInstrumentation
         }
         catch (Exception exception)
         {
+            OUTCOMES.record(AttributeStatus.NO_SPAN, null);
+
             throw new Exception("Failed to retrieve current span", exception);
         }
     }
 
     /**
-     * Sets a boolean attribute on the current span.
+     * Creates a reusable handle for a boolean attribute key.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
+     * The key is validated and prepared once; writes through the returned
+     * handle skip key preparation entirely.
      *
-     * @param key   The attribute key (will be prefixed with "apm." if needed)
-     * @param value The boolean value to set (cannot be null)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The value is null</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param key The attribute key (will be prefixed with "apm." if needed)
+     * @return An immutable handle for the prepared key
+     * @throws Exception if the key is null, empty, or contains invalid characters
+     * @since 1.1.0
      */
-    public static void set(String key, Boolean value) throws Exception
+    public static BooleanKey booleanKey(String key) throws Exception
     {
-        key = prepareKey(key);
-
-        validateValue(value, key);
+        return new BooleanKey(prepareKey(key));
+    }
 
-        getCurrentSpan().setAttribute(key, value);
+    /**
+     * Creates a reusable handle for a double attribute key.
+     * <p>
+     * The key is validated and prepared once; writes through the returned
+     * handle skip key preparation entirely.
+     *
+     * @param key The attribute key (will be prefixed with "apm." if needed)
+     * @return An immutable handle for the prepared key
+     * @throws Exception if the key is null, empty, or contains invalid characters
+     * @since 1.1.0
+     */
+    public static DoubleKey doubleKey(String key) throws Exception
+    {
+        return new DoubleKey(prepareKey(key));
     }
 
     /**
-     * Sets a double attribute on the current span.
+     * Creates a reusable handle for a long attribute key.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
-     * The value must be a valid finite number (not NaN or Infinite).
+     * The key is validated and prepared once; writes through the returned
+     * handle skip key preparation entirely.
      *
-     * @param key   The attribute key (will be prefixed with "apm." if needed)
-     * @param value The double value to set (cannot be null, NaN, or Infinite)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The value is null, NaN, or Infinite</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param key The attribute key (will be prefixed with "apm." if needed)
+     * @return An immutable handle for the prepared key
+     * @throws Exception if the key is null, empty, or contains invalid characters
+     * @since 1.1.0
      */
-    public static void set(String key, Double value) throws Exception
+    public static LongKey longKey(String key) throws Exception
     {
-        key = prepareKey(key);
+        return new LongKey(prepareKey(key));
+    }
 
-        if (value == null || Double.isNaN(value) || Double.isInfinite(value))
-        {
-            throw new Exception("Invalid Double value for key: " + key);
-        }
+    /**
+     * Creates a reusable handle for a string attribute key.
+     * <p>
+     * The key is validated and prepared once; writes through the returned
+     * handle skip key preparation entirely.
+     *
+     * @param key The attribute key (will be prefixed with "apm." if needed)
+     * @return An immutable handle for the prepared key
+     * @throws Exception if the key is null, empty, or contains invalid characters
+     * @since 1.1.0
+     */
+    public static StringKey stringKey(String key) throws Exception
+    {
+        return new StringKey(prepareKey(key));
+    }
 
-        getCurrentSpan().setAttribute(key, value);
+    /**
+     * Creates a reusable stopwatch for a duration attribute key.
+     * <p>
+     * The key is validated and prepared once; measurements through the
+     * returned handle skip key preparation entirely and accumulate per span.
+     *
+     * @param key The attribute key (will be prefixed with "apm." if needed)
+     * @return An immutable, thread-safe stopwatch for the prepared key
+     * @throws Exception if the key is null, empty, or contains invalid characters
+     * @since 1.1.0
+     */
+    public static Stopwatch stopwatch(String key) throws Exception
+    {
+        return new Stopwatch(prepareKey(key));
     }
 
     /**
-     * Sets an integer attribute on the current span.
+     * Returns the counter registered under the given name, creating it on
+     * first use.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
-     * The integer value is internally converted to a long for OpenTelemetry
-     * compatibility.
+     * The name is validated, lowercased and prefixed with "apm." like an
+     * attribute key, without going through the prepared-key cache, and one
+     * instrument is cached per prepared name, so repeated calls return the
+     * same instance. Instruments record through
+     * the meter of the instance passed to
+     * {@link #setOpenTelemetry(OpenTelemetry)}, or of
+     * {@link GlobalOpenTelemetry} if none was passed. The meter is first read
+     * on the first measurement, and an instrument obtained earlier, even one
+     * held in a {@code static final} field, switches to the new meter when an
+     * instance is passed later.
      *
-     * @param key   The attribute key (will be prefixed with "apm." if needed)
-     * @param value The integer value to set (cannot be null)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The value is null</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param name The metric name (will be prefixed with "apm." if needed)
+     * @return The cached counter, without bound attributes
+     * @throws Exception if the name is null, empty, or contains invalid characters
+     * @since 1.1.0
      */
-    public static void set(String key, Integer value) throws Exception
+    public static MetricCounter counter(String name) throws Exception
     {
-        key = prepareKey(key);
+        String metricName = prepareKey(name);
 
-        validateValue(value, key);
+        MetricCounter counter = COUNTERS.get(metricName);
 
-        getCurrentSpan().setAttribute(key, value.longValue());
+        return counter != null ? counter : COUNTERS.computeIfAbsent(metricName,
+                key -> new MetricCounter(key, new LazyInstrument<>(meter -> meter.counterBuilder(key).build()), Attributes.empty()));
     }
 
     /**
-     * Sets a long attribute on the current span.
+     * Returns the histogram registered under the given name, creating it on
+     * first use.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
+     * Names are validated and instruments cached as for
+     * {@link #counter(String)}.
      *
-     * @param key   The attribute key (will be prefixed with "apm." if needed)
-     * @param value The long value to set (cannot be null)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The value is null</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param name The metric name (will be prefixed with "apm." if needed)
+     * @return The cached histogram, without bound attributes
+     * @throws Exception if the name is null, empty, or contains invalid characters
+     * @since 1.1.0
      */
-    public static void set(String key, Long value) throws Exception
+    public static MetricHistogram histogram(String name) throws Exception
     {
-        key = prepareKey(key);
+        String metricName = prepareKey(name);
 
-        validateValue(value, key);
+        MetricHistogram histogram = HISTOGRAMS.get(metricName);
 
-        getCurrentSpan().setAttribute(key, value);
+        return histogram != null ? histogram : HISTOGRAMS.computeIfAbsent(metricName,
+                key -> new MetricHistogram(key, new LazyInstrument<>(meter -> meter.histogramBuilder(key).build()), Attributes.empty()));
     }
 
     /**
-     * Sets a string attribute on the current span.
+     * Returns the gauge registered under the given name, creating it on first
+     * use.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
+     * Names are validated and instruments cached as for
+     * {@link #counter(String)}.
      *
-     * @param key   The attribute key (will be prefixed with "apm." if needed)
-     * @param value The string value to set (cannot be null)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The value is null</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param name The metric name (will be prefixed with "apm." if needed)
+     * @return The cached gauge, without bound attributes
+     * @throws Exception if the name is null, empty, or contains invalid characters
+     * @since 1.1.0
      */
-    public static void set(String key, String value) throws Exception
+    public static MetricGauge gauge(String name) throws Exception
     {
-        key = prepareKey(key);
+        String metricName = prepareKey(name);
 
-        validateValue(value, key);
+        MetricGauge gauge = GAUGES.get(metricName);
 
-        getCurrentSpan().setAttribute(key, value);
+        return gauge != null ? gauge : GAUGES.computeIfAbsent(metricName,
+                key -> new MetricGauge(key, new LazyInstrument<>(meter -> meter.gaugeBuilder(key).build()), Attributes.empty()));
     }
 
     /**
-     * Sets a boolean array attribute on the current span.
+     * Returns an attribute session bound to the given span.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
-     * Null elements in the list are automatically filtered out.
+     * The session exposes the same setters as this class but writes to the
+     * captured span, which may belong to another thread.
+     *
+     * @param span The span to write to (cannot be null)
+     * @return A session bound to the span
+     * @throws Exception if the span is null
+     * @since 1.1.0
+     */
+    public static AttributeSession on(Span span) throws Exception
+    {
+        if (span == null)
+        {
+            throw new Exception("Span cannot be null");
+        }
+
+        return new AttributeSession(span);
+    }
+
+    /**
+     * Returns an attribute session bound to the current span.
+     * <p>
+     * The current span is resolved once, when the session is created; use the
+     * session for a block of writes to avoid repeating the context lookup.
+     *
+     * @return A session bound to the current span
+     * @throws Exception if no active span is available
+     * @since 1.1.0
+     */
+    public static AttributeSession current() throws Exception
+    {
+        return new AttributeSession(getCurrentSpan());
+    }
+
+    /**
+     * Uses the given OpenTelemetry instance for the spans and metric
+     * instruments of this library, instead of {@link GlobalOpenTelemetry}.
+     * <p>
+     * Without an instance, the tracer and meter are taken from
+     * {@link GlobalOpenTelemetry} on the first span or measurement. If no SDK
+     * or agent is registered at that point, {@link GlobalOpenTelemetry}
+     * settles on its no-op instance for good and a later
+     * {@link GlobalOpenTelemetry#set} fails. Applications that cannot
+     * register the SDK before that should pass it here instead: this method
+     * never reads the global instance, and spans and measurements recorded
+     * afterwards go through it even if earlier ones did not, including those
+     * of instruments obtained before this call.
+     *
+     * @param openTelemetry The instance to use (cannot be null)
+     * @throws Exception if the instance is null
+     * @since 1.1.0
+     */
+    public static synchronized void setOpenTelemetry(OpenTelemetry openTelemetry) throws Exception
+    {
+        if (openTelemetry == null)
+        {
+            throw new Exception("OpenTelemetry cannot be null");
+        }
+
+        tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+
+        meter = openTelemetry.getMeter(INSTRUMENTATION_NAME);
+    }
+
+    /**
+     * Stops using the instance passed to
+     * {@link #setOpenTelemetry(OpenTelemetry)}, so the tracer and meter are
+     * taken from {@link GlobalOpenTelemetry} again on the next span or
+     * measurement.
+     *
+     * @since 1.1.0
+     */
+    public static synchronized void clearOpenTelemetry()
+    {
+        tracer = null;
+
+        meter = null;
+    }
+
+    /**
+     * Runs a task inside a new child span of the current span and returns its
+     * result.
+     * <p>
+     * The span name is validated, lowercased and prefixed with "apm." like an
+     * attribute key, but without going through the prepared-key cache, so
+     * span names never take cache space from attribute keys. The span is made
+     * current while the task runs, so attributes set by the task land on it.
+     * If the task throws, the exception is recorded on the span as by
+     * {@link #recordException(Throwable)}, the span status is set to
+     * {@link StatusCode#ERROR} and the exception is rethrown unchanged. The span is always ended, which records the duration.
+     * <p>
+     * Spans are created through the tracer of the instance passed to
+     * {@link #setOpenTelemetry(OpenTelemetry)}, or of
+     * {@link GlobalOpenTelemetry} if none was passed; see there for the
+     * order in which the SDK must be set up. Apart from the span itself and
+     * its scope, nothing is allocated.
+     *
+     * @param <T>      The result type
+     * @param name     The span name (will be prefixed with "apm." if needed)
+     * @param callable The task to run
+     * @return The result of the task
+     * @throws Exception if the name is invalid, the task is null, or the task
+     *                   throws
+     * @since 1.1.0
+     */
+    public static <T> T trace(String name, Callable<T> callable) throws Exception
+    {
+        String spanName = prepareKey(name);
+
+        if (callable == null)
+        {
+            throw new Exception("Callable cannot be null for span: " + spanName);
+        }
+
+        Span span = tracer().spanBuilder(spanName).startSpan();
+
+        try (Scope ignored = span.makeCurrent())
+        {
+            return callable.call();
+        }
+        catch (Throwable throwable)
+        {
+            writeException(span, throwable);
+
+            span.setStatus(StatusCode.ERROR);
+
+            throw throwable;
+        }
+        finally
+        {
+            span.end();
+        }
+    }
+
+    /**
+     * Runs a task inside a new child span of the current span.
+     * <p>
+     * Behaves like {@link #trace(String, Callable)} for tasks without a
+     * result.
+     *
+     * @param name     The span name (will be prefixed with "apm." if needed)
+     * @param runnable The task to run
+     * @throws Exception if the name is invalid or the task is null; unchecked
+     *                   exceptions thrown by the task are rethrown unchanged
+     * @since 1.1.0
+     */
+    public static void trace(String name, Runnable runnable) throws Exception
+    {
+        String spanName = prepareKey(name);
+
+        if (runnable == null)
+        {
+            throw new Exception("Runnable cannot be null for span: " + spanName);
+        }
+
+        Span span = tracer().spanBuilder(spanName).startSpan();
+
+        try (Scope ignored = span.makeCurrent())
+        {
+            runnable.run();
+        }
+        catch (Throwable throwable)
+        {
+            writeException(span, throwable);
+
+            span.setStatus(StatusCode.ERROR);
+
+            throw throwable;
+        }
+        finally
+        {
+            span.end();
+        }
+    }
+
+    /**
+     * Runs a task and adds its duration to an attribute of the current span.
+     * <p>
+     * The key is validated and namespaced like any other key, through the
+     * prepared-key cache. The elapsed time is measured with
+     * {@link System#nanoTime()} and recorded in nanoseconds as a long
+     * attribute, also when the task throws. Measurements of the same key on
+     * the same span accumulate: the attribute always holds their total. If
+     * the span is not recording, the task runs without being timed and the
+     * key is not validated.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param runnable The task to run
+     * @throws Exception if the key is invalid, the task is null or no span is
+     *                   available; unchecked exceptions thrown by the task are
+     *                   rethrown unchanged
+     * @since 1.1.0
+     */
+    public static void time(String key, Runnable runnable) throws Exception
+    {
+        Span span = getCurrentSpan();
+
+        if (runnable != null && !isRecording(span))
+        {
+            runnable.run();
+
+            return;
+        }
+
+        time(span, cachedKey(key), runnable);
+    }
+
+    /**
+     * Runs a task, adds its duration to an attribute of the current span and
+     * returns its result.
+     * <p>
+     * Behaves like {@link #time(String, Runnable)} for tasks with a result.
+     *
+     * @param <T>      The result type
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param callable The task to run
+     * @return The result of the task
+     * @throws Exception if the key is invalid, the task is null, no span is
+     *                   available, or the task throws
+     * @since 1.1.0
+     */
+    public static <T> T time(String key, Callable<T> callable) throws Exception
+    {
+        Span span = getCurrentSpan();
+
+        if (callable != null && !isRecording(span))
+        {
+            return callable.call();
+        }
+
+        return time(span, cachedKey(key), callable);
+    }
+
+    /**
+     * Runs a task and adds its duration to an attribute of the given span.
+     *
+     * @param span        The target span
+     * @param preparedKey The prepared attribute key
+     * @param runnable    The task to run
+     * @throws Exception if the task is null
+     */
+    static void time(Span span, PreparedKey preparedKey, Runnable runnable) throws Exception
+    {
+        if (runnable == null)
+        {
+            throw new Exception("Runnable cannot be null for key: " + preparedKey.getName());
+        }
+
+        if (!isRecording(span))
+        {
+            runnable.run();
+
+            return;
+        }
+
+        long started = System.nanoTime();
+
+        try
+        {
+            runnable.run();
+        }
+        finally
+        {
+            recordDuration(span, preparedKey, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Runs a task, adds its duration to an attribute of the given span and
+     * returns its result.
+     *
+     * @param <T>         The result type
+     * @param span        The target span
+     * @param preparedKey The prepared attribute key
+     * @param callable    The task to run
+     * @return The result of the task
+     * @throws Exception if the task is null or throws
+     */
+    static <T> T time(Span span, PreparedKey preparedKey, Callable<T> callable) throws Exception
+    {
+        if (callable == null)
+        {
+            throw new Exception("Callable cannot be null for key: " + preparedKey.getName());
+        }
+
+        if (!isRecording(span))
+        {
+            return callable.call();
+        }
+
+        long started = System.nanoTime();
+
+        try
+        {
+            return callable.call();
+        }
+        finally
+        {
+            recordDuration(span, preparedKey, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Adds a measured duration to a key's total on a recording span, applying
+     * the key's sampling rate and rate limit.
+     *
+     * @param span        The target span
+     * @param preparedKey The prepared attribute key
+     * @param nanos       The measured duration in nanoseconds
+     * @return The outcome of the write
+     */
+    static AttributeStatus recordDuration(Span span, PreparedKey preparedKey, long nanos)
+    {
+        AttributeStatus admission = admit(span, preparedKey);
+
+        if (admission != AttributeStatus.OK)
+        {
+            return admission;
+        }
+
+        AttributeKey<Long> key = preparedKey.longKey();
+
+        SpanState.Duration duration = SpanStates.get(span).duration(preparedKey.getName());
+
+        long written = duration.add(nanos);
+
+        if (duration.register())
+        {
+            // First measurement of the key on this span: account for it
+            // against the per-span limits like any other attribute.
+            AttributeStatus status = emit(span, key, written);
+
+            if (status != AttributeStatus.OK)
+            {
+                duration.rejected();
+
+                return status;
+            }
+
+            duration.registered(written);
+
+            duration.publish(span, key);
+
+            return status;
+        }
+
+        if (duration.isRejected())
+        {
+            return record(AttributeStatus.LIMIT_EXCEEDED, preparedKey.getName());
+        }
+
+        duration.publish(span, key);
+
+        return record(AttributeStatus.OK, null);
+    }
+
+    /**
+     * Installs per-span attribute limits.
+     * <p>
+     * Limits apply to every write made through this library from then on.
+     * When a limit is hit, values are truncated or dropped deterministically
+     * and an {@code apm.truncated} attribute is added to the span. The default
+     * is {@link AttributeLimits#unlimited()}, which adds no per-span
+     * accounting.
+     *
+     * @param limits The limits to enforce (cannot be null)
+     * @throws Exception if the limits are null
+     * @since 1.1.0
+     */
+    public static void setAttributeLimits(AttributeLimits limits) throws Exception
+    {
+        if (limits == null)
+        {
+            throw new Exception("Attribute limits cannot be null");
+        }
+
+        attributeLimits = limits;
+    }
+
+    /**
+     * Returns the per-span attribute limits currently in effect.
+     *
+     * @return The current limits
+     * @since 1.1.0
+     */
+    public static AttributeLimits getAttributeLimits()
+    {
+        return attributeLimits;
+    }
+
+    /**
+     * Sets the maximum number of events added to a single span through this
+     * library.
+     * <p>
+     * Each span counts its events with a lock-free counter; once the limit is
+     * reached, further events on that span are dropped, so a retry loop
+     * cannot grow a span without bound. Events rejected for an invalid name
+     * or attribute do not count. The default is 128, matching the
+     * OpenTelemetry SDK default; {@link #clearEventLimit()} removes the limit.
+     *
+     * @param maxEventsPerSpan The maximum number of events per span (must be
+     *                         positive)
+     * @throws Exception if the limit is not positive
+     * @since 1.1.0
+     */
+    public static void setEventLimit(int maxEventsPerSpan) throws Exception
+    {
+        if (maxEventsPerSpan <= 0)
+        {
+            throw new Exception("Event limit must be positive: " + maxEventsPerSpan);
+        }
+
+        eventLimit = maxEventsPerSpan;
+    }
+
+    /**
+     * Removes the per-span event limit.
+     * <p>
+     * Without a limit, events are not counted and adding one does not touch
+     * the span's state.
+     *
+     * @since 1.1.0
+     */
+    public static void clearEventLimit()
+    {
+        eventLimit = 0;
+    }
+
+    /**
+     * Returns the maximum number of events added to a single span through
+     * this library.
+     *
+     * @return The current event limit, or 0 if events are not limited
+     * @since 1.1.0
+     */
+    public static int getEventLimit()
+    {
+        return eventLimit;
+    }
+
+    /**
+     * Configures how exceptions are recorded by
+     * {@link #recordException(Throwable)} and by failed {@code trace} tasks.
+     * <p>
+     * Stack traces are cut to {@code maxFrames} frames, shared between the
+     * exception and its causes. Each exception is fingerprinted with a hash
+     * of the class and top {@code fingerprintFrames} frames of the exception
+     * and of each of its first causes. A bounded,
+     * process-wide table remembers recent fingerprints: within
+     * {@code dedupWindowMillis} of the first occurrence, a repeated exception
+     * is recorded with its type, message, fingerprint and occurrence count
+     * only, without a stack trace. The defaults are 32 frames, 8 fingerprint
+     * frames and a 60 second window. Changing the configuration clears the
+     * table.
+     *
+     * @param maxFrames         The maximum number of recorded stack frames
+     *                          (must be positive)
+     * @param fingerprintFrames The number of top frames per exception in the
+     *                          fingerprint (must be positive)
+     * @param dedupWindowMillis The deduplication window in milliseconds, or 0
+     *                          to record every stack trace
+     * @throws Exception if a frame count is not positive or the window is
+     *                   negative
+     * @since 1.1.0
+     */
+    public static void setExceptionLimits(int maxFrames, int fingerprintFrames, long dedupWindowMillis) throws Exception
+    {
+        if (maxFrames <= 0 || fingerprintFrames <= 0)
+        {
+            throw new Exception("Frame counts must be positive: maxFrames=" + maxFrames + ", fingerprintFrames=" + fingerprintFrames);
+        }
+
+        if (dedupWindowMillis < 0)
+        {
+            throw new Exception("Deduplication window cannot be negative: " + dedupWindowMillis);
+        }
+
+        exceptionRecorder = new ExceptionRecorder(maxFrames, fingerprintFrames, dedupWindowMillis);
+    }
+
+    /**
+     * Enables the per-key cardinality guard for string attribute values.
+     * <p>
+     * Distinct values of every key are estimated with a fixed-size
+     * HyperLogLog sketch over a sliding window of one to two
+     * {@code windowMillis}. Once a key's estimate exceeds {@code threshold},
+     * its values are replaced according to {@code overflow} until the estimate
+     * falls back below the threshold. Calling this method again replaces the
+     * guard and discards all sketches.
+     *
+     * @param threshold    The maximum estimated distinct values per key (must
+     *                     be positive)
+     * @param windowMillis The window length in milliseconds (must be positive)
+     * @param overflow     The replacement policy for overflowing keys (cannot
+     *                     be null)
+     * @throws Exception if any argument is invalid
+     * @since 1.1.0
+     */
+    public static void setCardinalityLimit(long threshold, long windowMillis, CardinalityOverflow overflow) throws Exception
+    {
+        if (threshold <= 0 || windowMillis <= 0)
+        {
+            throw new Exception("Cardinality threshold and window must be positive: threshold=" + threshold + ", windowMillis=" + windowMillis);
+        }
+
+        if (overflow == null)
+        {
+            throw new Exception("Cardinality overflow policy cannot be null");
+        }
+
+        cardinalityGuard = new CardinalityGuard(threshold, windowMillis, overflow);
+    }
+
+    /**
+     * Disables the per-key cardinality guard and discards all sketches.
+     *
+     * @since 1.1.0
+     */
+    public static void clearCardinalityLimit()
+    {
+        cardinalityGuard = null;
+    }
+
+    /**
+     * Returns the current distinct-value estimate of every key tracked by the
+     * cardinality guard.
+     *
+     * @return An immutable map of prepared keys to estimated distinct values;
+     *         empty if the guard is disabled
+     * @since 1.1.0
+     */
+    public static Map<String, Long> cardinalityEstimates()
+    {
+        CardinalityGuard guard = cardinalityGuard;
+
+        return guard == null ? Collections.<String, Long>emptyMap() : guard.estimates();
+    }
+
+    /**
+     * Sets the sampling rate of a single attribute key.
+     * <p>
+     * A rate of 0.25 keeps roughly one write in four to the key; the others
+     * are discarded after the key lookup but before any value validation or
+     * list filtering, and {@code trySet*} reports them as
+     * {@link AttributeStatus#SAMPLED_OUT}. Because the decision comes first,
+     * sampled-out writes with invalid values do not throw. Exact rules take
+     * precedence over prefix rules.
+     *
+     * @param key  The attribute key (will be prefixed with "apm." if needed)
+     * @param rate The fraction of writes to keep, between 0 and 1
+     * @throws Exception if the key is invalid or the rate is out of range
+     * @since 1.1.0
+     */
+    public static void setSamplingRate(String key, double rate) throws Exception
+    {
+        addSamplingRule(prepareKey(key), false, rate);
+    }
+
+    /**
+     * Sets the sampling rate of every attribute key under a prefix.
+     * <p>
+     * The prefix matches on dot boundaries: {@code "debug"} applies to
+     * {@code apm.debug} and {@code apm.debug.sql} but not to
+     * {@code apm.debugger}. When several prefixes match, the longest one
+     * wins.
+     *
+     * @param prefix The key prefix (will be prefixed with "apm." if needed)
+     * @param rate   The fraction of writes to keep, between 0 and 1
+     * @throws Exception if the prefix is invalid or the rate is out of range
+     * @since 1.1.0
+     * @see #setSamplingRate(String, double)
+     */
+    public static void setPrefixSamplingRate(String prefix, double rate) throws Exception
+    {
+        String prepared = prepareKey(prefix);
+
+        int end = prepared.length();
+
+        while (end > 0 && prepared.charAt(end - 1) == '.')
+        {
+            end--;
+        }
+
+        addSamplingRule(prepared.substring(0, end), true, rate);
+    }
+
+    /**
+     * Removes every sampling rate, so all writes are kept again.
+     *
+     * @since 1.1.0
+     */
+    public static synchronized void clearSamplingRates()
+    {
+        keySampler = null;
+    }
+
+    /**
+     * Returns the number of writes discarded by each sampling rule.
+     * <p>
+     * Divide the kept values by the rule's rate, or use these counts, to
+     * re-weight sampled attributes on the backend. Exact rules are reported by
+     * prepared key, prefix rules as the prefix followed by {@code .*}.
+     *
+     * @return An immutable map from rule to sampled-out count
+     * @since 1.1.0
+     */
+    public static Map<String, Long> sampledOutCounts()
+    {
+        KeySampler sampler = keySampler;
+
+        return sampler == null ? Collections.<String, Long>emptyMap() : sampler.sampledOutCounts();
+    }
+
+    /**
+     * Adds or replaces a sampling rule.
+     *
+     * @param pattern The prepared key or prefix
+     * @param prefix  Whether the pattern is a prefix
+     * @param rate    The sampling rate
+     * @throws Exception if the rate is out of range
+     */
+    private static synchronized void addSamplingRule(String pattern, boolean prefix, double rate) throws Exception
+    {
+        if (!(rate >= 0 && rate <= 1))
+        {
+            throw new Exception("Sampling rate must be between 0 and 1 for key: " + pattern + ", rate=" + rate);
+        }
+
+        KeySampler sampler = keySampler;
+
+        keySampler = sampler == null ? KeySampler.of(pattern, prefix, rate) : sampler.with(pattern, prefix, rate);
+    }
+
+    /**
+     * Limits how often each attribute key may be written.
+     * <p>
+     * Every key gets its own lock-free token bucket allowing
+     * {@code writesPerSecond} writes per second across the whole process,
+     * with bursts of up to one second's quota, and its own counter allowing
+     * {@code writesPerSpan} writes per span. Writes over either limit are shed
+     * after the key lookup but before any value validation, and
+     * {@code trySet*} reports them as {@link AttributeStatus#RATE_LIMITED}.
+     * Shed writes are counted in {@link #stats()} and per key by
+     * {@link #rateLimitedCounts()}.
+     * <p>
+     * Limits apply to the prepared key, so the key has to be looked up first.
+     * For a key already in the prepared-key cache, and for key handles, that
+     * lookup does no validation, so shed writes skip key preparation. The
+     * first write of a key, or a write after its cache entry was evicted, is
+     * validated before the limit is checked.
+     *
+     * @param writesPerSecond The writes per key per second, or 0 for no rate
+     *                        limit
+     * @param writesPerSpan   The writes per key per span, or 0 for no span
+     *                        cap
+     * @throws Exception if a limit is negative or both are 0
+     * @since 1.1.0
+     */
+    public static void setRateLimit(long writesPerSecond, int writesPerSpan) throws Exception
+    {
+        if (writesPerSecond < 0 || writesPerSpan < 0 || (writesPerSecond == 0 && writesPerSpan == 0))
+        {
+            throw new Exception("Rate limits must be non-negative and at least one must be positive: writesPerSecond=" + writesPerSecond + ", writesPerSpan=" + writesPerSpan);
+        }
+
+        rateLimiter = new KeyRateLimiter(writesPerSecond, writesPerSpan);
+    }
+
+    /**
+     * Removes the rate limit, so writes are no longer shed.
+     *
+     * @since 1.1.0
+     */
+    public static void clearRateLimit()
+    {
+        rateLimiter = null;
+    }
+
+    /**
+     * Returns the number of writes shed by the rate limit for every key it
+     * has seen since it was configured.
+     *
+     * @return An immutable map from prepared key to shed count
+     * @since 1.1.0
+     */
+    public static Map<String, Long> rateLimitedCounts()
+    {
+        KeyRateLimiter limiter = rateLimiter;
+
+        return limiter == null ? Collections.<String, Long>emptyMap() : limiter.shedCounts();
+    }
+
+    /**
+     * Returns a snapshot of the prepared-key cache counters used by the
+     * raw-string setters.
+     * <p>
+     * The cache capacity can be tuned with the
+     * {@code motadata.apm.key.cache.size} system property (default 2048).
+     *
+     * @return The cache statistics
+     * @since 1.1.0
+     */
+    public static KeyCacheStats keyCacheStats()
+    {
+        return KEY_CACHE.stats();
+    }
+
+    /**
+     * Returns the number of attribute writes skipped because the target span
+     * was not recording.
+     * <p>
+     * Such writes return immediately without validating the key or the
+     * value.
+     *
+     * @return The number of skipped writes since startup
+     * @since 1.1.0
+     */
+    public static long skippedWriteCount()
+    {
+        return OUTCOMES.sum(AttributeStatus.NOT_RECORDING);
+    }
+
+    /**
+     * Returns a snapshot of the library's self-telemetry.
+     * <p>
+     * Every write is counted under the {@link AttributeStatus} describing its
+     * outcome, including writes through throwing setters, sessions, key
+     * handles and {@link #setAll(Map)}. The snapshot also breaks rejections
+     * down for the most frequently rejected keys and includes the skipped
+     * write count and the prepared-key cache statistics.
+     * <p>
+     * Counters are striped {@link java.util.concurrent.atomic.LongAdder}
+     * instances, so counting adds no contention between request threads.
+     * Taking a snapshot is not atomic across counters.
+     *
+     * @return The statistics snapshot
+     * @since 1.1.0
+     */
+    public static InstrumentationStats stats()
+    {
+        return OUTCOMES.snapshot(KEY_CACHE.stats());
+    }
+
+    /**
+     * Sets a boolean attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The boolean value to set (cannot be null)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The value is null</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void set(String key, Boolean value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, Boolean)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, Boolean value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Attribute value cannot be null for key: ");
+        }
+    }
+
+    /**
+     * Sets a double attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * The value must be a valid finite number (not NaN or Infinite).
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The double value to set (cannot be null, NaN, or Infinite)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The value is null, NaN, or Infinite</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void set(String key, Double value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, Double)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, Double value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Invalid Double value for key: ");
+        }
+    }
+
+    /**
+     * Sets an integer attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * The integer value is internally converted to a long for OpenTelemetry
+     * compatibility.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The integer value to set (cannot be null)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The value is null</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void set(String key, Integer value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, Integer)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, Integer value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Attribute value cannot be null for key: ");
+        }
+    }
+
+    /**
+     * Sets a long attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The long value to set (cannot be null)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The value is null</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void set(String key, Long value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, Long)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, Long value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Attribute value cannot be null for key: ");
+        }
+    }
+
+    /**
+     * Sets a string attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The string value to set (cannot be null)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The value is null</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void set(String key, String value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, String)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, String value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Attribute value cannot be null for key: ");
+        }
+    }
+
+    /**
+     * Sets a boolean attribute on the current span from a primitive value.
+     * <p>
+     * Unlike the boxed overload, this variant takes the value without
+     * autoboxing at the call site.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The boolean value to set
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void set(String key, boolean value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, boolean)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, boolean value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, null);
+        }
+    }
+
+    /**
+     * Sets a double attribute on the current span from a primitive value.
+     * <p>
+     * Unlike the boxed overload, this variant takes the value without
+     * autoboxing at the call site.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The double value to set (cannot be NaN or Infinite)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The value is NaN or Infinite</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void set(String key, double value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, double)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, double value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Invalid Double value for key: ");
+        }
+    }
+
+    /**
+     * Sets an integer attribute on the current span from a primitive value.
+     * <p>
+     * Unlike the boxed overload, this variant takes the value without
+     * autoboxing at the call site. The value is widened to a long for OpenTelemetry
+     * compatibility.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The int value to set
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void set(String key, int value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, int)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, int value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, null);
+        }
+    }
+
+    /**
+     * Sets a long attribute on the current span from a primitive value.
+     * <p>
+     * Unlike the boxed overload, this variant takes the value without
+     * autoboxing at the call site.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The long value to set
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void set(String key, long value) throws Exception
+    {
+        set(getCurrentSpan(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, long)}.
+     *
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The value to set
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, long value) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, value);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, null);
+        }
+    }
+
+    /**
+     * Sets a boolean array attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * Null elements in the list are automatically filtered out.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of boolean values (cannot be null or empty, must
+     *               contain at least one non-null value)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The list is null, empty, or contains only null values</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void setBooleanList(String key, List<Boolean> values) throws Exception
+    {
+        setBooleanList(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setBooleanList(String, List)}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setBooleanList(Span span, String key, List<Boolean> values) throws Exception
+    {
+        AttributeStatus status = trySetBooleanList(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "List cannot be null for key: " : values.isEmpty() ? "List cannot be empty for key: " : "List contains only null values for key: ");
+        }
+    }
+
+    /**
+     * Sets a double array attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * Null, NaN, and Infinite values in the list are automatically filtered out.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of double values (cannot be null or empty, must
+     *               contain at least one valid value)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The list is null, empty, or contains only invalid values</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void setDoubleList(String key, List<Double> values) throws Exception
+    {
+        setDoubleList(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setDoubleList(String, List)}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setDoubleList(Span span, String key, List<Double> values) throws Exception
+    {
+        AttributeStatus status = trySetDoubleList(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "List cannot be null for key: " : values.isEmpty() ? "List cannot be empty for key: " : "List contains only invalid values for key: ");
+        }
+    }
+
+    /**
+     * Sets an integer array attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * Null elements in the list are automatically filtered out.
+     * Integer values are internally converted to long for OpenTelemetry
+     * compatibility.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of integer values (cannot be null or empty, must
+     *               contain at least one non-null value)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The list is null, empty, or contains only null values</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void setIntegerList(String key, List<Integer> values) throws Exception
+    {
+        setIntegerList(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setIntegerList(String, List)}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setIntegerList(Span span, String key, List<Integer> values) throws Exception
+    {
+        AttributeStatus status = trySetIntegerList(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "List cannot be null for key: " : values.isEmpty() ? "List cannot be empty for key: " : "List contains only null values for key: ");
+        }
+    }
+
+    /**
+     * Sets a long array attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * Null elements in the list are automatically filtered out.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of long values (cannot be null or empty, must contain
+     *               at least one non-null value)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The list is null, empty, or contains only null values</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void setLongList(String key, List<Long> values) throws Exception
+    {
+        setLongList(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setLongList(String, List)}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setLongList(Span span, String key, List<Long> values) throws Exception
+    {
+        AttributeStatus status = trySetLongList(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "List cannot be null for key: " : values.isEmpty() ? "List cannot be empty for key: " : "List contains only null values for key: ");
+        }
+    }
+
+    /**
+     * Sets a string array attribute on the current span.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * Null elements in the list are automatically filtered out.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of string values (cannot be null or empty, must
+     *               contain at least one non-null value)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The list is null, empty, or contains only null values</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     */
+    public static void setStringList(String key, List<String> values) throws Exception
+    {
+        setStringList(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setStringList(String, List)}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setStringList(Span span, String key, List<String> values) throws Exception
+    {
+        AttributeStatus status = trySetStringList(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "List cannot be null for key: " : values.isEmpty() ? "List cannot be empty for key: " : "List contains only null values for key: ");
+        }
+    }
+
+    /**
+     * Sets a boolean array attribute on the current span from a primitive array.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * The array is copied once into a compact, primitive-backed list, so
+     * later changes to the caller's array do not affect the span and no
+     * element is boxed up front.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The boolean values (cannot be null or empty)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The array is null or empty</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void setBooleanArray(String key, boolean[] values) throws Exception
+    {
+        setBooleanArray(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setBooleanArray(String, boolean[])}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setBooleanArray(Span span, String key, boolean[] values) throws Exception
+    {
+        AttributeStatus status = trySetBooleanArray(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "Array cannot be null for key: " : "Array cannot be empty for key: ");
+        }
+    }
+
+    /**
+     * Sets a double array attribute on the current span from a primitive array.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * NaN and Infinite values in the array are automatically filtered out.
+     * The array is copied once into a compact, primitive-backed list, so
+     * later changes to the caller's array do not affect the span and no
+     * element is boxed up front.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The double values (cannot be null or empty, must
+     *               contain at least one finite value)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The array is null, empty, or contains only invalid values</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void setDoubleArray(String key, double[] values) throws Exception
+    {
+        setDoubleArray(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setDoubleArray(String, double[])}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setDoubleArray(Span span, String key, double[] values) throws Exception
+    {
+        AttributeStatus status = trySetDoubleArray(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "Array cannot be null for key: " : values.length == 0 ? "Array cannot be empty for key: " : "Array contains only invalid values for key: ");
+        }
+    }
+
+    /**
+     * Sets an integer array attribute on the current span from a primitive array.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * Values are widened to long for OpenTelemetry compatibility.
+     * The array is copied once into a compact, primitive-backed list, so
+     * later changes to the caller's array do not affect the span and no
+     * element is boxed up front.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The integer values (cannot be null or empty)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The array is null or empty</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void setIntegerArray(String key, int[] values) throws Exception
+    {
+        setIntegerArray(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setIntegerArray(String, int[])}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setIntegerArray(Span span, String key, int[] values) throws Exception
+    {
+        AttributeStatus status = trySetIntegerArray(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "Array cannot be null for key: " : "Array cannot be empty for key: ");
+        }
+    }
+
+    /**
+     * Sets a long array attribute on the current span from a primitive array.
+     * <p>
+     * The attribute key will be automatically prefixed with "apm." if not already
+     * present.
+     * The array is copied once into a compact, primitive-backed list, so
+     * later changes to the caller's array do not affect the span and no
+     * element is boxed up front.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The long values (cannot be null or empty)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The array is null or empty</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void setLongArray(String key, long[] values) throws Exception
+    {
+        setLongArray(getCurrentSpan(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #setLongArray(String, long[])}.
+     *
+     * @param span   The target span
+     * @param key    The attribute key
+     * @param values The values to set
+     * @throws Exception if the input is invalid
+     */
+    static void setLongArray(Span span, String key, long[] values) throws Exception
+    {
+        AttributeStatus status = trySetLongArray(span, key, values);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, values == null ? "Array cannot be null for key: " : "Array cannot be empty for key: ");
+        }
+    }
+
+    /**
+     * Checks whether writes to the given span are kept by the SDK.
+     * <p>
+     * Non-recording spans, including the invalid no-op span returned when no
+     * span is active and spans dropped by sampling, discard every attribute.
+     * Setters call this before any key preparation or value filtering so that
+     * such writes cost a single virtual call. Skipped writes are counted.
+     *
+     * @param span The target span (must not be null)
+     * @return true if the span is recording
+     */
+    static boolean isRecording(Span span)
+    {
+        return isRecording(span, 1);
+    }
+
+    /**
+     * Checks whether writes to the given span are kept by the SDK, counting
+     * the given number of writes as skipped if it is not.
+     *
+     * @param span   The target span (must not be null)
+     * @param writes The number of writes the caller is about to make
+     * @return true if the span is recording
+     */
+    static boolean isRecording(Span span, int writes)
+    {
+        if (span.isRecording())
+        {
+            return true;
+        }
+
+        OUTCOMES.add(AttributeStatus.NOT_RECORDING, writes);
+
+        return false;
+    }
+
+    /**
+     * Writes a validated attribute to a recording span, enforcing the
+     * configured per-span {@link AttributeLimits}.
+     * <p>
+     * With the default unlimited configuration this is a plain
+     * {@code setAttribute} call. Otherwise the value is truncated or dropped
+     * against the span's budget, and the {@code apm.truncated} marker is added
+     * the first time a limit is hit on the span. String values first pass
+     * through the cardinality guard, if one is configured.
+     *
+     * @param <T>   The attribute value type
+     * @param span  The target span
+     * @param key   The attribute key
+     * @param value The validated attribute value
+     * @return {@link AttributeStatus#OK} if the attribute was written, or
+     *         {@link AttributeStatus#LIMIT_EXCEEDED} if it was dropped
+     */
+    static <T> AttributeStatus emit(Span span, AttributeKey<T> key, T value)
+    {
+        value = guardCardinality(key, value);
+
+        AttributeLimits limits = attributeLimits;
+
+        if (limits.isUnlimited())
+        {
+            span.setAttribute(key, value);
+
+            OUTCOMES.record(AttributeStatus.OK, null);
+
+            return AttributeStatus.OK;
+        }
+
+        SpanState state = SpanStates.get(span);
+
+        T bounded = state.admit(limits, key, value);
+
+        if (bounded != null)
+        {
+            span.setAttribute(key, bounded);
+        }
+
+        if (state.takeMarker())
+        {
+            span.setAttribute(TRUNCATED_KEY, true);
+        }
+
+        return record(bounded != null ? AttributeStatus.OK : AttributeStatus.LIMIT_EXCEEDED, key.getKey());
+    }
+
+    /**
+     * Applies the configured sampling rate of a key, counting the write as
+     * sampled out if it is not kept.
+     * <p>
+     * Costs a single volatile read when no sampling rate is configured.
+     *
+     * @param preparedKey The prepared key
+     * @return true if the write should proceed
+     */
+    static boolean sampled(PreparedKey preparedKey)
+    {
+        KeySampler sampler = keySampler;
+
+        if (sampler == null || sampler.sample(preparedKey))
+        {
+            return true;
+        }
+
+        OUTCOMES.add(AttributeStatus.SAMPLED_OUT, 1);
+
+        return false;
+    }
+
+    /**
+     * Decides whether a write to a validated key may proceed, applying the
+     * key's sampling rate and then the rate limit.
+     * <p>
+     * Called after the key lookup and before any value validation or list
+     * filtering. Refused writes are counted here.
+     *
+     * @param span        The target span
+     * @param preparedKey The prepared key
+     * @return {@link AttributeStatus#OK} if the write may proceed, otherwise
+     *         {@link AttributeStatus#SAMPLED_OUT} or
+     *         {@link AttributeStatus#RATE_LIMITED}
+     */
+    static AttributeStatus admit(Span span, PreparedKey preparedKey)
+    {
+        if (!sampled(preparedKey))
+        {
+            return AttributeStatus.SAMPLED_OUT;
+        }
+
+        KeyRateLimiter limiter = rateLimiter;
+
+        if (limiter != null && !limiter.tryAcquire(span, preparedKey.getName()))
+        {
+            return record(AttributeStatus.RATE_LIMITED, preparedKey.getName());
+        }
+
+        return AttributeStatus.OK;
+    }
+
+    /**
+     * Runs the checks every {@code trySet*} core makes before it looks at the
+     * value: the span is present and recording, the key is valid, and the
+     * key's sampling rate and rate limit admit the write. Refusals are
+     * counted here.
+     *
+     * @param span The target span, or null if none is available
+     * @param key  The original attribute key
+     * @return The prepared key, or a stand-in whose
+     *         {@link PreparedKey#getRefusal()} is the status to return
+     */
+    private static PreparedKey admitKey(Span span, String key)
+    {
+        if (span == null)
+        {
+            return PreparedKey.refused(record(AttributeStatus.NO_SPAN, key));
+        }
+
+        if (!isRecording(span))
+        {
+            return PreparedKey.refused(AttributeStatus.NOT_RECORDING);
+        }
+
+        PreparedKey preparedKey = lookupKey(key);
+
+        if (preparedKey == null)
+        {
+            return PreparedKey.refused(record(AttributeStatus.INVALID_KEY, key));
+        }
+
+        AttributeStatus admission = admit(span, preparedKey);
+
+        return admission == AttributeStatus.OK ? preparedKey : PreparedKey.refused(admission);
+    }
+
+    /**
+     * Counts a write outcome in the self-telemetry counters.
+     *
+     * @param status The outcome of the write
+     * @param key    The key the write targeted, or null if unknown
+     * @return The given status, for use in return statements
+     */
+    static AttributeStatus record(AttributeStatus status, String key)
+    {
+        OUTCOMES.record(status, key);
+
+        return status;
+    }
+
+    /**
+     * Counts a rejected write in the self-telemetry counters and builds the
+     * exception reporting it.
+     *
+     * @param status  The reason the write was rejected
+     * @param key     The key the write targeted
+     * @param message The message prefix; the key is appended to it
+     * @return The exception to throw
+     */
+    static Exception rejection(AttributeStatus status, String key, String message)
+    {
+        OUTCOMES.record(status, key);
+
+        return new Exception(message + key);
+    }
+
+    /**
+     * Checks whether the outcome of a {@code trySet*} core is a rejection
+     * that the matching throwing setter reports as an exception.
+     * <p>
+     * Writes dropped by design, because the span is not recording, the key
+     * is sampled out or rate limited, or the span limits are reached, are
+     * not rejections: throwing setters return normally for them.
+     *
+     * @param status The outcome of the write
+     * @return true if the key or the value was invalid
+     */
+    static boolean rejects(AttributeStatus status)
+    {
+        switch (status)
+        {
+            case INVALID_KEY:
+            case NULL_VALUE:
+            case NON_FINITE:
+            case UNSUPPORTED_TYPE:
+            case EMPTY_LIST:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Builds the exception a throwing setter reports for a write its
+     * {@code trySet*} core rejected.
+     * <p>
+     * The core has already counted the outcome, so nothing is counted here.
+     *
+     * @param status  The rejection returned by the core
+     * @param key     The original attribute key
+     * @param message The message prefix for a rejected value; the prepared
+     *                key is appended to it. May be null if the setter cannot
+     *                reject a value
+     * @return The exception to throw
+     */
+    static Exception rejected(AttributeStatus status, String key, String message)
+    {
+        if (status == AttributeStatus.INVALID_KEY)
+        {
+            return invalidKeyMessage(key);
+        }
+
+        return new Exception(message + lookupKey(key).getName());
+    }
+
+    /**
+     * Records a string value in the cardinality guard, if one is configured,
+     * and returns the value to write.
+     *
+     * @param <T>   The attribute value type
+     * @param key   The attribute key
+     * @param value The validated attribute value
+     * @return The value itself, or its replacement if the key has crossed the
+     *         cardinality threshold
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T guardCardinality(AttributeKey<T> key, T value)
+    {
+        CardinalityGuard guard = cardinalityGuard;
+
+        if (guard == null || key.getType() != AttributeType.STRING)
+        {
+            return value;
+        }
+
+        return (T) guard.apply(key.getKey(), (String) value);
+    }
+
+    /**
+     * Returns the current span, or null if none is available, without
+     * creating any exception objects.
+     *
+     * @return The current span, or null
+     */
+    private static Span currentSpanOrNull()
+    {
+        try
+        {
+            return Span.current();
+        }
+        catch (RuntimeException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Sets a boolean attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #set(String, Boolean)} but reports failures through the
+     * returned status instead of an exception; no exception or message is
+     * built on the failure path.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The boolean value to set
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, Boolean value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, Boolean)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, Boolean value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (value == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.booleanKey(), value);
+    }
+
+    /**
+     * Sets a double attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #set(String, Double)} but reports failures through the
+     * returned status instead of an exception; no exception or message is
+     * built on the failure path.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The double value to set (must be finite)
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, Double value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, Double)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, Double value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (value == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            return record(AttributeStatus.NON_FINITE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.doubleKey(), value);
+    }
+
+    /**
+     * Sets an integer attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #set(String, Integer)} but reports failures through the
+     * returned status instead of an exception; no exception or message is
+     * built on the failure path.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The integer value to set
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, Integer value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, Integer)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, Integer value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (value == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.longKey(), value.longValue());
+    }
+
+    /**
+     * Sets a long attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #set(String, Long)} but reports failures through the
+     * returned status instead of an exception; no exception or message is
+     * built on the failure path.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The long value to set
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, Long value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, Long)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, Long value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (value == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.longKey(), value);
+    }
+
+    /**
+     * Sets a string attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #set(String, String)} but reports failures through the
+     * returned status instead of an exception; no exception or message is
+     * built on the failure path.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The string value to set
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, String value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, String)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, String value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (value == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.stringKey(), value);
+    }
+
+    /**
+     * Sets a boolean attribute on the current span from a primitive value without
+     * throwing.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The boolean value to set
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, boolean value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, boolean)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, boolean value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        return emit(span, preparedKey.booleanKey(), value);
+    }
+
+    /**
+     * Sets a double attribute on the current span from a primitive value without
+     * throwing.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The double value to set (must not be NaN or Infinite)
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, double value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, double)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, double value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            return record(AttributeStatus.NON_FINITE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.doubleKey(), value);
+    }
+
+    /**
+     * Sets an integer attribute on the current span from a primitive value without
+     * throwing.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The int value to set
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, int value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, int)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, int value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        return emit(span, preparedKey.longKey(), (long) value);
+    }
+
+    /**
+     * Sets a long attribute on the current span from a primitive value without
+     * throwing.
+     *
+     * @param key   The attribute key (will be prefixed with "apm." if needed)
+     * @param value The long value to set
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, long value)
+    {
+        return trySet(currentSpanOrNull(), key, value);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, long)}.
+     *
+     * @param span  The target span, or null if none is available
+     * @param key   The attribute key
+     * @param value The value to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, long value)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        return emit(span, preparedKey.longKey(), value);
+    }
+
+    /**
+     * Sets a boolean array attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #setBooleanList(String, List)} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of boolean values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained
+     *         after filtering, otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetBooleanList(String key, List<Boolean> values)
+    {
+        return trySetBooleanList(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetBooleanList(String, List)}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetBooleanList(Span span, String key, List<Boolean> values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        List<Boolean> filtered = filterNullValues(values);
+
+        if (filtered.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.booleanArrayKey(), filtered);
+    }
+
+    /**
+     * Sets a double array attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #setDoubleList(String, List)} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of double values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained
+     *         after filtering, otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetDoubleList(String key, List<Double> values)
+    {
+        return trySetDoubleList(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetDoubleList(String, List)}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetDoubleList(Span span, String key, List<Double> values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        List<Double> filtered = filterDoubles(values);
+
+        if (filtered.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.doubleArrayKey(), filtered);
+    }
+
+    /**
+     * Sets an integer array attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #setIntegerList(String, List)} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of integer values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained
+     *         after filtering, otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetIntegerList(String key, List<Integer> values)
+    {
+        return trySetIntegerList(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetIntegerList(String, List)}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetIntegerList(Span span, String key, List<Integer> values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        List<Long> filtered = convertIntegers(values);
+
+        if (filtered.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.longArrayKey(), filtered);
+    }
+
+    /**
+     * Sets a long array attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #setLongList(String, List)} but reports failures
+     * through the returned status instead of an exception.
      *
      * @param key    The attribute key (will be prefixed with "apm." if needed)
-     * @param values The list of boolean values (cannot be null or empty, must
-     *               contain at least one non-null value)
+     * @param values The list of long values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained
+     *         after filtering, otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetLongList(String key, List<Long> values)
+    {
+        return trySetLongList(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetLongList(String, List)}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetLongList(Span span, String key, List<Long> values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        List<Long> filtered = filterNullValues(values);
+
+        if (filtered.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.longArrayKey(), filtered);
+    }
+
+    /**
+     * Sets a string array attribute on the current span without throwing.
+     * <p>
+     * Behaves like {@link #setStringList(String, List)} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The list of string values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained
+     *         after filtering, otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetStringList(String key, List<String> values)
+    {
+        return trySetStringList(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetStringList(String, List)}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetStringList(Span span, String key, List<String> values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        return tryWriteStringList(span, preparedKey, values);
+    }
+
+    /**
+     * Validates, filters and writes a string list to an admitted key.
+     *
+     * @param span        The target span
+     * @param preparedKey The admitted key
+     * @param values      The values to set
+     * @return The outcome of the write
+     */
+    private static AttributeStatus tryWriteStringList(Span span, PreparedKey preparedKey, List<String> values)
+    {
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        List<String> filtered = filterNullValues(values);
+
+        if (filtered.isEmpty())
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.stringArrayKey(), filtered);
+    }
+
+    /**
+     * Sets a boolean array attribute on the current span from a primitive array
+     * without throwing.
+     * <p>
+     * Behaves like {@link #setBooleanArray(String, boolean[])} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The boolean values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained,
+     *         otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetBooleanArray(String key, boolean[] values)
+    {
+        return trySetBooleanArray(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetBooleanArray(String, boolean[])}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetBooleanArray(Span span, String key, boolean[] values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.length == 0)
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.booleanArrayKey(), PrimitiveLists.ofBooleans(values.clone()));
+    }
+
+    /**
+     * Sets a double array attribute on the current span from a primitive array
+     * without throwing.
+     * <p>
+     * Behaves like {@link #setDoubleArray(String, double[])} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The double values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained,
+     *         otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetDoubleArray(String key, double[] values)
+    {
+        return trySetDoubleArray(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetDoubleArray(String, double[])}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetDoubleArray(Span span, String key, double[] values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.length == 0)
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        double[] filtered = finiteDoubles(values);
+
+        if (filtered.length == 0)
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.doubleArrayKey(), PrimitiveLists.ofDoubles(filtered));
+    }
+
+    /**
+     * Sets an integer array attribute on the current span from a primitive array
+     * without throwing.
+     * <p>
+     * Behaves like {@link #setIntegerArray(String, int[])} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The integer values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained,
+     *         otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetIntegerArray(String key, int[] values)
+    {
+        return trySetIntegerArray(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetIntegerArray(String, int[])}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetIntegerArray(Span span, String key, int[] values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.length == 0)
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.longArrayKey(), PrimitiveLists.ofLongs(widenIntegers(values)));
+    }
+
+    /**
+     * Sets a long array attribute on the current span from a primitive array
+     * without throwing.
+     * <p>
+     * Behaves like {@link #setLongArray(String, long[])} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param values The long values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained,
+     *         otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetLongArray(String key, long[] values)
+    {
+        return trySetLongArray(currentSpanOrNull(), key, values);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetLongArray(String, long[])}.
+     *
+     * @param span   The target span, or null if none is available
+     * @param key    The attribute key
+     * @param values The values to set
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetLongArray(Span span, String key, long[] values)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (values == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        if (values.length == 0)
+        {
+            return record(AttributeStatus.EMPTY_LIST, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.longArrayKey(), PrimitiveLists.ofLongs(values.clone()));
+    }
+
+    /**
+     * Sets a string attribute on the current span from a lazily evaluated
+     * supplier.
+     * <p>
+     * The supplier is only called when the current span is recording and the
+     * key is valid and admitted by sampling and rate limiting, so writes that
+     * would be discarded pay nothing for building the value. Exceptions
+     * thrown by the supplier propagate to the caller.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the string value (cannot be null or
+     *                 return null)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The supplier is null, or returns null</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void set(String key, Supplier<String> supplier) throws Exception
+    {
+        set(getCurrentSpan(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #set(String, Supplier)}.
+     *
+     * @param span     The target span
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @throws Exception if the input is invalid
+     */
+    static void set(Span span, String key, Supplier<String> supplier) throws Exception
+    {
+        AttributeStatus status = trySet(span, key, supplier);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Attribute value cannot be null for key: ");
+        }
+    }
+
+    /**
+     * Sets a boolean attribute on the current span from a lazily evaluated
+     * supplier.
+     * <p>
+     * The supplier is only called when the current span is recording and the
+     * key is valid and admitted by sampling and rate limiting, so writes that
+     * would be discarded pay nothing for building the value. Exceptions
+     * thrown by the supplier propagate to the caller.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the boolean value (cannot be null)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The supplier is null</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void setBoolean(String key, BooleanSupplier supplier) throws Exception
+    {
+        setBoolean(getCurrentSpan(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #setBoolean(String, BooleanSupplier)}.
+     *
+     * @param span     The target span
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @throws Exception if the input is invalid
+     */
+    static void setBoolean(Span span, String key, BooleanSupplier supplier) throws Exception
+    {
+        AttributeStatus status = trySetBoolean(span, key, supplier);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Attribute value cannot be null for key: ");
+        }
+    }
+
+    /**
+     * Sets a double attribute on the current span from a lazily evaluated
+     * supplier.
+     * <p>
+     * The supplier is only called when the current span is recording and the
+     * key is valid and admitted by sampling and rate limiting, so writes that
+     * would be discarded pay nothing for building the value. Exceptions
+     * thrown by the supplier propagate to the caller.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the double value (cannot be null,
+     *                 must return a finite value)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The supplier is null, or returns NaN or Infinite</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void setDouble(String key, DoubleSupplier supplier) throws Exception
+    {
+        setDouble(getCurrentSpan(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #setDouble(String, DoubleSupplier)}.
+     *
+     * @param span     The target span
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @throws Exception if the input is invalid
+     */
+    static void setDouble(Span span, String key, DoubleSupplier supplier) throws Exception
+    {
+        AttributeStatus status = trySetDouble(span, key, supplier);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, status == AttributeStatus.NULL_VALUE ? "Attribute value cannot be null for key: " : "Invalid Double value for key: ");
+        }
+    }
+
+    /**
+     * Sets a long attribute on the current span from a lazily evaluated
+     * supplier.
+     * <p>
+     * The supplier is only called when the current span is recording and the
+     * key is valid and admitted by sampling and rate limiting, so writes that
+     * would be discarded pay nothing for building the value. Exceptions
+     * thrown by the supplier propagate to the caller.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the long value (cannot be null)
      * @throws Exception if:
      * <ul>
      *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The list is null, empty, or contains only null values</li>
+     *   <li>The supplier is null</li>
+     *   <li>An error occurs while setting the attribute</li>
+     * </ul>
+     * @since 1.1.0
+     */
+    public static void setLong(String key, LongSupplier supplier) throws Exception
+    {
+        setLong(getCurrentSpan(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #setLong(String, LongSupplier)}.
+     *
+     * @param span     The target span
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @throws Exception if the input is invalid
+     */
+    static void setLong(Span span, String key, LongSupplier supplier) throws Exception
+    {
+        AttributeStatus status = trySetLong(span, key, supplier);
+
+        if (rejects(status))
+        {
+            throw rejected(status, key, "Attribute value cannot be null for key: ");
+        }
+    }
+
+    /**
+     * Sets a string array attribute on the current span from a lazily evaluated
+     * supplier.
+     * <p>
+     * The supplier is only called when the current span is recording and the
+     * key is valid and admitted by sampling and rate limiting, so writes that
+     * would be discarded pay nothing for building the value. Exceptions
+     * thrown by the supplier propagate to the caller.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the string values (cannot be null
+     *                 or return a null, empty or all-null list)
+     * @throws Exception if:
+     * <ul>
+     *   <li>The key is null, empty, or contains invalid characters</li>
+     *   <li>The supplier is null, or returns a null, empty or all-null list</li>
      *   <li>An error occurs while setting the attribute</li>
      * </ul>
+     * @since 1.1.0
+     */
+    public static void setStringList(String key, Supplier<List<String>> supplier) throws Exception
+    {
+        setStringList(getCurrentSpan(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #setStringList(String, Supplier)}.
+     *
+     * @param span     The target span
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @throws Exception if the input is invalid
+     */
+    static void setStringList(Span span, String key, Supplier<List<String>> supplier) throws Exception
+    {
+        // The message for a rejected list depends on the list itself, which
+        // only the core sees, so it is captured rather than supplied twice.
+        List<?>[] supplied = new List<?>[1];
+
+        AttributeStatus status = trySetStringList(span, key, supplier == null ? null : () ->
+        {
+            List<String> values = supplier.get();
+
+            supplied[0] = values;
+
+            return values;
+        });
+
+        if (rejects(status))
+        {
+            List<?> values = supplied[0];
+
+            throw rejected(status, key, supplier == null ? "Attribute value cannot be null for key: "
+                    : values == null ? "List cannot be null for key: "
+                    : values.isEmpty() ? "List cannot be empty for key: " : "List contains only null values for key: ");
+        }
+    }
+
+    /**
+     * Sets a string attribute on the current span from a lazily evaluated
+     * supplier without throwing.
+     * <p>
+     * Behaves like {@link #set(String, Supplier)} but reports
+     * failures through the returned status instead of an exception.
+     * Exceptions thrown by the supplier still propagate.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the string value
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySet(String key, Supplier<String> supplier)
+    {
+        return trySet(currentSpanOrNull(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #trySet(String, Supplier)}.
+     *
+     * @param span     The target span, or null if none is available
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySet(Span span, String key, Supplier<String> supplier)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (supplier == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        String value = supplier.get();
+
+        if (value == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.stringKey(), value);
+    }
+
+    /**
+     * Sets a boolean attribute on the current span from a lazily evaluated
+     * supplier without throwing.
+     * <p>
+     * Behaves like {@link #setBoolean(String, BooleanSupplier)} but reports
+     * failures through the returned status instead of an exception.
+     * Exceptions thrown by the supplier still propagate.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the boolean value
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetBoolean(String key, BooleanSupplier supplier)
+    {
+        return trySetBoolean(currentSpanOrNull(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetBoolean(String, BooleanSupplier)}.
+     *
+     * @param span     The target span, or null if none is available
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetBoolean(Span span, String key, BooleanSupplier supplier)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (supplier == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.booleanKey(), supplier.getAsBoolean());
+    }
+
+    /**
+     * Sets a double attribute on the current span from a lazily evaluated
+     * supplier without throwing.
+     * <p>
+     * Behaves like {@link #setDouble(String, DoubleSupplier)} but reports
+     * failures through the returned status instead of an exception.
+     * Exceptions thrown by the supplier still propagate.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the double value (must return a
+     *                 finite value)
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetDouble(String key, DoubleSupplier supplier)
+    {
+        return trySetDouble(currentSpanOrNull(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetDouble(String, DoubleSupplier)}.
+     *
+     * @param span     The target span, or null if none is available
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetDouble(Span span, String key, DoubleSupplier supplier)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (supplier == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        double value = supplier.getAsDouble();
+
+        if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            return record(AttributeStatus.NON_FINITE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.doubleKey(), value);
+    }
+
+    /**
+     * Sets a long attribute on the current span from a lazily evaluated
+     * supplier without throwing.
+     * <p>
+     * Behaves like {@link #setLong(String, LongSupplier)} but reports
+     * failures through the returned status instead of an exception.
+     * Exceptions thrown by the supplier still propagate.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the long value
+     * @return {@link AttributeStatus#OK} if the attribute was set, otherwise
+     *         the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetLong(String key, LongSupplier supplier)
+    {
+        return trySetLong(currentSpanOrNull(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetLong(String, LongSupplier)}.
+     *
+     * @param span     The target span, or null if none is available
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetLong(Span span, String key, LongSupplier supplier)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (supplier == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        return emit(span, preparedKey.longKey(), supplier.getAsLong());
+    }
+
+    /**
+     * Sets a string array attribute on the current span from a lazily evaluated
+     * supplier without throwing.
+     * <p>
+     * Behaves like {@link #setStringList(String, Supplier)} but reports
+     * failures through the returned status instead of an exception.
+     * Exceptions thrown by the supplier still propagate.
+     *
+     * @param key      The attribute key (will be prefixed with "apm." if needed)
+     * @param supplier The supplier of the string values
+     * @return {@link AttributeStatus#OK} if the attribute was set,
+     *         {@link AttributeStatus#EMPTY_LIST} if no valid value remained
+     *         after filtering, otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus trySetStringList(String key, Supplier<List<String>> supplier)
+    {
+        return trySetStringList(currentSpanOrNull(), key, supplier);
+    }
+
+    /**
+     * Span-bound form of {@link #trySetStringList(String, Supplier)}.
+     *
+     * @param span     The target span, or null if none is available
+     * @param key      The attribute key
+     * @param supplier The value supplier
+     * @return The outcome of the write
+     */
+    static AttributeStatus trySetStringList(Span span, String key, Supplier<List<String>> supplier)
+    {
+        PreparedKey preparedKey = admitKey(span, key);
+
+        if (preparedKey.isRefused())
+        {
+            return preparedKey.getRefusal();
+        }
+
+        if (supplier == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, preparedKey.getName());
+        }
+
+        return tryWriteStringList(span, preparedKey, supplier.get());
+    }
+
+    /**
+     * Sets many attributes on the current span in a single call.
+     * <p>
+     * The current span is resolved once for the whole batch. Each entry is
+     * validated and dispatched on its value type, and all accepted entries are
+     * passed to the span through one {@link Span#setAllAttributes(Attributes)}
+     * call. Invalid entries are reported and skipped; they never abort the
+     * rest of the batch.
+     * <p>
+     * Supported value types are {@code Boolean}, {@code Double},
+     * {@code Float}, {@code Byte}, {@code Short}, {@code Integer},
+     * {@code Long}, {@code String}, {@code boolean[]}, {@code double[]},
+     * {@code int[]}, {@code long[]}, and lists of {@code Boolean},
+     * {@code Double}, {@code Integer}, {@code Long} or {@code String}. Values
+     * follow the same rules as the individual setters.
+     *
+     * @param attributes The attributes to set, keyed by attribute key (will be
+     *                   prefixed with "apm." if needed)
+     * @return The rejected entries mapped to the reason they were rejected;
+     *         empty if every entry was accepted or the span is not recording
+     * @since 1.1.0
+     */
+    public static Map<String, AttributeStatus> setAll(Map<String, ?> attributes)
+    {
+        return setAll(currentSpanOrNull(), attributes);
+    }
+
+    /**
+     * Sets many attributes on the current span in a single call.
+     * <p>
+     * Keys of the given attributes are validated and namespaced like any other
+     * key; values are re-checked against the setter rules. The current span
+     * is resolved once and all accepted entries are passed to it through one
+     * {@link Span#setAllAttributes(Attributes)} call.
+     *
+     * @param attributes The attributes to set
+     * @return The rejected entries, keyed by the original key name, mapped to
+     *         the reason they were rejected; empty if every entry was accepted
+     *         or the span is not recording
+     * @since 1.1.0
+     */
+    public static Map<String, AttributeStatus> setAll(Attributes attributes)
+    {
+        return setAll(currentSpanOrNull(), attributes);
+    }
+
+    /**
+     * Applies a batch of OpenTelemetry attributes to the given span.
+     *
+     * @param span       The target span, or null if none is available
+     * @param attributes The attributes to set
+     * @return The rejected entries mapped to the reason they were rejected
+     */
+    static Map<String, AttributeStatus> setAll(Span span, Attributes attributes)
+    {
+        return setAll(span, attributes == null ? null : asMap(attributes));
+    }
+
+    /**
+     * Applies a batch of attributes to the given span.
+     *
+     * @param span       The target span, or null if none is available
+     * @param attributes The attributes to set
+     * @return The rejected entries mapped to the reason they were rejected
+     */
+    static Map<String, AttributeStatus> setAll(Span span, Map<String, ?> attributes)
+    {
+        if (attributes == null || attributes.isEmpty())
+        {
+            return Collections.emptyMap();
+        }
+
+        Map<String, AttributeStatus> rejected = null;
+
+        if (span == null)
+        {
+            rejected = new LinkedHashMap<>();
+
+            for (String key : attributes.keySet())
+            {
+                rejected.put(key, record(AttributeStatus.NO_SPAN, key));
+            }
+
+            return rejected;
+        }
+
+        if (!isRecording(span, attributes.size()))
+        {
+            return Collections.emptyMap();
+        }
+
+        AttributeLimits limits = attributeLimits;
+
+        AttributeBuffer buffer = new AttributeBuffer(limits, limits.isUnlimited() ? null : SpanStates.get(span));
+
+        for (Map.Entry<String, ?> entry : attributes.entrySet())
+        {
+            AttributeStatus status = putAttribute(span, buffer, entry.getKey(), entry.getValue());
+
+            // Entries stopped by admit() were already counted there.
+            if (status != AttributeStatus.SAMPLED_OUT && status != AttributeStatus.RATE_LIMITED)
+            {
+                record(status, entry.getKey());
+            }
+
+            if (!status.isOk())
+            {
+                if (rejected == null)
+                {
+                    rejected = new LinkedHashMap<>();
+                }
+
+                rejected.put(entry.getKey(), status);
+            }
+        }
+
+        // Always build: a batch that only overflowed still owes the marker.
+        Attributes accepted = buffer.build();
+
+        if (!accepted.isEmpty())
+        {
+            span.setAllAttributes(accepted);
+        }
+
+        return rejected == null ? Collections.<String, AttributeStatus>emptyMap() : rejected;
+    }
+
+    /**
+     * Validates a single attribute and adds it to the given buffer.
+     * <p>
+     * The key is prepared through the prepared-key cache and the value is
+     * dispatched on its runtime type, applying the same rules as the
+     * individual setters.
+     *
+     * @param span   The target span
+     * @param buffer The buffer to add the attribute to
+     * @param key    The attribute key (will be prefixed with "apm." if needed)
+     * @param value  The attribute value
+     * @return {@link AttributeStatus#OK} if the attribute was added, otherwise
+     *         the reason it was rejected
+     */
+    static AttributeStatus putAttribute(Span span, AttributeBuffer buffer, String key, Object value)
+    {
+        PreparedKey preparedKey = lookupKey(key);
+
+        if (preparedKey == null)
+        {
+            return AttributeStatus.INVALID_KEY;
+        }
+
+        AttributeStatus admission = admit(span, preparedKey);
+
+        if (admission != AttributeStatus.OK)
+        {
+            return admission;
+        }
+
+        return putValue(buffer, preparedKey, value);
+    }
+
+    /**
+     * Validates a value for an already prepared key and adds it to the given
+     * buffer, dispatching on the value's runtime type.
+     *
+     * @param buffer      The buffer to add the attribute to
+     * @param preparedKey The prepared attribute key
+     * @param value       The attribute value
+     * @return {@link AttributeStatus#OK} if the attribute was added, otherwise
+     *         the reason it was rejected
+     */
+    @SuppressWarnings("unchecked")
+    private static AttributeStatus putValue(AttributeBuffer buffer, PreparedKey preparedKey, Object value)
+    {
+        if (value == null)
+        {
+            return AttributeStatus.NULL_VALUE;
+        }
+
+        if (value instanceof String)
+        {
+            return buffer.put(preparedKey.stringKey(), (String) value);
+        }
+        else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+        {
+            return buffer.put(preparedKey.longKey(), ((Number) value).longValue());
+        }
+        else if (value instanceof Double || value instanceof Float)
+        {
+            double number = ((Number) value).doubleValue();
+
+            if (Double.isNaN(number) || Double.isInfinite(number))
+            {
+                return AttributeStatus.NON_FINITE;
+            }
+
+            return buffer.put(preparedKey.doubleKey(), number);
+        }
+        else if (value instanceof Boolean)
+        {
+            return buffer.put(preparedKey.booleanKey(), (Boolean) value);
+        }
+        else if (value instanceof List)
+        {
+            return putList(buffer, preparedKey, (List<Object>) value);
+        }
+        else if (value instanceof long[])
+        {
+            return putArray(buffer, preparedKey.longArrayKey(), PrimitiveLists.ofLongs(((long[]) value).clone()));
+        }
+        else if (value instanceof int[])
+        {
+            return putArray(buffer, preparedKey.longArrayKey(), PrimitiveLists.ofLongs(widenIntegers((int[]) value)));
+        }
+        else if (value instanceof double[])
+        {
+            return putArray(buffer, preparedKey.doubleArrayKey(), PrimitiveLists.ofDoubles(finiteDoubles((double[]) value)));
+        }
+        else if (value instanceof boolean[])
+        {
+            return putArray(buffer, preparedKey.booleanArrayKey(), PrimitiveLists.ofBooleans(((boolean[]) value).clone()));
+        }
+
+        return AttributeStatus.UNSUPPORTED_TYPE;
+    }
+
+    /**
+     * Validates a list attribute, infers its element type from the first
+     * non-null element and adds it to the given buffer.
+     *
+     * @param buffer      The buffer to add the attribute to
+     * @param preparedKey The prepared attribute key
+     * @param values      The list of values
+     * @return {@link AttributeStatus#OK} if the attribute was added, otherwise
+     *         the reason it was rejected
      */
-    public static void setBooleanList(String key, List<Boolean> values) throws Exception
+    @SuppressWarnings("unchecked")
+    private static AttributeStatus putList(AttributeBuffer buffer, PreparedKey preparedKey, List<Object> values)
     {
-        key = prepareKey(key);
+        Class<?> type = null;
+
+        for (Object element : values)
+        {
+            if (element == null)
+            {
+                continue;
+            }
+
+            if (type == null)
+            {
+                type = element.getClass();
+            }
+            else if (type != element.getClass())
+            {
+                return AttributeStatus.UNSUPPORTED_TYPE;
+            }
+        }
 
-        validateList(values, key);
+        if (type == null)
+        {
+            return AttributeStatus.EMPTY_LIST;
+        }
 
-        List<Boolean> filtered = filterNullValues(values, key);
+        if (type == String.class)
+        {
+            return putArray(buffer, preparedKey.stringArrayKey(), filterNullValues((List<String>) (List<?>) values));
+        }
+        else if (type == Long.class)
+        {
+            return putArray(buffer, preparedKey.longArrayKey(), filterNullValues((List<Long>) (List<?>) values));
+        }
+        else if (type == Integer.class)
+        {
+            return putArray(buffer, preparedKey.longArrayKey(), convertIntegers((List<Integer>) (List<?>) values));
+        }
+        else if (type == Double.class)
+        {
+            return putArray(buffer, preparedKey.doubleArrayKey(), filterDoubles((List<Double>) (List<?>) values));
+        }
+        else if (type == Boolean.class)
+        {
+            return putArray(buffer, preparedKey.booleanArrayKey(), filterNullValues((List<Boolean>) (List<?>) values));
+        }
 
-        getCurrentSpan().setAttribute(AttributeKey.booleanArrayKey(key), filtered);
+        return AttributeStatus.UNSUPPORTED_TYPE;
     }
 
     /**
-     * Sets a double array attribute on the current span.
+     * Adds an already filtered array attribute to the given buffer.
+     *
+     * @param <T>    The element type
+     * @param buffer The buffer to add the attribute to
+     * @param key    The typed array attribute key
+     * @param values The filtered values
+     * @return {@link AttributeStatus#OK}, {@link AttributeStatus#EMPTY_LIST}
+     *         if no value remained after filtering, or
+     *         {@link AttributeStatus#LIMIT_EXCEEDED} if the span budget is
+     *         exhausted
+     */
+    private static <T> AttributeStatus putArray(AttributeBuffer buffer, AttributeKey<List<T>> key, List<T> values)
+    {
+        if (values.isEmpty())
+        {
+            return AttributeStatus.EMPTY_LIST;
+        }
+
+        return buffer.put(key, values);
+    }
+
+    /**
+     * Copies OpenTelemetry attributes into a map keyed by attribute name.
+     *
+     * @param attributes The attributes to copy
+     * @return A map of attribute names to values, in iteration order
+     */
+    static Map<String, Object> asMap(Attributes attributes)
+    {
+        Map<String, Object> map = new LinkedHashMap<>(attributes.size() * 2);
+
+        attributes.forEach((key, value) -> map.put(key.getKey(), value));
+
+        return map;
+    }
+
+    /**
+     * Adds an event without attributes to the current span.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
-     * Null, NaN, and Infinite values in the list are automatically filtered out.
+     * The name is validated, lowercased and prefixed with "apm." like an
+     * attribute key, but without going through the prepared-key cache, so
+     * event names never take cache space from attribute keys. Events beyond the limit set by
+     * {@link #setEventLimit(int)} are dropped silently.
      *
-     * @param key    The attribute key (will be prefixed with "apm." if needed)
-     * @param values The list of double values (cannot be null or empty, must
-     *               contain at least one valid value)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The list is null, empty, or contains only invalid values</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param name The event name (will be prefixed with "apm." if needed)
+     * @throws Exception if the name is invalid or no span is available
+     * @since 1.1.0
      */
-    public static void setDoubleList(String key, List<Double> values) throws Exception
+    public static void addEvent(String name) throws Exception
+    {
+        addEvent(getCurrentSpan(), name, (Map<String, ?>) null);
+    }
+
+    /**
+     * Adds an event with attributes to the current span.
+     * <p>
+     * The name is validated and namespaced like an attribute key. Attribute
+     * keys are validated and namespaced, and values follow the same rules and
+     * supported types as {@link #setAll(Map)}. If any attribute is rejected,
+     * the event is not added. Events beyond the limit set by
+     * {@link #setEventLimit(int)} are dropped silently.
+     * <p>
+     * Event attributes pass through the cardinality guard, but key sampling,
+     * rate limiting and the per-span attribute limits apply to span
+     * attributes only.
+     *
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes, keyed by attribute key (will be
+     *                   prefixed with "apm." if needed); may be null or empty
+     * @throws Exception if the name or an attribute is invalid, or no span is
+     *                   available
+     * @since 1.1.0
+     */
+    public static void addEvent(String name, Map<String, ?> attributes) throws Exception
+    {
+        addEvent(getCurrentSpan(), name, attributes);
+    }
+
+    /**
+     * Adds an event with OpenTelemetry attributes to the current span.
+     * <p>
+     * Behaves like {@link #addEvent(String, Map)}; the attribute keys are
+     * validated and namespaced like any other key.
+     *
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes; may be null or empty
+     * @throws Exception if the name or an attribute is invalid, or no span is
+     *                   available
+     * @since 1.1.0
+     */
+    public static void addEvent(String name, Attributes attributes) throws Exception
+    {
+        addEvent(getCurrentSpan(), name, attributes == null ? null : asMap(attributes));
+    }
+
+    /**
+     * Adds an event to the given span.
+     *
+     * @param span       The target span
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes, or null
+     * @throws Exception if the name or an attribute is invalid
+     */
+    static void addEvent(Span span, String name, Map<String, ?> attributes) throws Exception
     {
-        key = prepareKey(key);
+        if (!isRecording(span))
+        {
+            return;
+        }
+
+        String eventName = prepareKey(name);
+
+        Attributes prepared = prepareAttributes(attributes, "event " + eventName);
 
-        validateList(values, key);
+        if (!acquireEvent(span, eventName))
+        {
+            return;
+        }
 
-        List<Double> filtered = filterDoubles(values, key);
+        span.addEvent(eventName, prepared);
 
-        getCurrentSpan().setAttribute(AttributeKey.doubleArrayKey(key), filtered);
+        record(AttributeStatus.OK, null);
     }
 
     /**
-     * Sets an integer array attribute on the current span.
+     * Adds an event without attributes to the current span without throwing.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
-     * Null elements in the list are automatically filtered out.
-     * Integer values are internally converted to long for OpenTelemetry
-     * compatibility.
+     * Behaves like {@link #addEvent(String)} but reports failures through
+     * the returned status instead of an exception.
      *
-     * @param key    The attribute key (will be prefixed with "apm." if needed)
-     * @param values The list of integer values (cannot be null or empty, must
-     *               contain at least one non-null value)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The list is null, empty, or contains only null values</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param name The event name (will be prefixed with "apm." if needed)
+     * @return {@link AttributeStatus#OK} if the event was added,
+     *         {@link AttributeStatus#LIMIT_EXCEEDED} if the span's event
+     *         limit was reached, otherwise the reason it was rejected
+     * @since 1.1.0
      */
-    public static void setIntegerList(String key, List<Integer> values) throws Exception
+    public static AttributeStatus tryAddEvent(String name)
+    {
+        return tryAddEvent(currentSpanOrNull(), name, (Map<String, ?>) null);
+    }
+
+    /**
+     * Adds an event with attributes to the current span without throwing.
+     * <p>
+     * Behaves like {@link #addEvent(String, Map)} but reports failures
+     * through the returned status instead of an exception. If an attribute is
+     * rejected, its status is returned and the event is not added.
+     *
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes, keyed by attribute key (will be
+     *                   prefixed with "apm." if needed); may be null or empty
+     * @return {@link AttributeStatus#OK} if the event was added,
+     *         {@link AttributeStatus#LIMIT_EXCEEDED} if the span's event
+     *         limit was reached, otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus tryAddEvent(String name, Map<String, ?> attributes)
+    {
+        return tryAddEvent(currentSpanOrNull(), name, attributes);
+    }
+
+    /**
+     * Adds an event with OpenTelemetry attributes to the current span without
+     * throwing.
+     * <p>
+     * Behaves like {@link #addEvent(String, Attributes)} but reports failures
+     * through the returned status instead of an exception.
+     *
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes; may be null or empty
+     * @return {@link AttributeStatus#OK} if the event was added,
+     *         {@link AttributeStatus#LIMIT_EXCEEDED} if the span's event
+     *         limit was reached, otherwise the reason it was rejected
+     * @since 1.1.0
+     */
+    public static AttributeStatus tryAddEvent(String name, Attributes attributes)
+    {
+        return tryAddEvent(currentSpanOrNull(), name, attributes == null ? null : asMap(attributes));
+    }
+
+    /**
+     * Adds an event to the given span without throwing.
+     *
+     * @param span       The target span, or null if none is available
+     * @param name       The event name (will be prefixed with "apm." if needed)
+     * @param attributes The event attributes, or null
+     * @return The outcome of the write
+     */
+    static AttributeStatus tryAddEvent(Span span, String name, Map<String, ?> attributes)
+    {
+        if (span == null)
+        {
+            return record(AttributeStatus.NO_SPAN, null);
+        }
+
+        if (!isRecording(span))
+        {
+            return AttributeStatus.NOT_RECORDING;
+        }
+
+        String eventName = name == null ? null : scanKey(name);
+
+        if (eventName == null)
+        {
+            return record(AttributeStatus.INVALID_KEY, name);
+        }
+
+        AttributeBuffer buffer = null;
+
+        if (attributes != null && !attributes.isEmpty())
+        {
+            buffer = new AttributeBuffer(AttributeLimits.unlimited(), null);
+
+            for (Map.Entry<String, ?> entry : attributes.entrySet())
+            {
+                AttributeStatus status = putDetachedAttribute(buffer, entry.getKey(), entry.getValue());
+
+                if (status != AttributeStatus.OK)
+                {
+                    return record(status, entry.getKey());
+                }
+            }
+        }
+
+        if (!acquireEvent(span, eventName))
+        {
+            return AttributeStatus.LIMIT_EXCEEDED;
+        }
+
+        span.addEvent(eventName, buffer == null ? Attributes.empty() : buffer.build());
+
+        return record(AttributeStatus.OK, null);
+    }
+
+    /**
+     * Counts an event against the span's event limit, recording the event as
+     * dropped if the limit is reached. Called once the event is otherwise
+     * ready to add, so rejected events do not use up the limit.
+     *
+     * @param span      The target span
+     * @param eventName The prepared event name
+     * @return true if the event may be added
+     */
+    private static boolean acquireEvent(Span span, String eventName)
     {
-        key = prepareKey(key);
+        int limit = eventLimit;
 
-        validateList(values, key);
+        if (limit == 0 || SpanStates.get(span).acquireEvent(limit))
+        {
+            return true;
+        }
 
-        List<Long> filtered = convertIntegers(values, key);
+        record(AttributeStatus.LIMIT_EXCEEDED, eventName);
 
-        getCurrentSpan().setAttribute(AttributeKey.longArrayKey(key), filtered);
+        return false;
     }
 
     /**
-     * Sets a long array attribute on the current span.
+     * Validates and namespaces the attributes of an event or a metric
+     * instrument.
+     *
+     * @param attributes The attributes, keyed by attribute key (will be
+     *                   prefixed with "apm." if needed), or null
+     * @param owner      The description of the owner, for error messages
+     * @return The prepared attributes, empty if none were given
+     * @throws Exception if an attribute is invalid
+     */
+    static Attributes prepareAttributes(Map<String, ?> attributes, String owner) throws Exception
+    {
+        if (attributes == null || attributes.isEmpty())
+        {
+            return Attributes.empty();
+        }
+
+        AttributeBuffer buffer = new AttributeBuffer(AttributeLimits.unlimited(), null);
+
+        for (Map.Entry<String, ?> entry : attributes.entrySet())
+        {
+            AttributeStatus status = putDetachedAttribute(buffer, entry.getKey(), entry.getValue());
+
+            if (status != AttributeStatus.OK)
+            {
+                throw rejection(status, entry.getKey(), "Invalid attribute (" + status + ") for " + owner + ": ");
+            }
+        }
+
+        return buffer.build();
+    }
+
+    /**
+     * Validates a single event or metric attribute and adds it to the given
+     * buffer.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
-     * Null elements in the list are automatically filtered out.
+     * These attributes do not belong to a span, so unlike
+     * {@link #putAttribute(Span, AttributeBuffer, String, Object)}, no
+     * sampling or rate limit applies.
      *
+     * @param buffer The buffer to add the attribute to
      * @param key    The attribute key (will be prefixed with "apm." if needed)
-     * @param values The list of long values (cannot be null or empty, must contain
-     *               at least one non-null value)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The list is null, empty, or contains only null values</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param value  The attribute value
+     * @return {@link AttributeStatus#OK} if the attribute was added, otherwise
+     *         the reason it was rejected
      */
-    public static void setLongList(String key, List<Long> values) throws Exception
+    private static AttributeStatus putDetachedAttribute(AttributeBuffer buffer, String key, Object value)
     {
-        key = prepareKey(key);
+        PreparedKey preparedKey = lookupKey(key);
 
-        validateList(values, key);
+        if (preparedKey == null)
+        {
+            return AttributeStatus.INVALID_KEY;
+        }
 
-        List<Long> filtered = filterNullValues(values, key);
+        return putValue(buffer, preparedKey, value);
+    }
 
-        getCurrentSpan().setAttribute(AttributeKey.longArrayKey(key), filtered);
+    /**
+     * Records an exception as an event on the current span.
+     * <p>
+     * The event follows the OpenTelemetry {@code exception} event
+     * conventions, with a stack trace bounded and deduplicated as configured
+     * by {@link #setExceptionLimits(int, int, long)}, plus
+     * {@code apm.exception.fingerprint} and {@code apm.exception.count}
+     * attributes. Exception events count against the per-span event limit.
+     * The span status is not changed.
+     *
+     * @param throwable The exception to record (cannot be null)
+     * @throws Exception if the exception is null or no span is available
+     * @since 1.1.0
+     */
+    public static void recordException(Throwable throwable) throws Exception
+    {
+        recordException(getCurrentSpan(), throwable);
     }
 
     /**
-     * Sets a string array attribute on the current span.
+     * Records an exception on the given span.
+     *
+     * @param span      The target span
+     * @param throwable The exception to record
+     * @throws Exception if the exception is null
+     */
+    static void recordException(Span span, Throwable throwable) throws Exception
+    {
+        if (throwable == null)
+        {
+            throw rejection(AttributeStatus.NULL_VALUE, ExceptionRecorder.EVENT_NAME, "Exception cannot be null for event: ");
+        }
+
+        writeException(span, throwable);
+    }
+
+    /**
+     * Records an exception as an event on the current span without throwing.
      * <p>
-     * The attribute key will be automatically prefixed with "apm." if not already
-     * present.
-     * Null elements in the list are automatically filtered out.
+     * Behaves like {@link #recordException(Throwable)} but reports failures
+     * through the returned status instead of an exception.
      *
-     * @param key    The attribute key (will be prefixed with "apm." if needed)
-     * @param values The list of string values (cannot be null or empty, must
-     *               contain at least one non-null value)
-     * @throws Exception if:
-     * <ul>
-     *   <li>The key is null, empty, or contains invalid characters</li>
-     *   <li>The list is null, empty, or contains only null values</li>
-     *   <li>An error occurs while setting the attribute</li>
-     * </ul>
+     * @param throwable The exception to record
+     * @return {@link AttributeStatus#OK} if the event was added,
+     *         {@link AttributeStatus#LIMIT_EXCEEDED} if the span's event
+     *         limit was reached, otherwise the reason it was rejected
+     * @since 1.1.0
      */
-    public static void setStringList(String key, List<String> values) throws Exception
+    public static AttributeStatus tryRecordException(Throwable throwable)
+    {
+        return tryRecordException(currentSpanOrNull(), throwable);
+    }
+
+    /**
+     * Records an exception on the given span without throwing.
+     *
+     * @param span      The target span, or null if none is available
+     * @param throwable The exception to record
+     * @return The outcome of the write
+     */
+    static AttributeStatus tryRecordException(Span span, Throwable throwable)
+    {
+        if (span == null)
+        {
+            return record(AttributeStatus.NO_SPAN, null);
+        }
+
+        if (throwable == null)
+        {
+            return record(AttributeStatus.NULL_VALUE, ExceptionRecorder.EVENT_NAME);
+        }
+
+        return writeException(span, throwable);
+    }
+
+    /**
+     * Adds the exception event for a non-null exception to a span.
+     *
+     * @param span      The target span
+     * @param throwable The exception to record
+     * @return The outcome of the write
+     */
+    static AttributeStatus writeException(Span span, Throwable throwable)
+    {
+        if (!isRecording(span))
+        {
+            return AttributeStatus.NOT_RECORDING;
+        }
+
+        // Checked before describing the exception, so that dropped events do
+        // not count as occurrences in the deduplication table.
+        if (!acquireEvent(span, ExceptionRecorder.EVENT_NAME))
+        {
+            return AttributeStatus.LIMIT_EXCEEDED;
+        }
+
+        span.addEvent(ExceptionRecorder.EVENT_NAME, exceptionRecorder.describe(throwable));
+
+        return record(AttributeStatus.OK, null);
+    }
+
+    /**
+     * Returns the tracer used for the spans started by this library.
+     *
+     * @return The tracer of the configured instance, or the cached tracer of
+     *         {@link GlobalOpenTelemetry}
+     */
+    static Tracer tracer()
+    {
+        Tracer cached = tracer;
+
+        return cached != null ? cached : resolveTracer();
+    }
+
+    private static synchronized Tracer resolveTracer()
+    {
+        if (tracer == null)
+        {
+            tracer = GlobalOpenTelemetry.getTracer(INSTRUMENTATION_NAME);
+        }
+
+        return tracer;
+    }
+
+    /**
+     * Returns the meter used for the instruments created by this library.
+     *
+     * @return The meter of the configured instance, or the cached meter of
+     *         {@link GlobalOpenTelemetry}
+     */
+    static Meter meter()
     {
-        key = prepareKey(key);
+        Meter cached = meter;
 
-        validateList(values, key);
+        return cached != null ? cached : resolveMeter();
+    }
 
-        List<String> filtered = filterNullValues(values, key);
+    private static synchronized Meter resolveMeter()
+    {
+        if (meter == null)
+        {
+            meter = GlobalOpenTelemetry.getMeter(INSTRUMENTATION_NAME);
+        }
 
-        getCurrentSpan().setAttribute(AttributeKey.stringArrayKey(key), filtered);
+        return meter;
     }
-}
\ No newline at end of file
+}
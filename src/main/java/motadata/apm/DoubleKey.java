@@ -0,0 +1,76 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+
+/**
+ * Pre-validated handle for a double attribute key.
+ * <p>
+ * Obtain instances through {@link CustomInstrumentation#doubleKey(String)}.
+ *
+ * @since 1.1.0
+ */
+public final class DoubleKey extends KeyHandle<Double>
+{
+
+    DoubleKey(String name)
+    {
+        super(name, AttributeKey.doubleKey(name));
+    }
+
+    /**
+     * Sets this attribute on the current span.
+     *
+     * @param value The double value to set (must be finite)
+     * @throws Exception if the value is invalid or no active span is available
+     */
+    public void set(double value) throws Exception
+    {
+        set(CustomInstrumentation.getCurrentSpan(), value);
+    }
+
+    /**
+     * Sets this attribute on the given span.
+     * <p>
+     * Returns immediately if the span is not recording.
+     *
+     * @param span  The span to write to (cannot be null)
+     * @param value The double value to set (must be finite)
+     * @throws Exception if the value is NaN or Infinite, or the span is null
+     */
+    public void set(Span span, double value) throws Exception
+    {
+        if (!CustomInstrumentation.isRecording(requireSpan(span)) || !admit(span))
+        {
+            return;
+        }
+
+        if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            throw CustomInstrumentation.rejection(AttributeStatus.NON_FINITE, getName(), "Invalid Double value for key: ");
+        }
+
+        CustomInstrumentation.emit(span, getAttributeKey(), value);
+    }
+}
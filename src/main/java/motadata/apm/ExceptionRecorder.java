@@ -0,0 +1,334 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Builds the attributes of exception events with a bounded stack trace and
+ * deduplication of repeated exceptions.
+ * <p>
+ * Every exception is fingerprinted with a 64-bit FNV-1a hash of its class and
+ * top frames and those of up to {@value #FINGERPRINT_CAUSES} causes, so the
+ * same wrapper around different root causes is not deduplicated. Recently seen fingerprints are kept in a fixed table of
+ * {@value #TABLE_SIZE} slots, indexed by fingerprint and replaced with
+ * compare-and-set, so the table never grows and never blocks. The first
+ * occurrence of a fingerprint in a window gets a stack trace cut to the
+ * configured depth. Later occurrences in the same window only carry the
+ * fingerprint and their occurrence count. Two fingerprints that share a slot
+ * evict each other, which costs extra stack traces but never loses an event.
+ *
+ * @since 1.1.0
+ */
+final class ExceptionRecorder
+{
+
+    static final String EVENT_NAME = "exception";
+
+    static final int DEFAULT_MAX_FRAMES = 32;
+
+    static final int DEFAULT_FINGERPRINT_FRAMES = 8;
+
+    static final long DEFAULT_WINDOW_MILLIS = 60_000;
+
+    private static final AttributeKey<String> TYPE_KEY = AttributeKey.stringKey("exception.type");
+
+    private static final AttributeKey<String> MESSAGE_KEY = AttributeKey.stringKey("exception.message");
+
+    private static final AttributeKey<String> STACKTRACE_KEY = AttributeKey.stringKey("exception.stacktrace");
+
+    private static final AttributeKey<String> FINGERPRINT_KEY = AttributeKey.stringKey("apm.exception.fingerprint");
+
+    private static final AttributeKey<Long> COUNT_KEY = AttributeKey.longKey("apm.exception.count");
+
+    private static final int TABLE_SIZE = 1024;
+
+    private static final int FINGERPRINT_CAUSES = 8;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int maxFrames;
+
+    private final int fingerprintFrames;
+
+    private final long windowNanos;
+
+    private final AtomicReferenceArray<Seen> recent = new AtomicReferenceArray<>(TABLE_SIZE);
+
+    /**
+     * Creates a recorder.
+     *
+     * @param maxFrames         The maximum number of stack frames recorded
+     *                          across an exception and its causes
+     * @param fingerprintFrames The number of top frames hashed into the
+     *                          fingerprint
+     * @param windowMillis      The deduplication window, or 0 to record every
+     *                          stack trace
+     */
+    ExceptionRecorder(int maxFrames, int fingerprintFrames, long windowMillis)
+    {
+        this.maxFrames = maxFrames;
+
+        this.fingerprintFrames = fingerprintFrames;
+
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * Builds the event attributes for an exception.
+     *
+     * @param throwable The exception (must not be null)
+     * @return The attributes of the exception event
+     */
+    Attributes describe(Throwable throwable)
+    {
+        return describe(throwable, System.nanoTime());
+    }
+
+    /**
+     * Builds the event attributes for an exception at a given time.
+     *
+     * @param throwable The exception (must not be null)
+     * @param now       The current {@link System#nanoTime()}
+     * @return The attributes of the exception event
+     */
+    Attributes describe(Throwable throwable, long now)
+    {
+        StackTraceElement[] frames = throwable.getStackTrace();
+
+        long fingerprint = fingerprint(throwable, frames);
+
+        long count = occurrence(fingerprint, now);
+
+        AttributesBuilder builder = Attributes.builder();
+
+        builder.put(TYPE_KEY, throwable.getClass().getName());
+
+        String message = throwable.getMessage();
+
+        if (message != null)
+        {
+            builder.put(MESSAGE_KEY, message);
+        }
+
+        if (count == 1)
+        {
+            builder.put(STACKTRACE_KEY, stackTrace(throwable, frames));
+        }
+
+        builder.put(FINGERPRINT_KEY, hex(fingerprint));
+
+        builder.put(COUNT_KEY, count);
+
+        return builder.build();
+    }
+
+    /**
+     * Hashes the class and top frames of the exception and of its causes.
+     *
+     * @param throwable The exception
+     * @param frames    Its stack frames
+     * @return The fingerprint
+     */
+    long fingerprint(Throwable throwable, StackTraceElement[] frames)
+    {
+        long hash = mix(FNV_OFFSET, throwable, frames);
+
+        Throwable cause = throwable.getCause();
+
+        // A bounded walk instead of a visited set keeps cyclic chains cheap.
+        for (int depth = 0; depth < FINGERPRINT_CAUSES && cause != null && cause != throwable; depth++)
+        {
+            hash = mix(hash, cause, cause.getStackTrace());
+
+            cause = cause.getCause();
+        }
+
+        return hash;
+    }
+
+    private long mix(long hash, Throwable throwable, StackTraceElement[] frames)
+    {
+        hash = mix(hash, throwable.getClass().getName().hashCode());
+
+        int count = Math.min(fingerprintFrames, frames.length);
+
+        for (int i = 0; i < count; i++)
+        {
+            StackTraceElement frame = frames[i];
+
+            hash = mix(hash, frame.getClassName().hashCode());
+
+            hash = mix(hash, frame.getMethodName().hashCode());
+
+            hash = mix(hash, frame.getLineNumber());
+        }
+
+        return hash;
+    }
+
+    /**
+     * Returns the slot of a fingerprint in the recently seen table.
+     *
+     * @param fingerprint The fingerprint
+     * @return The slot index
+     */
+    static int slot(long fingerprint)
+    {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & (TABLE_SIZE - 1);
+    }
+
+    /**
+     * Counts an occurrence of a fingerprint in the recently seen table.
+     *
+     * @param fingerprint The fingerprint
+     * @param now         The current {@link System#nanoTime()}
+     * @return 1 if this is the first occurrence in the current window,
+     *         otherwise the number of occurrences so far
+     */
+    private long occurrence(long fingerprint, long now)
+    {
+        if (windowNanos == 0)
+        {
+            return 1;
+        }
+
+        int index = slot(fingerprint);
+
+        while (true)
+        {
+            Seen seen = recent.get(index);
+
+            if (seen != null && seen.fingerprint == fingerprint && now - seen.windowStart < windowNanos)
+            {
+                return seen.count.incrementAndGet();
+            }
+
+            if (recent.compareAndSet(index, seen, new Seen(fingerprint, now)))
+            {
+                return 1;
+            }
+        }
+    }
+
+    /**
+     * Formats a stack trace like {@link Throwable#printStackTrace()}, sharing
+     * one frame budget between the exception and its causes.
+     *
+     * @param throwable The exception
+     * @param frames    Its stack frames
+     * @return The bounded stack trace
+     */
+    private String stackTrace(Throwable throwable, StackTraceElement[] frames)
+    {
+        StringBuilder builder = new StringBuilder(64 + 64 * Math.min(maxFrames, frames.length));
+
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        int budget = maxFrames;
+
+        Throwable current = throwable;
+
+        while (current != null && visited.add(current))
+        {
+            if (current != throwable)
+            {
+                builder.append("Caused by: ");
+
+                frames = budget > 0 ? current.getStackTrace() : null;
+            }
+
+            builder.append(current).append('\n');
+
+            if (frames != null)
+            {
+                int shown = Math.min(budget, frames.length);
+
+                for (int i = 0; i < shown; i++)
+                {
+                    builder.append("\tat ").append(frames[i]).append('\n');
+                }
+
+                if (shown < frames.length)
+                {
+                    builder.append("\t... ").append(frames.length - shown).append(" more\n");
+                }
+
+                budget -= shown;
+            }
+
+            current = current.getCause();
+        }
+
+        return builder.toString();
+    }
+
+    private static long mix(long hash, int value)
+    {
+        for (int shift = 0; shift < 32; shift += 8)
+        {
+            hash ^= (value >>> shift) & 0xff;
+
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    private static String hex(long value)
+    {
+        String digits = Long.toHexString(value);
+
+        return digits.length() == 16 ? digits : "0000000000000000".substring(digits.length()) + digits;
+    }
+
+    /**
+     * A fingerprint seen in the current window.
+     */
+    private static final class Seen
+    {
+
+        private final long fingerprint;
+
+        private final long windowStart;
+
+        private final AtomicLong count = new AtomicLong(1);
+
+        private Seen(long fingerprint, long windowStart)
+        {
+            this.fingerprint = fingerprint;
+
+            this.windowStart = windowStart;
+        }
+    }
+}
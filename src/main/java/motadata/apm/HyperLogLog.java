@@ -0,0 +1,223 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size, lock-free HyperLogLog sketch for estimating the number of
+ * distinct values seen.
+ * <p>
+ * The sketch uses 2<sup>10</sup> registers (standard error about 3.2%), packed
+ * four to an {@code int}, for a fixed cost of 1 KiB regardless of how many
+ * values are offered. Registers only ever grow and are raised with
+ * compare-and-set, so concurrent updates never block and never lose a higher
+ * rank.
+ * <p>
+ * The harmonic sum of the registers and the number of zero registers are
+ * kept up to date by the thread that raises a register, so
+ * {@link #estimate()} takes constant time. Both are packed into a single
+ * {@code long}, the sum as a fixed-point number, and are updated with one
+ * atomic add. Ranks above {@value #SUM_SCALE} contribute to the sum as if
+ * they were {@value #SUM_SCALE}, which only matters for cardinalities far
+ * beyond any practical threshold.
+ *
+ * @since 1.1.0
+ */
+final class HyperLogLog
+{
+
+    private static final int PRECISION = 10;
+
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private static final int MAX_RANK = 64 - PRECISION + 1;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private static final int SUM_SCALE = 40;
+
+    private static final long SUM_MASK = (1L << 52) - 1;
+
+    private static final int ZEROS_SHIFT = 52;
+
+    private final AtomicIntegerArray registers = new AtomicIntegerArray(REGISTER_COUNT / 4);
+
+    private final AtomicLong state = new AtomicLong(((long) REGISTER_COUNT << ZEROS_SHIFT) | (REGISTER_COUNT * term(0)));
+
+    /**
+     * Creates an empty sketch.
+     */
+    HyperLogLog()
+    {
+    }
+
+    /**
+     * Creates a sketch holding the same registers as another, so that values
+     * offered to it afterwards are estimated together with the values already
+     * in the other sketch.
+     *
+     * @param seed The sketch to copy
+     */
+    HyperLogLog(HyperLogLog seed)
+    {
+        long sum = 0;
+
+        long zeros = 0;
+
+        for (int slot = 0; slot < REGISTER_COUNT / 4; slot++)
+        {
+            int packed = seed.registers.get(slot);
+
+            registers.set(slot, packed);
+
+            for (int shift = 0; shift < 32; shift += 8)
+            {
+                int rank = (packed >>> shift) & 0xFF;
+
+                if (rank == 0)
+                {
+                    zeros++;
+                }
+
+                sum += term(rank);
+            }
+        }
+
+        state.set((zeros << ZEROS_SHIFT) | sum);
+    }
+
+    /**
+     * Records a hashed value.
+     *
+     * @param hash A well-mixed 64-bit hash of the value
+     * @return true if a register was raised, meaning the estimate may have
+     *         changed
+     */
+    boolean offer(long hash)
+    {
+        int index = (int) (hash >>> (64 - PRECISION));
+
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION) + 1, MAX_RANK);
+
+        int slot = index >>> 2;
+
+        int shift = (index & 3) << 3;
+
+        int packed;
+
+        int previous;
+
+        do
+        {
+            packed = registers.get(slot);
+
+            previous = (packed >>> shift) & 0xFF;
+
+            if (previous >= rank)
+            {
+                return false;
+            }
+        }
+        while (!registers.compareAndSet(slot, packed, (packed & ~(0xFF << shift)) | (rank << shift)));
+
+        long delta = term(rank) - term(previous);
+
+        if (previous == 0)
+        {
+            delta -= 1L << ZEROS_SHIFT;
+        }
+
+        state.addAndGet(delta);
+
+        return true;
+    }
+
+    /**
+     * Estimates the number of distinct values offered to this sketch and,
+     * if it was created from a seed, to the seed before that.
+     *
+     * @return The estimated distinct count
+     */
+    long estimate()
+    {
+        long current = state.get();
+
+        double sum = (double) (current & SUM_MASK) / (1L << SUM_SCALE);
+
+        long zeros = current >>> ZEROS_SHIFT;
+
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0)
+        {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+
+        return Math.round(estimate);
+    }
+
+    /**
+     * Returns the fixed-point contribution of a register to the harmonic sum.
+     *
+     * @param rank The register value
+     * @return 2<sup>-rank</sup> scaled by 2<sup>{@value #SUM_SCALE}</sup>
+     */
+    private static long term(int rank)
+    {
+        return 1L << (SUM_SCALE - Math.min(rank, SUM_SCALE));
+    }
+
+    /**
+     * Computes a well-mixed 64-bit hash of a string without allocating.
+     * <p>
+     * FNV-1a over the UTF-16 code units, followed by the MurmurHash3 64-bit
+     * finalizer to spread the bits HyperLogLog depends on.
+     *
+     * @param value The value to hash
+     * @return The 64-bit hash
+     */
+    static long hash(String value)
+    {
+        long hash = 0xCBF29CE484222325L;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            hash ^= value.charAt(i);
+
+            hash *= 0x100000001B3L;
+        }
+
+        hash ^= hash >>> 33;
+
+        hash *= 0xFF51AFD7ED558CCDL;
+
+        hash ^= hash >>> 33;
+
+        hash *= 0xC4CEB9FE1A85EC53L;
+
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
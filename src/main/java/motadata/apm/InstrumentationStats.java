@@ -0,0 +1,172 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the library's self-telemetry.
+ * <p>
+ * Obtained through {@link CustomInstrumentation#stats()}. Every attribute
+ * write, through any setter, session, key handle or {@code setAll}, is counted
+ * under the {@link AttributeStatus} describing its outcome; throwing setters
+ * are counted under the status their {@code trySet} counterpart would have
+ * returned. Rejected writes are also broken down by key for the most
+ * frequently rejected keys.
+ *
+ * @since 1.1.0
+ */
+public final class InstrumentationStats
+{
+
+    private final Map<AttributeStatus, Long> counts;
+
+    private final Map<String, Map<AttributeStatus, Long>> topRejectedKeys;
+
+    private final long untrackedRejectionCount;
+
+    private final KeyCacheStats keyCacheStats;
+
+    InstrumentationStats(Map<AttributeStatus, Long> counts, Map<String, Map<AttributeStatus, Long>> topRejectedKeys,
+                         long untrackedRejectionCount, KeyCacheStats keyCacheStats)
+    {
+        this.counts = Collections.unmodifiableMap(counts);
+
+        this.topRejectedKeys = Collections.unmodifiableMap(topRejectedKeys);
+
+        this.untrackedRejectionCount = untrackedRejectionCount;
+
+        this.keyCacheStats = keyCacheStats;
+    }
+
+    /**
+     * Returns the number of writes with the given outcome.
+     *
+     * @param status The outcome
+     * @return The count since startup
+     */
+    public long getCount(AttributeStatus status)
+    {
+        Long count = counts.get(status);
+
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Returns the number of writes for every outcome.
+     *
+     * @return An unmodifiable map from outcome to count
+     */
+    public Map<AttributeStatus, Long> getCounts()
+    {
+        return counts;
+    }
+
+    /**
+     * Returns the number of writes that reached the span.
+     *
+     * @return The {@link AttributeStatus#OK} count
+     */
+    public long getAcceptedCount()
+    {
+        return getCount(AttributeStatus.OK);
+    }
+
+    /**
+     * Returns the number of writes skipped because the span was not
+     * recording.
+     *
+     * @return The {@link AttributeStatus#NOT_RECORDING} count
+     */
+    public long getSkippedWriteCount()
+    {
+        return getCount(AttributeStatus.NOT_RECORDING);
+    }
+
+    /**
+     * Returns the number of writes rejected for any reason other than a
+     * non-recording span.
+     *
+     * @return The rejected write count
+     */
+    public long getRejectedCount()
+    {
+        long rejected = 0;
+
+        for (Map.Entry<AttributeStatus, Long> entry : counts.entrySet())
+        {
+            if (!entry.getKey().isOk())
+            {
+                rejected += entry.getValue();
+            }
+        }
+
+        return rejected;
+    }
+
+    /**
+     * Returns the most frequently rejected keys with their rejection counts.
+     * <p>
+     * Keys are ordered by estimated total rejections, highest first, and
+     * each key maps only the outcomes it was rejected with. The counts start
+     * when the key was last admitted to the bounded tracking table, so a key
+     * that was displaced and tracked again reports its recent rejections
+     * only. Keys are reported in prepared form where they could be prepared,
+     * and as given otherwise.
+     *
+     * @return An unmodifiable, ordered map from key to rejection counts
+     */
+    public Map<String, Map<AttributeStatus, Long>> getTopRejectedKeys()
+    {
+        return topRejectedKeys;
+    }
+
+    /**
+     * Returns the number of rejections not broken down by key, because the
+     * key was unknown or too long to track, or because another thread was
+     * updating the tracking table at the time.
+     *
+     * @return The untracked rejection count
+     */
+    public long getUntrackedRejectionCount()
+    {
+        return untrackedRejectionCount;
+    }
+
+    /**
+     * Returns the prepared-key cache statistics taken with this snapshot.
+     *
+     * @return The cache statistics
+     */
+    public KeyCacheStats getKeyCacheStats()
+    {
+        return keyCacheStats;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "InstrumentationStats{counts=" + counts + ", topRejectedKeys=" + topRejectedKeys
+                + ", untrackedRejections=" + untrackedRejectionCount + ", keyCache=" + keyCacheStats + '}';
+    }
+}
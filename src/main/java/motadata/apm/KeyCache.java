@@ -0,0 +1,372 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, frequency-aware cache of prepared attribute keys.
+ * <p>
+ * The cache maps raw keys, as passed by callers, to their prepared form and
+ * the typed attribute keys built from it. It is
+ * designed for a mix of a small set of hot, static keys and a long tail of
+ * one-off dynamic keys:
+ * <ul>
+ *   <li>Lookups are lock-free reads of a {@link ConcurrentHashMap}; a hit
+ *       never writes the shared frequency sketch</li>
+ *   <li>Access frequencies are tracked in a compact count-min sketch that is
+ *       periodically halved, so stale popularity fades over time. Misses are
+ *       recorded when the key is offered to the cache. Hits are appended to
+ *       small lossy buffers, striped by thread, which are drained into the
+ *       sketch when they fill up</li>
+ *   <li>Once full, a new key is admitted only if it has been seen more often
+ *       than the least frequent of a small sample of resident keys
+ *       (TinyLFU admission), so a flood of unique keys cannot evict the hot
+ *       set</li>
+ *   <li>Admission runs under a lock that is only ever tried; if another thread
+ *       holds it, the key is simply not cached</li>
+ * </ul>
+ * <p>
+ * The sketch and its reset counter are only read and written under the
+ * eviction lock. Updates that find the lock held are dropped, and a full hit
+ * buffer overwrites its oldest entries, which only reduces the accuracy of
+ * the frequency estimate, never the correctness of the cached values.
+ *
+ * @since 1.1.0
+ */
+final class KeyCache
+{
+
+    private static final int SAMPLE_SIZE = 8;
+
+    private static final int MAX_FREQUENCY = 15;
+
+    private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+
+    private static final int HIT_BUFFER_SHIFT = 4;
+
+    private static final int HIT_BUFFER_MASK = (1 << HIT_BUFFER_SHIFT) - 1;
+
+    private static final int HIT_STRIPES = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final int capacity;
+
+    private final ConcurrentHashMap<String, PreparedKey> entries;
+
+    private final String[] residents;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final AtomicIntegerArray hitBuffers = new AtomicIntegerArray(HIT_STRIPES << HIT_BUFFER_SHIFT);
+
+    private final AtomicInteger[] hitTails = new AtomicInteger[HIT_STRIPES];
+
+    private final long[] sketch;
+
+    private final int sketchMask;
+
+    private final int resetThreshold;
+
+    private int additions;
+
+    private int size;
+
+    private int hand;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    KeyCache(int capacity)
+    {
+        this.capacity = Math.max(1, capacity);
+
+        this.entries = new ConcurrentHashMap<>(this.capacity);
+
+        this.residents = new String[this.capacity];
+
+        // Sixteen 4-bit counters per long, one long per cached key.
+        int length = Integer.highestOneBit(Math.max(16, this.capacity) - 1) << 1;
+
+        this.sketch = new long[length];
+
+        this.sketchMask = (length << 4) - 1;
+
+        this.resetThreshold = this.capacity * 10;
+
+        for (int i = 0; i < HIT_STRIPES; i++)
+        {
+            hitTails[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Returns the cached prepared key for a raw key.
+     *
+     * @param rawKey The raw key as passed by the caller
+     * @return The cached prepared key, or null if the key is not cached
+     */
+    PreparedKey get(String rawKey)
+    {
+        if (rawKey == null)
+        {
+            return null;
+        }
+
+        PreparedKey prepared = entries.get(rawKey);
+
+        if (prepared == null)
+        {
+            misses.increment();
+
+            return null;
+        }
+
+        hits.increment();
+
+        recordHit(spread(rawKey.hashCode()));
+
+        return prepared;
+    }
+
+    /**
+     * Offers a freshly prepared key to the cache.
+     * <p>
+     * If another thread cached the same raw key concurrently, that instance is
+     * returned so that all callers share a single prepared key. The offer
+     * counts as an access of the key in the frequency sketch.
+     *
+     * @param rawKey   The raw key as passed by the caller
+     * @param prepared The prepared key
+     * @return The canonical prepared key instance
+     */
+    PreparedKey put(String rawKey, PreparedKey prepared)
+    {
+        if (!evictionLock.tryLock())
+        {
+            return prepared;
+        }
+
+        try
+        {
+            int hash = spread(rawKey.hashCode());
+
+            increment(hash);
+
+            PreparedKey existing = entries.get(rawKey);
+
+            if (existing != null)
+            {
+                return existing;
+            }
+
+            if (size < capacity)
+            {
+                residents[size++] = rawKey;
+            }
+            else
+            {
+                int victim = selectVictim();
+
+                if (frequency(hash) <= frequency(spread(residents[victim].hashCode())))
+                {
+                    return prepared;
+                }
+
+                entries.remove(residents[victim]);
+
+                residents[victim] = rawKey;
+
+                hand = victim + 1 == capacity ? 0 : victim + 1;
+
+                evictions.increment();
+            }
+
+            entries.put(rawKey, prepared);
+
+            return prepared;
+        }
+        finally
+        {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the cache counters.
+     *
+     * @return The cache statistics
+     */
+    KeyCacheStats stats()
+    {
+        return new KeyCacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), capacity);
+    }
+
+    /**
+     * Appends a hit to the calling thread's hit buffer, draining the buffer
+     * into the sketch once it is full and the eviction lock is free.
+     *
+     * @param hash The spread hash of the key
+     */
+    private void recordHit(int hash)
+    {
+        int stripe = spread(System.identityHashCode(Thread.currentThread())) & (HIT_STRIPES - 1);
+
+        int tail = hitTails[stripe].getAndIncrement();
+
+        hitBuffers.lazySet((stripe << HIT_BUFFER_SHIFT) + (tail & HIT_BUFFER_MASK), hash);
+
+        if ((tail & HIT_BUFFER_MASK) == HIT_BUFFER_MASK && evictionLock.tryLock())
+        {
+            try
+            {
+                int start = stripe << HIT_BUFFER_SHIFT;
+
+                for (int i = start; i <= start + HIT_BUFFER_MASK; i++)
+                {
+                    int buffered = hitBuffers.getAndSet(i, 0);
+
+                    if (buffered != 0)
+                    {
+                        increment(buffered);
+                    }
+                }
+            }
+            finally
+            {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Picks the least frequently used resident among a sample starting at the
+     * clock hand. Must be called while holding the eviction lock.
+     *
+     * @return The index of the victim in the resident table
+     */
+    private int selectVictim()
+    {
+        int victim = hand;
+
+        int victimFrequency = Integer.MAX_VALUE;
+
+        for (int i = 0, index = hand; i < SAMPLE_SIZE && i < capacity; i++)
+        {
+            int candidate = frequency(spread(residents[index].hashCode()));
+
+            if (candidate < victimFrequency)
+            {
+                victim = index;
+
+                victimFrequency = candidate;
+            }
+
+            index = index + 1 == capacity ? 0 : index + 1;
+        }
+
+        return victim;
+    }
+
+    /**
+     * Records an access in the frequency sketch, halving all counters once the
+     * sample period is reached. Must be called while holding the eviction
+     * lock.
+     *
+     * @param hash The spread hash of the key
+     */
+    private void increment(int hash)
+    {
+        boolean added = false;
+
+        for (int i = 0; i < 4; i++)
+        {
+            int index = indexOf(hash, i);
+
+            int shift = (index & 15) << 2;
+
+            if (((sketch[index >>> 4] >>> shift) & MAX_FREQUENCY) < MAX_FREQUENCY)
+            {
+                sketch[index >>> 4] += 1L << shift;
+
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= resetThreshold)
+        {
+            additions = 0;
+
+            for (int i = 0; i < sketch.length; i++)
+            {
+                sketch[i] = (sketch[i] >>> 1) & 0x7777777777777777L;
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated access frequency of a key. Must be called while
+     * holding the eviction lock.
+     *
+     * @param hash The spread hash of the key
+     * @return The minimum of the key's counters
+     */
+    private int frequency(int hash)
+    {
+        int frequency = MAX_FREQUENCY;
+
+        for (int i = 0; i < 4; i++)
+        {
+            int index = indexOf(hash, i);
+
+            frequency = Math.min(frequency, (int) (sketch[index >>> 4] >>> ((index & 15) << 2)) & MAX_FREQUENCY);
+        }
+
+        return frequency;
+    }
+
+    private int indexOf(int hash, int depth)
+    {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+
+        h += h >>> 32;
+
+        return (int) h & sketchMask;
+    }
+
+    private static int spread(int hash)
+    {
+        hash ^= hash >>> 17;
+
+        hash *= 0xED5AD4BB;
+
+        hash ^= hash >>> 11;
+
+        return hash;
+    }
+}
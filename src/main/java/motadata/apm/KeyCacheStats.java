@@ -0,0 +1,127 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+/**
+ * Immutable snapshot of the prepared-key cache counters.
+ * <p>
+ * Obtained through {@link CustomInstrumentation#keyCacheStats()} and intended
+ * for sizing the cache through the {@code motadata.apm.key.cache.size} system
+ * property.
+ *
+ * @since 1.1.0
+ */
+public final class KeyCacheStats
+{
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final int size;
+
+    private final int capacity;
+
+    KeyCacheStats(long hitCount, long missCount, long evictionCount, int size, int capacity)
+    {
+        this.hitCount = hitCount;
+
+        this.missCount = missCount;
+
+        this.evictionCount = evictionCount;
+
+        this.size = size;
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached prepared key.
+     *
+     * @return The hit count
+     */
+    public long getHitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that had to prepare the key.
+     *
+     * @return The miss count
+     */
+    public long getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of resident keys replaced by more frequent ones.
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of keys currently cached.
+     *
+     * @return The cache size
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of keys the cache holds.
+     *
+     * @return The cache capacity
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns the fraction of lookups served from the cache.
+     *
+     * @return The hit ratio, or 0 if no lookups were made
+     */
+    public double getHitRatio()
+    {
+        long total = hitCount + missCount;
+
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "KeyCacheStats{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount
+                + ", size=" + size + ", capacity=" + capacity + '}';
+    }
+}
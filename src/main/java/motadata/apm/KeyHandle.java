@@ -0,0 +1,125 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+
+/**
+ * Base class for pre-validated attribute key handles.
+ * <p>
+ * A handle is created once through one of the {@code CustomInstrumentation}
+ * key factories (for example {@link CustomInstrumentation#longKey(String)}).
+ * The key is validated and prepared a single time at creation, and the
+ * resulting name and OpenTelemetry {@link AttributeKey} are kept for the
+ * lifetime of the handle. Subsequent writes through the handle perform no key
+ * validation and create no key objects.
+ * <p>
+ * Handles are immutable and thread-safe; they are intended to be stored in
+ * {@code static final} fields and reused on hot paths.
+ *
+ * @param <T> The attribute value type
+ * @since 1.1.0
+ */
+public abstract class KeyHandle<T>
+{
+
+    private final String name;
+
+    private final AttributeKey<T> attributeKey;
+
+    private final PreparedKey preparedKey;
+
+    KeyHandle(String name, AttributeKey<T> attributeKey)
+    {
+        this.name = name;
+
+        this.attributeKey = attributeKey;
+
+        this.preparedKey = new PreparedKey(name);
+    }
+
+    /**
+     * Returns the prepared attribute key, including the "apm." prefix.
+     *
+     * @return The prepared attribute key
+     */
+    public final String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Returns the OpenTelemetry attribute key backing this handle.
+     *
+     * @return The pre-built attribute key
+     */
+    public final AttributeKey<T> getAttributeKey()
+    {
+        return attributeKey;
+    }
+
+    /**
+     * Validates that the target span is not null.
+     *
+     * @param span The span to validate
+     * @return The validated span
+     * @throws Exception if the span is null
+     */
+    final Span requireSpan(Span span) throws Exception
+    {
+        if (span == null)
+        {
+            throw new Exception("Span cannot be null for key: " + name);
+        }
+
+        return span;
+    }
+
+    /**
+     * Returns the prepared key backing this handle.
+     *
+     * @return The prepared key
+     */
+    final PreparedKey preparedKey()
+    {
+        return preparedKey;
+    }
+
+    /**
+     * Applies the configured sampling rate and rate limit of this handle's
+     * key.
+     *
+     * @param span The target span
+     * @return true if the write should proceed
+     */
+    final boolean admit(Span span)
+    {
+        return CustomInstrumentation.admit(span, preparedKey) == AttributeStatus.OK;
+    }
+
+    @Override
+    public final String toString()
+    {
+        return name;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.trace.Span;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key write limiter with a process-wide rate and a per-span cap.
+ * <p>
+ * The process-wide rate is a token bucket kept as a single theoretical
+ * arrival time per key (the generic cell rate algorithm): a write advances the
+ * time by one emission interval with compare-and-set and is refused if that
+ * would put it more than one second's worth of tokens ahead of the clock. The
+ * bucket therefore allows bursts of up to one second's quota and never blocks.
+ * The per-span cap counts writes per key in the span's {@link SpanState}.
+ * <p>
+ * At most {@value #MAX_KEYS} keys are limited; writes to further keys pass
+ * through unchanged.
+ *
+ * @since 1.1.0
+ */
+final class KeyRateLimiter
+{
+
+    private static final int MAX_KEYS = 1024;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long writesPerSecond;
+
+    private final int writesPerSpan;
+
+    private final long intervalNanos;
+
+    private final long capacityNanos;
+
+    private final ConcurrentHashMap<String, KeyLimit> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a limiter.
+     *
+     * @param writesPerSecond The process-wide writes per key per second, or 0
+     *                        for no rate limit
+     * @param writesPerSpan   The writes per key per span, or 0 for no span
+     *                        cap
+     */
+    KeyRateLimiter(long writesPerSecond, int writesPerSpan)
+    {
+        this.writesPerSecond = writesPerSecond;
+
+        this.writesPerSpan = writesPerSpan;
+
+        this.intervalNanos = writesPerSecond == 0 ? 0 : Math.max(1, NANOS_PER_SECOND / writesPerSecond);
+
+        this.capacityNanos = intervalNanos * writesPerSecond;
+    }
+
+    /**
+     * Takes a write permit for a key on a span.
+     * <p>
+     * The per-span cap is checked first: it is a plain counter on the span's
+     * state, while the rate limit contends on a process-wide bucket. A span
+     * permit taken for a write that the rate limit then sheds is returned.
+     *
+     * @param span The target span
+     * @param key  The prepared attribute key
+     * @return true if the write may proceed, false if it must be shed
+     */
+    boolean tryAcquire(Span span, String key)
+    {
+        KeyLimit limit = limits.get(key);
+
+        if (limit == null)
+        {
+            if (limits.size() >= MAX_KEYS)
+            {
+                return true;
+            }
+
+            limit = limits.computeIfAbsent(key, ignored -> new KeyLimit(System.nanoTime()));
+        }
+
+        SpanState state = writesPerSpan > 0 ? SpanStates.get(span) : null;
+
+        if (state != null && !state.acquireKeyWrite(key, writesPerSpan))
+        {
+            limit.shed.increment();
+
+            return false;
+        }
+
+        if (writesPerSecond > 0 && !limit.tryAcquire(System.nanoTime(), intervalNanos, capacityNanos))
+        {
+            if (state != null)
+            {
+                state.releaseKeyWrite(key);
+            }
+
+            limit.shed.increment();
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of shed writes for every limited key.
+     *
+     * @return An immutable map from prepared key to shed count
+     */
+    Map<String, Long> shedCounts()
+    {
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        for (Map.Entry<String, KeyLimit> entry : limits.entrySet())
+        {
+            counts.put(entry.getKey(), entry.getValue().shed.sum());
+        }
+
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Token bucket and shed counter of a single key.
+     */
+    private static final class KeyLimit
+    {
+
+        private final AtomicLong arrival;
+
+        private final LongAdder shed = new LongAdder();
+
+        private KeyLimit(long now)
+        {
+            this.arrival = new AtomicLong(now);
+        }
+
+        private boolean tryAcquire(long now, long intervalNanos, long capacityNanos)
+        {
+            while (true)
+            {
+                long current = arrival.get();
+
+                long next = (current - now < 0 ? now : current) + intervalNanos;
+
+                if (next - now > capacityNanos)
+                {
+                    return false;
+                }
+
+                if (arrival.compareAndSet(current, next))
+                {
+                    return true;
+                }
+            }
+        }
+    }
+}
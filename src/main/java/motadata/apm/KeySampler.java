@@ -0,0 +1,238 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Immutable set of per-key and per-prefix sampling rates.
+ * <p>
+ * A sampler is replaced as a whole whenever a rate changes. Each
+ * {@link PreparedKey} caches the rule resolved for it together with the
+ * sampler that resolved it, so the longest-prefix search only runs once per
+ * key and configuration. The decision itself is a single
+ * {@link ThreadLocalRandom} draw.
+ * <p>
+ * Rules keep their sampled-out counters across configuration changes as long
+ * as the rule itself is not removed.
+ *
+ * @since 1.1.0
+ */
+final class KeySampler
+{
+
+    private final Map<String, Rule> exactRules;
+
+    private final List<Rule> prefixRules;
+
+    private KeySampler(Map<String, Rule> exactRules, List<Rule> prefixRules)
+    {
+        this.exactRules = exactRules;
+
+        this.prefixRules = prefixRules;
+    }
+
+    /**
+     * Creates a sampler with a single rule.
+     *
+     * @param pattern The prepared key or key prefix
+     * @param prefix  Whether the pattern is a prefix
+     * @param rate    The sampling rate between 0 and 1
+     * @return The new sampler
+     */
+    static KeySampler of(String pattern, boolean prefix, double rate)
+    {
+        return new KeySampler(Collections.<String, Rule>emptyMap(), Collections.<Rule>emptyList()).with(pattern, prefix, rate);
+    }
+
+    /**
+     * Returns a copy of this sampler with the given rule added or replaced.
+     *
+     * @param pattern The prepared key or key prefix
+     * @param prefix  Whether the pattern is a prefix
+     * @param rate    The sampling rate between 0 and 1
+     * @return The new sampler
+     */
+    KeySampler with(String pattern, boolean prefix, double rate)
+    {
+        Map<String, Rule> exact = new HashMap<>(exactRules);
+
+        List<Rule> prefixes = new ArrayList<>(prefixRules);
+
+        if (prefix)
+        {
+            Rule previous = null;
+
+            for (int i = 0; i < prefixes.size(); i++)
+            {
+                if (prefixes.get(i).pattern.equals(pattern))
+                {
+                    previous = prefixes.remove(i);
+
+                    break;
+                }
+            }
+
+            prefixes.add(new Rule(pattern, rate, previous));
+
+            // Longest prefix first, so the first match is the most specific one.
+            prefixes.sort((left, right) -> Integer.compare(right.pattern.length(), left.pattern.length()));
+        }
+        else
+        {
+            exact.put(pattern, new Rule(pattern, rate, exact.get(pattern)));
+        }
+
+        return new KeySampler(exact, prefixes);
+    }
+
+    /**
+     * Decides whether a write to the given key is kept.
+     *
+     * @param key The prepared key
+     * @return true if the write is kept, false if it is sampled out
+     */
+    boolean sample(PreparedKey key)
+    {
+        Resolution resolution = key.getSampling();
+
+        if (resolution == null || resolution.sampler != this)
+        {
+            resolution = new Resolution(this, resolve(key.getName()));
+
+            key.setSampling(resolution);
+        }
+
+        Rule rule = resolution.rule;
+
+        if (rule == null || rule.rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rule.rate)
+        {
+            return true;
+        }
+
+        rule.sampledOut.increment();
+
+        return false;
+    }
+
+    /**
+     * Returns the number of sampled-out writes for every rule.
+     * <p>
+     * Exact rules are reported by prepared key, prefix rules by prefix
+     * followed by {@code .*}.
+     *
+     * @return An immutable map from rule to sampled-out count
+     */
+    Map<String, Long> sampledOutCounts()
+    {
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        for (Rule rule : exactRules.values())
+        {
+            counts.put(rule.pattern, rule.sampledOut.sum());
+        }
+
+        for (Rule rule : prefixRules)
+        {
+            counts.put(rule.pattern + ".*", rule.sampledOut.sum());
+        }
+
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Finds the rule for a prepared key: an exact rule if there is one,
+     * otherwise the longest prefix that ends on a dot boundary.
+     *
+     * @param name The prepared key
+     * @return The matching rule, or null if the key is not sampled
+     */
+    private Rule resolve(String name)
+    {
+        Rule rule = exactRules.get(name);
+
+        if (rule != null)
+        {
+            return rule;
+        }
+
+        for (Rule prefix : prefixRules)
+        {
+            String pattern = prefix.pattern;
+
+            if (name.startsWith(pattern) && (name.length() == pattern.length() || name.charAt(pattern.length()) == '.'))
+            {
+                return prefix;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * A sampling rule and its sampled-out counter.
+     */
+    private static final class Rule
+    {
+
+        private final String pattern;
+
+        private final double rate;
+
+        private final LongAdder sampledOut;
+
+        private Rule(String pattern, double rate, Rule previous)
+        {
+            this.pattern = pattern;
+
+            this.rate = rate;
+
+            this.sampledOut = previous != null ? previous.sampledOut : new LongAdder();
+        }
+    }
+
+    /**
+     * The rule resolved for a key by a given sampler, cached on the
+     * {@link PreparedKey}.
+     */
+    static final class Resolution
+    {
+
+        private final KeySampler sampler;
+
+        private final Rule rule;
+
+        private Resolution(KeySampler sampler, Rule rule)
+        {
+            this.sampler = sampler;
+
+            this.rule = rule;
+        }
+    }
+}
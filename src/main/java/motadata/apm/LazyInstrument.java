@@ -0,0 +1,95 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.metrics.Meter;
+
+import java.util.function.Function;
+
+/**
+ * OpenTelemetry instrument behind one metric name, rebuilt whenever the
+ * meter used by the library changes.
+ * <p>
+ * Instruments obtained before the SDK is passed to
+ * {@link CustomInstrumentation#setOpenTelemetry(io.opentelemetry.api.OpenTelemetry)}
+ * therefore start recording once it is, even when they are held in
+ * {@code static final} fields. No meter is read until the first
+ * measurement. Checking for a new meter costs two volatile reads per
+ * measurement; the instrument is only rebuilt when the meter has changed.
+ *
+ * @param <I> The OpenTelemetry instrument type
+ * @since 1.1.0
+ */
+final class LazyInstrument<I>
+{
+
+    private final Function<Meter, I> factory;
+
+    private volatile Resolved<I> resolved;
+
+    /**
+     * @param factory Builds the instrument from a meter
+     */
+    LazyInstrument(Function<Meter, I> factory)
+    {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the instrument built from the library's current meter.
+     *
+     * @return The instrument
+     */
+    I get()
+    {
+        Meter meter = CustomInstrumentation.meter();
+
+        Resolved<I> current = resolved;
+
+        if (current == null || current.meter != meter)
+        {
+            current = new Resolved<>(meter, factory.apply(meter));
+
+            resolved = current;
+        }
+
+        return current.instrument;
+    }
+
+    /**
+     * Immutable pair of a meter and the instrument built from it.
+     */
+    private static final class Resolved<I>
+    {
+
+        private final Meter meter;
+
+        private final I instrument;
+
+        private Resolved(Meter meter, I instrument)
+        {
+            this.meter = meter;
+
+            this.instrument = instrument;
+        }
+    }
+}
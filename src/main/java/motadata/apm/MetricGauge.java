@@ -0,0 +1,89 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleGauge;
+
+import java.util.Map;
+
+/**
+ * A synchronous double gauge with a namespaced name and optional pre-bound
+ * attributes.
+ * <p>
+ * Obtain instances through {@link CustomInstrumentation#gauge(String)}.
+ *
+ * @since 1.1.0
+ */
+public final class MetricGauge extends MetricInstrument
+{
+
+    private final LazyInstrument<DoubleGauge> gauge;
+
+    MetricGauge(String name, LazyInstrument<DoubleGauge> gauge, Attributes attributes)
+    {
+        super(name, attributes);
+
+        this.gauge = gauge;
+    }
+
+    /**
+     * Sets the gauge to a value with the bound attributes.
+     *
+     * @param value The current value
+     */
+    public void set(double value)
+    {
+        gauge.get().set(value, getAttributes());
+    }
+
+    /**
+     * Returns a copy of this gauge with additional bound attributes.
+     * <p>
+     * Keys are validated and namespaced like attribute keys, and values
+     * follow the same rules and supported types as
+     * {@link CustomInstrumentation#setAll(Map)}.
+     *
+     * @param attributes The attributes to bind, keyed by attribute key (will
+     *                   be prefixed with "apm." if needed)
+     * @return A gauge with this gauge's attributes plus the given ones
+     * @throws Exception if an attribute is invalid
+     */
+    public MetricGauge bind(Map<String, ?> attributes) throws Exception
+    {
+        return new MetricGauge(getName(), gauge, merge(attributes));
+    }
+
+    /**
+     * Returns a copy of this gauge with additional bound OpenTelemetry
+     * attributes, whose keys are validated and namespaced like any other
+     * key.
+     *
+     * @param attributes The attributes to bind
+     * @return A gauge with this gauge's attributes plus the given ones
+     * @throws Exception if an attribute is invalid
+     */
+    public MetricGauge bind(Attributes attributes) throws Exception
+    {
+        return bind(attributes == null ? null : CustomInstrumentation.asMap(attributes));
+    }
+}
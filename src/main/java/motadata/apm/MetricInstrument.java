@@ -0,0 +1,107 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.Attributes;
+
+import java.util.Map;
+
+/**
+ * Base class for namespaced metric instruments with pre-bound attributes.
+ * <p>
+ * Instruments are created once per name through the
+ * {@code CustomInstrumentation} metric factories (for example
+ * {@link CustomInstrumentation#counter(String)}), which validate the name
+ * like an attribute key. {@code bind} returns a copy of an instrument with
+ * additional attributes, validated and namespaced once. Recording through
+ * the copy is then a check that the library's meter has not changed and a
+ * single call to the OpenTelemetry instrument with the pre-built attributes,
+ * with no map lookups or allocation in this library.
+ * <p>
+ * Instruments are immutable and thread-safe; they are intended to be stored
+ * in {@code static final} fields and reused on hot paths. An instrument
+ * obtained before the SDK is passed to
+ * {@link CustomInstrumentation#setOpenTelemetry(io.opentelemetry.api.OpenTelemetry)}
+ * records through it from then on.
+ *
+ * @since 1.1.0
+ */
+public abstract class MetricInstrument
+{
+
+    private final String name;
+
+    private final Attributes attributes;
+
+    MetricInstrument(String name, Attributes attributes)
+    {
+        this.name = name;
+
+        this.attributes = attributes;
+    }
+
+    /**
+     * Returns the prepared metric name, including the "apm." prefix.
+     *
+     * @return The metric name
+     */
+    public final String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Returns the attributes bound to this instrument.
+     *
+     * @return The bound attributes, empty if none are bound
+     */
+    public final Attributes getAttributes()
+    {
+        return attributes;
+    }
+
+    /**
+     * Validates additional attributes and merges them with the bound ones.
+     *
+     * @param extra The attributes to add, keyed by attribute key (will be
+     *              prefixed with "apm." if needed)
+     * @return The merged attributes
+     * @throws Exception if an attribute is invalid
+     */
+    final Attributes merge(Map<String, ?> extra) throws Exception
+    {
+        Attributes prepared = CustomInstrumentation.prepareAttributes(extra, "metric " + name);
+
+        if (prepared.isEmpty())
+        {
+            return attributes;
+        }
+
+        return attributes.isEmpty() ? prepared : attributes.toBuilder().putAll(prepared).build();
+    }
+
+    @Override
+    public final String toString()
+    {
+        return attributes.isEmpty() ? name : name + attributes;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts the outcome of every attribute write, with a per-key breakdown of
+ * rejected writes.
+ * <p>
+ * Every counter is a {@link LongAdder}, so updates from many request threads
+ * land on separate cells instead of contending on one word. Accepted writes
+ * only touch the global counter for their outcome; the per-key table is only
+ * consulted on the rejection path.
+ * <p>
+ * Rejected keys are tracked in a fixed table of {@value #MAX_KEYS} slots with
+ * the space-saving algorithm: once the table is full, a new key takes over
+ * the slot with the lowest estimated count and inherits that count as its
+ * error. The most rejected keys therefore stay tracked however many
+ * one-off keys are rejected, and memory stays bounded. Counting a rejection
+ * for a tracked key is a lock-free lookup; taking over a slot only ever
+ * tries its lock, and the rejection is counted globally only if the lock is
+ * busy. Keys longer than {@value #MAX_KEY_LENGTH} characters are never
+ * tracked, so no key is copied.
+ *
+ * @since 1.1.0
+ */
+final class OutcomeCounters
+{
+
+    static final int MAX_KEYS = 512;
+
+    static final int MAX_KEY_LENGTH = 128;
+
+    static final int TOP_KEYS = 20;
+
+    private static final AttributeStatus[] STATUSES = AttributeStatus.values();
+
+    private final LongAdder[] totals = newCounters();
+
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(MAX_KEYS);
+
+    private final ConcurrentHashMap<String, Slot> slotsByKey = new ConcurrentHashMap<>();
+
+    private final ReentrantLock slotLock = new ReentrantLock();
+
+    private int size;
+
+    private final LongAdder untrackedRejections = new LongAdder();
+
+    /**
+     * Counts one write with the given outcome.
+     * <p>
+     * Rejections are also counted against the key, if it is known and can
+     * be tracked.
+     *
+     * @param status The outcome of the write
+     * @param key    The key the write targeted, or null if unknown
+     */
+    void record(AttributeStatus status, String key)
+    {
+        totals[status.ordinal()].increment();
+
+        if (status.isOk())
+        {
+            return;
+        }
+
+        Slot slot = key == null ? null : slotFor(key);
+
+        if (slot == null)
+        {
+            untrackedRejections.increment();
+
+            return;
+        }
+
+        slot.counters[status.ordinal()].increment();
+
+        slot.total.increment();
+    }
+
+    /**
+     * Counts several writes with the given outcome, without a per-key
+     * breakdown.
+     *
+     * @param status The outcome of the writes
+     * @param count  The number of writes
+     */
+    void add(AttributeStatus status, long count)
+    {
+        totals[status.ordinal()].add(count);
+    }
+
+    /**
+     * Returns the number of writes counted with the given outcome.
+     *
+     * @param status The outcome
+     * @return The count since startup
+     */
+    long sum(AttributeStatus status)
+    {
+        return totals[status.ordinal()].sum();
+    }
+
+    /**
+     * Takes a snapshot of the counters.
+     *
+     * @param keyCacheStats The prepared-key cache statistics to include
+     * @return The snapshot
+     */
+    InstrumentationStats snapshot(KeyCacheStats keyCacheStats)
+    {
+        Map<AttributeStatus, Long> counts = new EnumMap<>(AttributeStatus.class);
+
+        for (AttributeStatus status : STATUSES)
+        {
+            counts.put(status, totals[status.ordinal()].sum());
+        }
+
+        List<Slot> tracked = new ArrayList<>(MAX_KEYS);
+
+        for (int i = 0; i < MAX_KEYS; i++)
+        {
+            Slot slot = slots.get(i);
+
+            if (slot != null)
+            {
+                tracked.add(slot);
+            }
+        }
+
+        tracked.sort((left, right) -> Long.compare(right.estimate(), left.estimate()));
+
+        List<Map.Entry<String, Map<AttributeStatus, Long>>> keys = new ArrayList<>(TOP_KEYS);
+
+        for (int i = 0; i < tracked.size() && keys.size() < TOP_KEYS; i++)
+        {
+            Map<AttributeStatus, Long> keyCounts = new EnumMap<>(AttributeStatus.class);
+
+            for (AttributeStatus status : STATUSES)
+            {
+                long count = tracked.get(i).counters[status.ordinal()].sum();
+
+                if (count > 0)
+                {
+                    keyCounts.put(status, count);
+                }
+            }
+
+            if (!keyCounts.isEmpty())
+            {
+                keys.add(new AbstractMap.SimpleImmutableEntry<>(tracked.get(i).key, Collections.unmodifiableMap(keyCounts)));
+            }
+        }
+
+        Map<String, Map<AttributeStatus, Long>> topKeys = new LinkedHashMap<>();
+
+        for (int i = 0; i < keys.size(); i++)
+        {
+            topKeys.put(keys.get(i).getKey(), keys.get(i).getValue());
+        }
+
+        return new InstrumentationStats(counts, topKeys, untrackedRejections.sum(), keyCacheStats);
+    }
+
+    /**
+     * Returns the slot tracking the given key, taking over the slot with the
+     * lowest estimated count if the key is not tracked yet.
+     *
+     * @param key The rejected key
+     * @return The key's slot, or null if the key cannot be tracked right now
+     */
+    private Slot slotFor(String key)
+    {
+        if (key.length() > MAX_KEY_LENGTH)
+        {
+            return null;
+        }
+
+        Slot slot = slotsByKey.get(key);
+
+        if (slot != null || !slotLock.tryLock())
+        {
+            return slot;
+        }
+
+        try
+        {
+            slot = slotsByKey.get(key);
+
+            if (slot != null)
+            {
+                return slot;
+            }
+
+            if (size < MAX_KEYS)
+            {
+                slot = new Slot(key, 0);
+
+                slots.set(size++, slot);
+            }
+            else
+            {
+                int victim = 0;
+
+                long minimum = Long.MAX_VALUE;
+
+                for (int i = 0; i < MAX_KEYS; i++)
+                {
+                    long estimate = slots.get(i).estimate();
+
+                    if (estimate < minimum)
+                    {
+                        victim = i;
+
+                        minimum = estimate;
+                    }
+                }
+
+                Slot evicted = slots.get(victim);
+
+                slotsByKey.remove(evicted.key, evicted);
+
+                slot = new Slot(key, minimum);
+
+                slots.set(victim, slot);
+            }
+
+            slotsByKey.put(key, slot);
+
+            return slot;
+        }
+        finally
+        {
+            slotLock.unlock();
+        }
+    }
+
+    private static LongAdder[] newCounters()
+    {
+        LongAdder[] counters = new LongAdder[STATUSES.length];
+
+        for (int i = 0; i < counters.length; i++)
+        {
+            counters[i] = new LongAdder();
+        }
+
+        return counters;
+    }
+
+    /**
+     * Rejection counters of one tracked key.
+     */
+    private static final class Slot
+    {
+
+        private final String key;
+
+        private final long error;
+
+        private final LongAdder[] counters = newCounters();
+
+        private final LongAdder total = new LongAdder();
+
+        private Slot(String key, long error)
+        {
+            this.key = key;
+
+            this.error = error;
+        }
+
+        /**
+         * @return The estimated number of rejections of the key, which
+         *         overcounts by at most the inherited error
+         */
+        private long estimate()
+        {
+            return error + total.sum();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+
+import java.util.List;
+
+/**
+ * A prepared attribute key together with its typed OpenTelemetry
+ * {@link AttributeKey} instances.
+ * <p>
+ * Instances are held by the prepared-key cache, so every raw key resolves to a
+ * single {@code PreparedKey} whose typed attribute keys are built on first use
+ * and reused for every subsequent write of the same type.
+ * <p>
+ * The typed keys are created lazily without synchronization. Two threads may
+ * race to create the same key, in which case one of two equal, immutable
+ * instances is kept; this is harmless and avoids locking on the write path.
+ * <p>
+ * One shared stand-in per {@link AttributeStatus} lets the write path return
+ * either a key or the reason a write was refused without allocating.
+ *
+ * @since 1.1.0
+ */
+final class PreparedKey
+{
+
+    private static final PreparedKey[] REFUSED = new PreparedKey[AttributeStatus.values().length];
+
+    static
+    {
+        for (AttributeStatus status : AttributeStatus.values())
+        {
+            REFUSED[status.ordinal()] = new PreparedKey(null, status);
+        }
+    }
+
+    private final String name;
+
+    private final AttributeStatus refusal;
+
+    private AttributeKey<Boolean> booleanKey;
+
+    private AttributeKey<Double> doubleKey;
+
+    private AttributeKey<Long> longKey;
+
+    private AttributeKey<String> stringKey;
+
+    private AttributeKey<List<Boolean>> booleanArrayKey;
+
+    private AttributeKey<List<Double>> doubleArrayKey;
+
+    private AttributeKey<List<Long>> longArrayKey;
+
+    private AttributeKey<List<String>> stringArrayKey;
+
+    private KeySampler.Resolution sampling;
+
+    PreparedKey(String name)
+    {
+        this(name, null);
+    }
+
+    private PreparedKey(String name, AttributeStatus refusal)
+    {
+        this.name = name;
+
+        this.refusal = refusal;
+    }
+
+    /**
+     * Returns the stand-in for a refused write.
+     *
+     * @param status The reason the write was refused
+     * @return The shared stand-in for that status
+     */
+    static PreparedKey refused(AttributeStatus status)
+    {
+        return REFUSED[status.ordinal()];
+    }
+
+    boolean isRefused()
+    {
+        return refusal != null;
+    }
+
+    /**
+     * Returns the reason the write was refused, for a stand-in.
+     *
+     * @return The refusal status, or null for a real key
+     */
+    AttributeStatus getRefusal()
+    {
+        return refusal;
+    }
+
+    String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Returns the sampling rule last resolved for this key, or null.
+     * <p>
+     * Written without synchronization like the typed keys; a racing reader
+     * either sees a complete immutable resolution or resolves again.
+     *
+     * @return The cached resolution
+     */
+    KeySampler.Resolution getSampling()
+    {
+        return sampling;
+    }
+
+    void setSampling(KeySampler.Resolution sampling)
+    {
+        this.sampling = sampling;
+    }
+
+    AttributeKey<Boolean> booleanKey()
+    {
+        AttributeKey<Boolean> key = booleanKey;
+
+        if (key == null)
+        {
+            booleanKey = key = AttributeKey.booleanKey(name);
+        }
+
+        return key;
+    }
+
+    AttributeKey<Double> doubleKey()
+    {
+        AttributeKey<Double> key = doubleKey;
+
+        if (key == null)
+        {
+            doubleKey = key = AttributeKey.doubleKey(name);
+        }
+
+        return key;
+    }
+
+    AttributeKey<Long> longKey()
+    {
+        AttributeKey<Long> key = longKey;
+
+        if (key == null)
+        {
+            longKey = key = AttributeKey.longKey(name);
+        }
+
+        return key;
+    }
+
+    AttributeKey<String> stringKey()
+    {
+        AttributeKey<String> key = stringKey;
+
+        if (key == null)
+        {
+            stringKey = key = AttributeKey.stringKey(name);
+        }
+
+        return key;
+    }
+
+    AttributeKey<List<Boolean>> booleanArrayKey()
+    {
+        AttributeKey<List<Boolean>> key = booleanArrayKey;
+
+        if (key == null)
+        {
+            booleanArrayKey = key = AttributeKey.booleanArrayKey(name);
+        }
+
+        return key;
+    }
+
+    AttributeKey<List<Double>> doubleArrayKey()
+    {
+        AttributeKey<List<Double>> key = doubleArrayKey;
+
+        if (key == null)
+        {
+            doubleArrayKey = key = AttributeKey.doubleArrayKey(name);
+        }
+
+        return key;
+    }
+
+    AttributeKey<List<Long>> longArrayKey()
+    {
+        AttributeKey<List<Long>> key = longArrayKey;
+
+        if (key == null)
+        {
+            longArrayKey = key = AttributeKey.longArrayKey(name);
+        }
+
+        return key;
+    }
+
+    AttributeKey<List<String>> stringArrayKey()
+    {
+        AttributeKey<List<String>> key = stringArrayKey;
+
+        if (key == null)
+        {
+            stringArrayKey = key = AttributeKey.stringArrayKey(name);
+        }
+
+        return key;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact, immutable {@link List} views backed by primitive arrays.
+ * <p>
+ * The OpenTelemetry API accepts array attributes as {@code List<Long>},
+ * {@code List<Double>} and {@code List<Boolean>}. These views let primitive
+ * arrays be handed to a span without boxing every element into an
+ * {@code ArrayList}; elements are boxed only if and when they are read.
+ * <p>
+ * The views never copy on their own. Callers pass arrays they own
+ * exclusively, so the list contents cannot change after being handed to the
+ * SDK.
+ *
+ * @since 1.1.0
+ */
+final class PrimitiveLists
+{
+
+    private PrimitiveLists()
+    {
+        throw new AssertionError("PrimitiveLists is a utility class and should not be instantiated");
+    }
+
+    /**
+     * Returns an immutable list view over a long array.
+     *
+     * @param values The backing array (must not be modified afterwards)
+     * @return The list view
+     */
+    static List<Long> ofLongs(long[] values)
+    {
+        return new LongArrayList(values);
+    }
+
+    /**
+     * Returns an immutable list view over a double array.
+     *
+     * @param values The backing array (must not be modified afterwards)
+     * @return The list view
+     */
+    static List<Double> ofDoubles(double[] values)
+    {
+        return new DoubleArrayList(values);
+    }
+
+    /**
+     * Returns an immutable list view over a boolean array.
+     *
+     * @param values The backing array (must not be modified afterwards)
+     * @return The list view
+     */
+    static List<Boolean> ofBooleans(boolean[] values)
+    {
+        return new BooleanArrayList(values);
+    }
+
+    private static final class LongArrayList extends AbstractList<Long> implements RandomAccess
+    {
+
+        private final long[] values;
+
+        private LongArrayList(long[] values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        public Long get(int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return values.length;
+        }
+    }
+
+    private static final class DoubleArrayList extends AbstractList<Double> implements RandomAccess
+    {
+
+        private final double[] values;
+
+        private DoubleArrayList(double[] values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return values.length;
+        }
+    }
+
+    private static final class BooleanArrayList extends AbstractList<Boolean> implements RandomAccess
+    {
+
+        private final boolean[] values;
+
+        private BooleanArrayList(boolean[] values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        public Boolean get(int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return values.length;
+        }
+    }
+}
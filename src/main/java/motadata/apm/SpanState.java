@@ -0,0 +1,465 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mutable accounting attached to a single span.
+ * <p>
+ * Instances are obtained through {@link SpanStates#get(Span)}
+ * and updated with lock-free atomics, so concurrent writers to the same span
+ * never block each other.
+ *
+ * @since 1.1.0
+ */
+final class SpanState
+{
+
+    private static final int MARKER_NONE = 0;
+
+    private static final int MARKER_PENDING = 1;
+
+    private static final int MARKER_WRITTEN = 2;
+
+    private final Span span;
+
+    private final long createdNanos;
+
+    private final AtomicInteger attributeCount = new AtomicInteger();
+
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    private final AtomicInteger marker = new AtomicInteger(MARKER_NONE);
+
+    private final AtomicInteger eventCount = new AtomicInteger();
+
+    private final AtomicReference<ConcurrentHashMap<String, AtomicLong>> attributeSizes = new AtomicReference<>();
+
+    private final AtomicReference<ConcurrentHashMap<String, AtomicInteger>> keyWrites = new AtomicReference<>();
+
+    private final AtomicReference<ConcurrentHashMap<String, Duration>> durations = new AtomicReference<>();
+
+    /**
+     * @param span         The span the state belongs to
+     * @param createdNanos The {@link System#nanoTime()} at creation
+     */
+    SpanState(Span span, long createdNanos)
+    {
+        this.span = span;
+
+        this.createdNanos = createdNanos;
+    }
+
+    /**
+     * Tells whether the state can be discarded, because its span has ended
+     * or has outlived the maximum age.
+     *
+     * @param now         The current {@link System#nanoTime()}
+     * @param maxAgeNanos The maximum age of a state
+     * @return true if the state can be discarded
+     */
+    boolean isStale(long now, long maxAgeNanos)
+    {
+        return !span.isRecording() || now - createdNanos > maxAgeNanos;
+    }
+
+    /**
+     * Applies the limits to an attribute write and reserves its share of the
+     * span budget.
+     * <p>
+     * Only the first write of a key counts against the attribute count, as
+     * the SDK keeps a single value per key. An overwrite is charged the
+     * difference between its size and the size of the value it replaces.
+     *
+     * @param <T>    The attribute value type
+     * @param limits The limits to apply
+     * @param key    The attribute key
+     * @param value  The attribute value
+     * @return The value to write, possibly truncated, or null if the write
+     *         must be dropped
+     */
+    <T> T admit(AttributeLimits limits, AttributeKey<T> key, T value)
+    {
+        T bounded = limits.truncate(key, value);
+
+        if (bounded != value)
+        {
+            flagTruncated();
+        }
+
+        if (!charge(limits, key.getKey(), AttributeLimits.sizeOf(key, bounded)))
+        {
+            flagTruncated();
+
+            return null;
+        }
+
+        return bounded;
+    }
+
+    /**
+     * Counts a write to a key against the per-span cap.
+     * <p>
+     * The per-key counters are only allocated the first time a span is rate
+     * limited.
+     *
+     * @param key The prepared attribute key
+     * @param max The maximum number of writes per key on this span
+     * @return true if the write is within the cap
+     */
+    boolean acquireKeyWrite(String key, int max)
+    {
+        ConcurrentHashMap<String, AtomicInteger> writes = keyWrites.get();
+
+        if (writes == null)
+        {
+            keyWrites.compareAndSet(null, new ConcurrentHashMap<>());
+
+            writes = keyWrites.get();
+        }
+
+        AtomicInteger count = writes.get(key);
+
+        if (count == null)
+        {
+            count = writes.computeIfAbsent(key, ignored -> new AtomicInteger());
+        }
+
+        int current;
+
+        do
+        {
+            current = count.get();
+
+            if (current >= max)
+            {
+                return false;
+            }
+        }
+        while (!count.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    /**
+     * Returns a write permit taken by {@link #acquireKeyWrite(String, int)}
+     * for a write that was shed afterwards.
+     *
+     * @param key The prepared attribute key
+     */
+    void releaseKeyWrite(String key)
+    {
+        keyWrites.get().get(key).decrementAndGet();
+    }
+
+    /**
+     * Returns the running duration total of a key on this span, creating it
+     * on first use.
+     * <p>
+     * The totals are only allocated the first time a duration is recorded on
+     * the span.
+     *
+     * @param key The prepared attribute key
+     * @return The duration total of the key
+     */
+    Duration duration(String key)
+    {
+        ConcurrentHashMap<String, Duration> totals = durations.get();
+
+        if (totals == null)
+        {
+            durations.compareAndSet(null, new ConcurrentHashMap<>());
+
+            totals = durations.get();
+        }
+
+        Duration total = totals.get(key);
+
+        return total != null ? total : totals.computeIfAbsent(key, ignored -> new Duration());
+    }
+
+    /**
+     * Counts an event against the per-span event cap.
+     *
+     * @param max The maximum number of events on this span
+     * @return true if the event is within the cap
+     */
+    boolean acquireEvent(int max)
+    {
+        int count;
+
+        do
+        {
+            count = eventCount.get();
+
+            if (count >= max)
+            {
+                return false;
+            }
+        }
+        while (!eventCount.compareAndSet(count, count + 1));
+
+        return true;
+    }
+
+    /**
+     * Claims the right to write the truncation marker.
+     *
+     * @return true exactly once, after the first truncation or drop on this
+     *         span
+     */
+    boolean takeMarker()
+    {
+        return marker.get() == MARKER_PENDING && marker.compareAndSet(MARKER_PENDING, MARKER_WRITTEN);
+    }
+
+    private void flagTruncated()
+    {
+        marker.compareAndSet(MARKER_NONE, MARKER_PENDING);
+    }
+
+    private boolean charge(AttributeLimits limits, String key, long bytes)
+    {
+        ConcurrentHashMap<String, AtomicLong> sizes = attributeSizes.get();
+
+        if (sizes == null)
+        {
+            attributeSizes.compareAndSet(null, new ConcurrentHashMap<>());
+
+            sizes = attributeSizes.get();
+        }
+
+        while (true)
+        {
+            AtomicLong size = sizes.get(key);
+
+            if (size == null)
+            {
+                if (!reserveKey(limits))
+                {
+                    return false;
+                }
+
+                if (!reserveBytes(limits, bytes))
+                {
+                    attributeCount.decrementAndGet();
+
+                    return false;
+                }
+
+                if (sizes.putIfAbsent(key, new AtomicLong(bytes)) == null)
+                {
+                    return true;
+                }
+
+                // Another writer registered the key first; retry as an
+                // overwrite.
+                attributeCount.decrementAndGet();
+
+                totalBytes.addAndGet(-bytes);
+
+                continue;
+            }
+
+            long previous = size.get();
+
+            long delta = bytes - previous;
+
+            if (!reserveBytes(limits, delta))
+            {
+                return false;
+            }
+
+            if (size.compareAndSet(previous, bytes))
+            {
+                return true;
+            }
+
+            totalBytes.addAndGet(-delta);
+        }
+    }
+
+    private boolean reserveKey(AttributeLimits limits)
+    {
+        int count;
+
+        do
+        {
+            count = attributeCount.get();
+
+            if (count >= limits.getMaxAttributeCount())
+            {
+                return false;
+            }
+        }
+        while (!attributeCount.compareAndSet(count, count + 1));
+
+        return true;
+    }
+
+    private boolean reserveBytes(AttributeLimits limits, long bytes)
+    {
+        if (bytes <= 0)
+        {
+            totalBytes.addAndGet(bytes);
+
+            return true;
+        }
+
+        long total;
+
+        do
+        {
+            total = totalBytes.get();
+
+            if (total + bytes > limits.getMaxTotalBytes())
+            {
+                return false;
+            }
+        }
+        while (!totalBytes.compareAndSet(total, total + bytes));
+
+        return true;
+    }
+
+    /**
+     * Running total of a measured key on a span.
+     * <p>
+     * The first measurement registers the key: exactly one thread wins the
+     * registration and writes the attribute through the per-span limits.
+     * Once registered, totals are published by one thread at a time, which
+     * always writes the latest total, so the attribute only ever grows and
+     * ends on the final total.
+     */
+    static final class Duration
+    {
+
+        private static final int NEW = 0;
+
+        private static final int REGISTERING = 1;
+
+        private static final int REGISTERED = 2;
+
+        private static final int REJECTED = 3;
+
+        private final AtomicLong total = new AtomicLong();
+
+        private final AtomicInteger registration = new AtomicInteger(NEW);
+
+        private final AtomicInteger publishers = new AtomicInteger();
+
+        private long published;
+
+        /**
+         * Adds a measurement to the total.
+         *
+         * @param nanos The measured duration in nanoseconds
+         * @return The new total
+         */
+        long add(long nanos)
+        {
+            return total.addAndGet(nanos);
+        }
+
+        /**
+         * Claims the registration of the key.
+         *
+         * @return true for exactly one caller, which must then call
+         *         {@link #registered(long)} or {@link #rejected()}
+         */
+        boolean register()
+        {
+            return registration.get() == NEW && registration.compareAndSet(NEW, REGISTERING);
+        }
+
+        /**
+         * Completes the registration after the first total was written.
+         *
+         * @param written The total written by the registering thread
+         */
+        void registered(long written)
+        {
+            published = written;
+
+            registration.set(REGISTERED);
+        }
+
+        /**
+         * Completes the registration after the limits dropped the first
+         * write, so the key is never written on this span.
+         */
+        void rejected()
+        {
+            registration.set(REJECTED);
+        }
+
+        /**
+         * @return true if the limits dropped the key on this span
+         */
+        boolean isRejected()
+        {
+            return registration.get() == REJECTED;
+        }
+
+        /**
+         * Writes the latest total to the span once the key is registered.
+         * <p>
+         * If another thread is publishing, it is told to publish again and
+         * this call returns immediately. While the key is still being
+         * registered, the registering thread publishes the total.
+         *
+         * @param span The span
+         * @param key  The attribute key
+         */
+        void publish(Span span, AttributeKey<Long> key)
+        {
+            if (registration.get() != REGISTERED || publishers.getAndIncrement() != 0)
+            {
+                return;
+            }
+
+            int missed = 1;
+
+            do
+            {
+                long current = total.get();
+
+                if (current != published)
+                {
+                    span.setAttribute(key, current);
+
+                    published = current;
+                }
+
+                missed = publishers.addAndGet(-missed);
+            }
+            while (missed != 0);
+        }
+    }
+}
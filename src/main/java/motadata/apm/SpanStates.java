@@ -0,0 +1,226 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registry that attaches a {@link SpanState} to each span written through
+ * this library.
+ * <p>
+ * OpenTelemetry contexts are immutable and owned by the caller, so state
+ * cannot be stored in the span's context after the span has started. Instead,
+ * states are kept in a concurrent map keyed by the trace and span ids of the
+ * span's {@link SpanContext}. Every {@link Span} object describing the same
+ * span therefore shares one state, including wrappers that are created
+ * afresh on every lookup, such as the spans the OpenTelemetry Java agent
+ * bridges into the application.
+ * <p>
+ * Looking up an existing state takes no lock and allocates nothing: the
+ * lookup goes through a per-thread reusable probe key and
+ * {@link ConcurrentHashMap#get(Object)}. Only the first write to a span
+ * allocates its state and key.
+ * <p>
+ * Each state holds its span, and states are swept once the map has doubled
+ * in size since the last sweep, so the cost is amortized over the spans
+ * created in between. A sweep removes the states of spans that have ended,
+ * which no longer record, and of spans older than {@value #MAX_AGE_MINUTES}
+ * minutes, so spans that are never ended do not hold their state forever.
+ *
+ * @since 1.1.0
+ */
+final class SpanStates
+{
+
+    private static final int MIN_SWEEP_SIZE = 1024;
+
+    private static final long MAX_AGE_MINUTES = 60;
+
+    private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(MAX_AGE_MINUTES);
+
+    private static final ConcurrentHashMap<Object, SpanState> STATES = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<SpanKey> PROBES = ThreadLocal.withInitial(SpanKey::new);
+
+    private static final AtomicBoolean SWEEPING = new AtomicBoolean();
+
+    private static volatile int sweepSize = MIN_SWEEP_SIZE;
+
+    private SpanStates()
+    {
+        throw new AssertionError("SpanStates is a utility class and should not be instantiated");
+    }
+
+    /**
+     * Returns the state attached to a span, creating it on first use.
+     *
+     * @param span The span (must not be null)
+     * @return The span's state
+     */
+    static SpanState get(Span span)
+    {
+        SpanState state = find(span);
+
+        if (state != null)
+        {
+            return state;
+        }
+
+        if (STATES.size() >= sweepSize)
+        {
+            sweep();
+        }
+
+        SpanContext context = span.getSpanContext();
+
+        SpanState created = new SpanState(span, System.nanoTime());
+
+        state = STATES.putIfAbsent(new SpanKey(context.getTraceId(), context.getSpanId()), created);
+
+        return state != null ? state : created;
+    }
+
+    /**
+     * Returns the state attached to a span, if any.
+     *
+     * @param span The span (must not be null)
+     * @return The span's state, or null if nothing was written to it yet
+     */
+    static SpanState find(Span span)
+    {
+        SpanContext context = span.getSpanContext();
+
+        SpanKey probe = PROBES.get();
+
+        probe.set(context.getTraceId(), context.getSpanId());
+
+        try
+        {
+            return STATES.get(probe);
+        }
+        finally
+        {
+            probe.set(null, null);
+        }
+    }
+
+    /**
+     * Returns the number of spans with a state.
+     *
+     * @return The number of states
+     */
+    static int size()
+    {
+        return STATES.size();
+    }
+
+    private static void sweep()
+    {
+        if (!SWEEPING.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        try
+        {
+            long now = System.nanoTime();
+
+            for (Iterator<SpanState> states = STATES.values().iterator(); states.hasNext(); )
+            {
+                if (states.next().isStale(now, MAX_AGE_NANOS))
+                {
+                    states.remove();
+                }
+            }
+
+            sweepSize = Math.max(MIN_SWEEP_SIZE, STATES.size() * 2);
+        }
+        finally
+        {
+            SWEEPING.set(false);
+        }
+    }
+
+    /**
+     * Map key made of the hex trace and span ids of a span.
+     * <p>
+     * Keys stored in the map are never changed; the per-thread probes are
+     * the only instances that are reset between lookups.
+     */
+    private static final class SpanKey
+    {
+
+        private String traceId;
+
+        private String spanId;
+
+        private int hash;
+
+        private SpanKey()
+        {
+        }
+
+        private SpanKey(String traceId, String spanId)
+        {
+            set(traceId, spanId);
+        }
+
+        private void set(String traceId, String spanId)
+        {
+            this.traceId = traceId;
+
+            this.spanId = spanId;
+
+            this.hash = traceId == null ? 0 : 31 * traceId.hashCode() + spanId.hashCode();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (other == this)
+            {
+                return true;
+            }
+
+            if (!(other instanceof SpanKey))
+            {
+                return false;
+            }
+
+            SpanKey key = (SpanKey) other;
+
+            return hash == key.hash && spanId.equals(key.spanId) && traceId.equals(key.traceId);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Pre-validated handle that times code and records the elapsed nanoseconds
+ * as a long attribute.
+ * <p>
+ * Obtain instances through {@link CustomInstrumentation#stopwatch(String)}.
+ * Measurements of the same key on the same span accumulate: the attribute
+ * always holds the total of every measurement so far. The handle keeps no
+ * timing state of its own, so one instance can be shared by all threads:
+ * {@link #start()} returns the start time and {@link #stop(long)} takes it
+ * back.
+ * <pre>{@code
+ * long started = DB_TIME.start();
+ * ...
+ * DB_TIME.stop(started);
+ * }</pre>
+ *
+ * @since 1.1.0
+ */
+public final class Stopwatch extends KeyHandle<Long>
+{
+
+    Stopwatch(String name)
+    {
+        super(name, AttributeKey.longKey(name));
+    }
+
+    /**
+     * Starts a measurement.
+     *
+     * @return The start time, to pass to {@link #stop(long)}
+     */
+    public long start()
+    {
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends a measurement and adds it to this key's total on the current span.
+     *
+     * @param startNanos The value returned by {@link #start()}
+     * @return The elapsed time in nanoseconds
+     * @throws Exception if no active span is available
+     */
+    public long stop(long startNanos) throws Exception
+    {
+        return stop(CustomInstrumentation.getCurrentSpan(), startNanos);
+    }
+
+    /**
+     * Ends a measurement and adds it to this key's total on the given span.
+     * <p>
+     * The elapsed time is returned even if the span is not recording.
+     *
+     * @param span       The span to write to (cannot be null)
+     * @param startNanos The value returned by {@link #start()}
+     * @return The elapsed time in nanoseconds
+     * @throws Exception if the span is null
+     */
+    public long stop(Span span, long startNanos) throws Exception
+    {
+        long elapsed = System.nanoTime() - startNanos;
+
+        if (CustomInstrumentation.isRecording(requireSpan(span)))
+        {
+            CustomInstrumentation.recordDuration(span, preparedKey(), elapsed);
+        }
+
+        return elapsed;
+    }
+
+    /**
+     * Runs a task and adds its duration to this key's total on the current
+     * span, also when the task throws.
+     *
+     * @param runnable The task to run
+     * @throws Exception if the task is null or no active span is available;
+     *                   unchecked exceptions thrown by the task are rethrown
+     *                   unchanged
+     */
+    public void time(Runnable runnable) throws Exception
+    {
+        CustomInstrumentation.time(CustomInstrumentation.getCurrentSpan(), preparedKey(), runnable);
+    }
+
+    /**
+     * Runs a task, adds its duration to this key's total on the current span,
+     * also when the task throws, and returns its result.
+     *
+     * @param <V>      The result type
+     * @param callable The task to run
+     * @return The result of the task
+     * @throws Exception if the task is null, no active span is available, or
+     *                   the task throws
+     */
+    public <V> V time(Callable<V> callable) throws Exception
+    {
+        return CustomInstrumentation.time(CustomInstrumentation.getCurrentSpan(), preparedKey(), callable);
+    }
+}
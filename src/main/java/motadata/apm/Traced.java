@@ -0,0 +1,58 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method inside its own child span when the
+ * {@code custom-instrumentation-agent} Java agent is attached.
+ * <p>
+ * The woven method behaves like a call to
+ * {@link CustomInstrumentation#trace(String, java.util.concurrent.Callable)}.
+ * The span is current while the method runs, exceptions are recorded with an
+ * error status and rethrown, and the span is always ended. Span names follow
+ * the key rules; the default name is the simple class name and method name,
+ * for example {@code apm.orderservice.placeorder}.
+ * <p>
+ * Constructors, abstract methods and interface methods are not woven.
+ * Without the agent the annotation has no effect.
+ *
+ * @since 1.1.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface Traced
+{
+    /**
+     * Returns the span name.
+     *
+     * @return The span name (will be prefixed with "apm." if needed), or an
+     *         empty string for the default name
+     */
+    String value() default "";
+}
@@ -0,0 +1,288 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+
+/**
+ * Entry points called by code woven by the {@code custom-instrumentation-agent}
+ * Java agent.
+ * <p>
+ * Not intended to be called directly. Woven code reaches these methods with
+ * plain static calls, without reflection. None of them throws, so
+ * instrumentation can never change the behavior of the woven method. Key
+ * handles are created once per woven class and stored in synthetic static
+ * fields of that class.
+ *
+ * @since 1.1.0
+ */
+public final class WeaveSupport
+{
+
+    private WeaveSupport()
+    {
+        throw new AssertionError("WeaveSupport is a utility class and should not be instantiated");
+    }
+
+    /**
+     * Starts a child span of the current span and makes it current.
+     *
+     * @param name The prepared span name
+     * @return The state to pass to {@link #exit(Object, Throwable)}, or null if
+     *         the span could not be started
+     */
+    public static Object enter(String name)
+    {
+        try
+        {
+            Span span = CustomInstrumentation.tracer().spanBuilder(name).startSpan();
+
+            return new TracedScope(span, span.makeCurrent());
+        }
+        catch (RuntimeException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Closes the scope opened by {@link #enter(String)} and ends the span,
+     * recording the error if the method threw.
+     *
+     * @param state The state returned by {@link #enter(String)}
+     * @param error The exception thrown by the method, or null
+     */
+    public static void exit(Object state, Throwable error)
+    {
+        if (!(state instanceof TracedScope))
+        {
+            return;
+        }
+
+        TracedScope traced = (TracedScope) state;
+
+        try
+        {
+            if (error != null)
+            {
+                CustomInstrumentation.writeException(traced.span, error);
+
+                traced.span.setStatus(StatusCode.ERROR);
+            }
+
+            traced.scope.close();
+        }
+        catch (RuntimeException ignored)
+        {
+            // Instrumentation must not alter the woven method's outcome.
+        }
+        finally
+        {
+            traced.span.end();
+        }
+    }
+
+    /**
+     * Creates a boolean key handle for a key validated at weave time.
+     *
+     * @param key The prepared key
+     * @return The handle, or null if the key is rejected
+     */
+    public static BooleanKey booleanKey(String key)
+    {
+        try
+        {
+            return CustomInstrumentation.booleanKey(key);
+        }
+        catch (Exception exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a double key handle for a key validated at weave time.
+     *
+     * @param key The prepared key
+     * @return The handle, or null if the key is rejected
+     */
+    public static DoubleKey doubleKey(String key)
+    {
+        try
+        {
+            return CustomInstrumentation.doubleKey(key);
+        }
+        catch (Exception exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a long key handle for a key validated at weave time.
+     *
+     * @param key The prepared key
+     * @return The handle, or null if the key is rejected
+     */
+    public static LongKey longKey(String key)
+    {
+        try
+        {
+            return CustomInstrumentation.longKey(key);
+        }
+        catch (Exception exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a string key handle for a key validated at weave time.
+     *
+     * @param key The prepared key
+     * @return The handle, or null if the key is rejected
+     */
+    public static StringKey stringKey(String key)
+    {
+        try
+        {
+            return CustomInstrumentation.stringKey(key);
+        }
+        catch (Exception exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a boolean attribute to the current span.
+     *
+     * @param key   The key handle, or null
+     * @param value The value
+     */
+    public static void set(BooleanKey key, boolean value)
+    {
+        if (key == null)
+        {
+            return;
+        }
+
+        try
+        {
+            key.set(Span.current(), value);
+        }
+        catch (Exception ignored)
+        {
+            // Rejections are already counted by the handle.
+        }
+    }
+
+    /**
+     * Writes a double attribute to the current span.
+     *
+     * @param key   The key handle, or null
+     * @param value The value
+     */
+    public static void set(DoubleKey key, double value)
+    {
+        if (key == null)
+        {
+            return;
+        }
+
+        try
+        {
+            key.set(Span.current(), value);
+        }
+        catch (Exception ignored)
+        {
+            // Rejections are already counted by the handle.
+        }
+    }
+
+    /**
+     * Writes a long attribute to the current span.
+     *
+     * @param key   The key handle, or null
+     * @param value The value
+     */
+    public static void set(LongKey key, long value)
+    {
+        if (key == null)
+        {
+            return;
+        }
+
+        try
+        {
+            key.set(Span.current(), value);
+        }
+        catch (Exception ignored)
+        {
+            // Rejections are already counted by the handle.
+        }
+    }
+
+    /**
+     * Writes an object as a string attribute to the current span, skipping
+     * nulls.
+     *
+     * @param key   The key handle, or null
+     * @param value The value
+     */
+    public static void set(StringKey key, Object value)
+    {
+        if (key == null || value == null)
+        {
+            return;
+        }
+
+        try
+        {
+            key.set(Span.current(), String.valueOf(value));
+        }
+        catch (Exception ignored)
+        {
+            // Rejections are already counted by the handle.
+        }
+    }
+
+    /**
+     * A started span and the scope that made it current.
+     */
+    private static final class TracedScope
+    {
+
+        private final Span span;
+
+        private final Scope scope;
+
+        private TracedScope(Span span, Scope scope)
+        {
+            this.span = span;
+
+            this.scope = scope;
+        }
+    }
+}
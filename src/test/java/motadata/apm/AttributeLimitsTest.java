@@ -0,0 +1,170 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttributeLimitsTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    @AfterEach
+    void resetLimits() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.unlimited());
+    }
+
+    @Test
+    void overwritesDoNotConsumeTheAttributeCount() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.builder().setMaxAttributeCount(3).build());
+
+        Span span = spans.recording();
+
+        for (int i = 0; i < 200; i++)
+        {
+            assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "retry.count", (long) i));
+        }
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "second", "b"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "third", "c"));
+
+        assertEquals(AttributeStatus.LIMIT_EXCEEDED, CustomInstrumentation.trySet(span, "fourth", "d"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "second", "again"));
+
+        SpanData data = spans.finish(span);
+
+        assertEquals(199L, data.getAttributes().get(AttributeKey.longKey("apm.retry.count")));
+
+        assertEquals("again", data.getAttributes().get(AttributeKey.stringKey("apm.second")));
+
+        assertNull(data.getAttributes().get(AttributeKey.stringKey("apm.fourth")));
+
+        assertTrue(data.getAttributes().get(CustomInstrumentation.TRUNCATED_KEY));
+    }
+
+    @Test
+    void overwritesAreChargedTheSizeDifference() throws Exception
+    {
+        // "apm.k" is 5 bytes, so each value may use up to 15 of the 20 bytes.
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.builder().setMaxTotalBytes(20).build());
+
+        Span span = spans.recording();
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "k", "0123456789"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "k", "012345678901234"));
+
+        assertEquals(AttributeStatus.LIMIT_EXCEEDED, CustomInstrumentation.trySet(span, "k", "0123456789012345"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "k", "a"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "j", "012345678"));
+
+        SpanData data = spans.finish(span);
+
+        assertEquals("a", data.getAttributes().get(AttributeKey.stringKey("apm.k")));
+
+        assertEquals("012345678", data.getAttributes().get(AttributeKey.stringKey("apm.j")));
+    }
+
+    @Test
+    void wrappersOfOneSpanShareItsBudget() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.builder().setMaxAttributeCount(2).build());
+
+        Span span = spans.recording();
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(spans.bridged(span), "first", "a"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(spans.bridged(span), "second", "b"));
+
+        assertEquals(AttributeStatus.LIMIT_EXCEEDED, CustomInstrumentation.trySet(spans.bridged(span), "third", "c"));
+
+        assertEquals(AttributeStatus.LIMIT_EXCEEDED, CustomInstrumentation.trySet(span, "fourth", "d"));
+
+        SpanData data = spans.finish(span);
+
+        assertEquals("b", data.getAttributes().get(AttributeKey.stringKey("apm.second")));
+
+        assertNull(data.getAttributes().get(AttributeKey.stringKey("apm.third")));
+
+        assertTrue(data.getAttributes().get(CustomInstrumentation.TRUNCATED_KEY));
+    }
+
+    @Test
+    void fullyOverflowingBatchStillMarksTheSpan() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.builder().setMaxAttributeCount(1).build());
+
+        Span span = spans.recording();
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "first", "a"));
+
+        Map<String, Object> batch = new LinkedHashMap<>();
+
+        batch.put("second", "b");
+
+        batch.put("third", 3L);
+
+        Map<String, AttributeStatus> rejected = CustomInstrumentation.setAll(span, batch);
+
+        assertEquals(AttributeStatus.LIMIT_EXCEEDED, rejected.get("second"));
+
+        assertEquals(AttributeStatus.LIMIT_EXCEEDED, rejected.get("third"));
+
+        SpanData data = spans.finish(span);
+
+        assertTrue(data.getAttributes().get(CustomInstrumentation.TRUNCATED_KEY));
+
+        assertNull(data.getAttributes().get(AttributeKey.stringKey("apm.second")));
+    }
+
+    @Test
+    void batchedOverwritesShareTheKeyBudget() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.builder().setMaxAttributeCount(1).build());
+
+        Span span = spans.recording();
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertTrue(CustomInstrumentation.setAll(span, java.util.Collections.singletonMap("k", i)).isEmpty());
+        }
+
+        assertEquals(9L, spans.finish(span).getAttributes().get(AttributeKey.longKey("apm.k")));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AttributeSessionTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    @Test
+    void settersWriteNamespacedAttributesToTheSessionSpan() throws Exception
+    {
+        Span span = spans.recording();
+
+        AttributeSession session = CustomInstrumentation.on(span);
+
+        session.set("session.flag", Boolean.TRUE);
+
+        session.set("session.ratio", 0.5);
+
+        session.set("session.count", 3);
+
+        session.set("apm.session.total", 7L);
+
+        session.set("session.name", "checkout");
+
+        session.setStringList("session.tags", Arrays.asList("a", null, "b"));
+
+        session.setLongArray("session.ids", new long[]{1, 2});
+
+        session.setLong("session.supplied", () -> 11L);
+
+        session.set(CustomInstrumentation.stringKey("session.handle"), "handled");
+
+        Attributes attributes = spans.finish(span).getAttributes();
+
+        assertEquals(true, attributes.get(AttributeKey.booleanKey("apm.session.flag")));
+
+        assertEquals(0.5, attributes.get(AttributeKey.doubleKey("apm.session.ratio")));
+
+        assertEquals(3L, attributes.get(AttributeKey.longKey("apm.session.count")));
+
+        assertEquals(7L, attributes.get(AttributeKey.longKey("apm.session.total")));
+
+        assertEquals("checkout", attributes.get(AttributeKey.stringKey("apm.session.name")));
+
+        assertEquals(Arrays.asList("a", "b"), attributes.get(AttributeKey.stringArrayKey("apm.session.tags")));
+
+        assertEquals(Arrays.asList(1L, 2L), attributes.get(AttributeKey.longArrayKey("apm.session.ids")));
+
+        assertEquals(11L, attributes.get(AttributeKey.longKey("apm.session.supplied")));
+
+        assertEquals("handled", attributes.get(AttributeKey.stringKey("apm.session.handle")));
+    }
+
+    @Test
+    void sessionAppliesTheSameValidationAsTheStaticSetters() throws Exception
+    {
+        AttributeSession session = CustomInstrumentation.on(spans.recording());
+
+        assertThrows(Exception.class, () -> session.set("session key", "a"));
+
+        assertThrows(Exception.class, () -> session.set("session.null", (String) null));
+
+        assertEquals(AttributeStatus.INVALID_KEY, session.trySet("session key", "a"));
+
+        assertEquals(AttributeStatus.NON_FINITE, session.trySet("session.ratio", Double.NaN));
+
+        assertEquals(AttributeStatus.NOT_RECORDING, CustomInstrumentation.on(spans.nonRecording()).trySet("session.name", "a"));
+
+        assertThrows(Exception.class, () -> CustomInstrumentation.on(null));
+    }
+
+    @Test
+    void currentSessionKeepsItsSpanAfterTheScopeCloses() throws Exception
+    {
+        Span span = spans.recording();
+
+        AttributeSession session;
+
+        try (Scope ignored = span.makeCurrent())
+        {
+            session = CustomInstrumentation.current();
+        }
+
+        assertSame(span, session.getSpan());
+
+        assertFalse(Span.current().getSpanContext().isValid());
+
+        session.set("session.after", "scope");
+
+        assertEquals("scope", spans.finish(span).getAttributes().get(AttributeKey.stringKey("apm.session.after")));
+    }
+
+    @Test
+    void sessionCapturedOnOneThreadWritesFromAnother() throws Exception
+    {
+        Span span = spans.recording();
+
+        AttributeSession session;
+
+        try (Scope ignored = span.makeCurrent())
+        {
+            session = CustomInstrumentation.current();
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try
+        {
+            assertEquals(AttributeStatus.OK, executor.submit(() ->
+            {
+                assertFalse(Span.current().getSpanContext().isValid());
+
+                session.set("session.async", 42L);
+
+                return session.trySet("session.callback", "done");
+            }).get());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        SpanData data = spans.finish(span);
+
+        assertEquals(42L, data.getAttributes().get(AttributeKey.longKey("apm.session.async")));
+
+        assertEquals("done", data.getAttributes().get(AttributeKey.stringKey("apm.session.callback")));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardinalityGuardTest
+{
+
+    private static final AttributeKey<String> USER = AttributeKey.stringKey("apm.guard.user");
+
+    private final TestSpans spans = new TestSpans();
+
+    @AfterEach
+    void resetGuard()
+    {
+        CustomInstrumentation.clearCardinalityLimit();
+    }
+
+    @Test
+    void valuesOverTheThresholdAreReplacedOnTheSetterPaths() throws Exception
+    {
+        CustomInstrumentation.setCardinalityLimit(10, 60_000, CardinalityOverflow.REPLACE);
+
+        for (int i = 0; i < 200; i++)
+        {
+            assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(spans.recording(), "guard.user", "user-" + i));
+        }
+
+        Span trySpan = spans.recording();
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(trySpan, "guard.user", "user-new"));
+
+        assertEquals(CardinalityGuard.OVERFLOW_VALUE, spans.finish(trySpan).getAttributes().get(USER));
+
+        Span setSpan = spans.recording();
+
+        CustomInstrumentation.set(setSpan, "guard.user", "user-other");
+
+        CustomInstrumentation.stringKey("guard.user").set(setSpan, "user-handle");
+
+        CustomInstrumentation.set(setSpan, "guard.region", "eu-west");
+
+        CustomInstrumentation.set(setSpan, "guard.count", 5L);
+
+        Attributes attributes = spans.finish(setSpan).getAttributes();
+
+        assertEquals(CardinalityGuard.OVERFLOW_VALUE, attributes.get(USER));
+
+        assertEquals("eu-west", attributes.get(AttributeKey.stringKey("apm.guard.region")));
+
+        assertEquals(5L, attributes.get(AttributeKey.longKey("apm.guard.count")));
+
+        assertTrue(CustomInstrumentation.cardinalityEstimates().get("apm.guard.user") > 10);
+
+        assertTrue(CustomInstrumentation.cardinalityEstimates().get("apm.guard.region") <= 10);
+    }
+
+    @Test
+    void repeatedValuesStayUnderTheThreshold() throws Exception
+    {
+        CustomInstrumentation.setCardinalityLimit(10, 60_000, CardinalityOverflow.REPLACE);
+
+        Span span = spans.recording();
+
+        for (int i = 0; i < 200; i++)
+        {
+            CustomInstrumentation.set(span, "guard.user", "user-" + (i % 5));
+        }
+
+        assertEquals("user-4", spans.finish(span).getAttributes().get(USER));
+    }
+
+    @Test
+    void bucketPolicyKeepsABoundedSetOfValues() throws Exception
+    {
+        CustomInstrumentation.setCardinalityLimit(10, 60_000, CardinalityOverflow.BUCKET);
+
+        for (int i = 0; i < 200; i++)
+        {
+            CustomInstrumentation.trySet(spans.recording(), "guard.user", "user-" + i);
+        }
+
+        Span span = spans.recording();
+
+        CustomInstrumentation.set(span, "guard.user", "user-new");
+
+        assertTrue(spans.finish(span).getAttributes().get(USER).matches("__bucket_\\d\\d__"));
+    }
+
+    @Test
+    void clearingTheLimitStopsReplacement() throws Exception
+    {
+        CustomInstrumentation.setCardinalityLimit(10, 60_000, CardinalityOverflow.REPLACE);
+
+        for (int i = 0; i < 200; i++)
+        {
+            CustomInstrumentation.trySet(spans.recording(), "guard.user", "user-" + i);
+        }
+
+        CustomInstrumentation.clearCardinalityLimit();
+
+        Span span = spans.recording();
+
+        CustomInstrumentation.set(span, "guard.user", "user-new");
+
+        assertEquals("user-new", spans.finish(span).getAttributes().get(USER));
+
+        assertTrue(CustomInstrumentation.cardinalityEstimates().isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    @AfterEach
+    void resetLimits() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.unlimited());
+    }
+
+    @Test
+    void zeroLengthMeasurementsRegisterTheKeyOnce() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.builder().setMaxAttributeCount(2).build());
+
+        Span span = spans.recording();
+
+        PreparedKey key = CustomInstrumentation.cachedKey("db.time");
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.recordDuration(span, key, 0));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.recordDuration(span, key, 0));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.recordDuration(span, key, 5));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "other", "x"));
+
+        assertEquals(5L, spans.finish(span).getAttributes().get(AttributeKey.longKey("apm.db.time")));
+    }
+
+    @Test
+    void rejectedKeysStayRejected() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.builder().setMaxAttributeCount(1).build());
+
+        Span span = spans.recording();
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "other", "x"));
+
+        PreparedKey key = CustomInstrumentation.cachedKey("db.time");
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(AttributeStatus.LIMIT_EXCEEDED, CustomInstrumentation.recordDuration(span, key, 7));
+        }
+
+        assertNull(spans.finish(span).getAttributes().get(AttributeKey.longKey("apm.db.time")));
+    }
+
+    @Test
+    void concurrentMeasurementsEndOnTheFinalTotal() throws Exception
+    {
+        Span span = spans.recording();
+
+        PreparedKey key = CustomInstrumentation.cachedKey("db.time");
+
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++)
+        {
+            Thread thread = new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                }
+                catch (InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+
+                    return;
+                }
+
+                for (int i = 0; i < 10_000; i++)
+                {
+                    CustomInstrumentation.recordDuration(span, key, 1);
+                }
+            });
+
+            thread.start();
+
+            threads.add(thread);
+        }
+
+        start.countDown();
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEquals(80_000L, spans.finish(span).getAttributes().get(AttributeKey.longKey("apm.db.time")));
+    }
+
+    @Test
+    void invalidKeyIsIgnoredOnNonRecordingSpans() throws Exception
+    {
+        Span span = spans.nonRecording();
+
+        boolean[] ran = new boolean[1];
+
+        try (Scope ignored = span.makeCurrent())
+        {
+            CustomInstrumentation.time("bad key!", () -> ran[0] = true);
+
+            assertEquals("done", CustomInstrumentation.time("bad key!", () -> "done"));
+        }
+
+        assertTrue(ran[0]);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventsTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    @AfterEach
+    void resetLimit() throws Exception
+    {
+        CustomInstrumentation.setEventLimit(128);
+    }
+
+    @Test
+    void rejectedEventsDoNotConsumeTheLimit() throws Exception
+    {
+        CustomInstrumentation.setEventLimit(2);
+
+        Span span = spans.recording();
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(AttributeStatus.INVALID_KEY,
+                    CustomInstrumentation.tryAddEvent(span, "retry", Collections.singletonMap("bad key!", "x")));
+
+            assertThrows(Exception.class,
+                    () -> CustomInstrumentation.addEvent(span, "retry", Collections.singletonMap("bad key!", "x")));
+        }
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.tryAddEvent(span, "retry", null));
+
+        CustomInstrumentation.addEvent(span, "retry", null);
+
+        assertEquals(AttributeStatus.LIMIT_EXCEEDED, CustomInstrumentation.tryAddEvent(span, "retry", null));
+
+        assertEquals(2, spans.finish(span).getEvents().size());
+    }
+
+    @Test
+    void eventNamesSkipThePreparedKeyCache() throws Exception
+    {
+        KeyCacheStats before = CustomInstrumentation.keyCacheStats();
+
+        Span span = spans.recording();
+
+        CustomInstrumentation.addEvent(span, "uncached.event", null);
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.tryAddEvent(span, "uncached.event", null));
+
+        assertEquals(AttributeStatus.INVALID_KEY, CustomInstrumentation.tryAddEvent(span, "bad event!", null));
+
+        KeyCacheStats after = CustomInstrumentation.keyCacheStats();
+
+        assertEquals(before.getHitCount() + before.getMissCount(), after.getHitCount() + after.getMissCount());
+
+        assertEquals("apm.uncached.event", spans.finish(span).getEvents().get(0).getName());
+    }
+
+    @Test
+    void clearedLimitDoesNotCountEvents()
+    {
+        CustomInstrumentation.clearEventLimit();
+
+        assertEquals(0, CustomInstrumentation.getEventLimit());
+
+        Span span = spans.recording();
+
+        for (int i = 0; i < 200; i++)
+        {
+            assertEquals(AttributeStatus.OK, CustomInstrumentation.tryAddEvent(span, "retry", null));
+        }
+
+        assertNull(SpanStates.find(span));
+    }
+}
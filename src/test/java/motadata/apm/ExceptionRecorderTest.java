@@ -0,0 +1,215 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionRecorderTest
+{
+
+    private static final AttributeKey<String> STACKTRACE = AttributeKey.stringKey("exception.stacktrace");
+
+    private static final AttributeKey<String> FINGERPRINT = AttributeKey.stringKey("apm.exception.fingerprint");
+
+    private static final AttributeKey<Long> COUNT = AttributeKey.longKey("apm.exception.count");
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(1_000);
+
+    @Test
+    void stackTraceIsCutToTheFrameLimit()
+    {
+        ExceptionRecorder recorder = new ExceptionRecorder(5, 8, 0);
+
+        String trace = recorder.describe(withFrames(new IllegalStateException("deep"), "Deep", 50)).get(STACKTRACE);
+
+        assertEquals(5, count(trace, "\tat "));
+
+        assertTrue(trace.endsWith("\t... 45 more\n"), trace);
+    }
+
+    @Test
+    void causesShareTheFrameBudget()
+    {
+        ExceptionRecorder recorder = new ExceptionRecorder(5, 8, 0);
+
+        Throwable root = withFrames(new IOException("root"), "Root", 4);
+
+        Throwable middle = withFrames(new IllegalArgumentException("middle", root), "Middle", 10);
+
+        Throwable outer = withFrames(new IllegalStateException("outer", middle), "Outer", 3);
+
+        String trace = recorder.describe(outer).get(STACKTRACE);
+
+        assertEquals(3, count(trace, "\tat Outer."));
+
+        assertEquals(2, count(trace, "\tat Middle."));
+
+        assertTrue(trace.contains("\t... 8 more\n"), trace);
+
+        assertTrue(trace.endsWith("Caused by: java.io.IOException: root\n"), trace);
+    }
+
+    @Test
+    void repeatsWithinTheWindowOnlyCarryFingerprintAndCount()
+    {
+        ExceptionRecorder recorder = new ExceptionRecorder(32, 8, 1_000);
+
+        Throwable exception = withFrames(new IllegalStateException("again"), "Repeat", 3);
+
+        Attributes first = recorder.describe(exception, 0);
+
+        Attributes second = recorder.describe(exception, WINDOW_NANOS - 1);
+
+        Attributes later = recorder.describe(exception, WINDOW_NANOS);
+
+        assertNotNull(first.get(STACKTRACE));
+
+        assertEquals(1L, first.get(COUNT));
+
+        assertNull(second.get(STACKTRACE));
+
+        assertEquals(2L, second.get(COUNT));
+
+        assertEquals(first.get(FINGERPRINT), second.get(FINGERPRINT));
+
+        assertNotNull(later.get(STACKTRACE));
+
+        assertEquals(1L, later.get(COUNT));
+    }
+
+    @Test
+    void fingerprintsSharingASlotEvictEachOther()
+    {
+        ExceptionRecorder recorder = new ExceptionRecorder(32, 8, 1_000);
+
+        Map<Integer, Throwable> bySlot = new HashMap<>();
+
+        Throwable first = null;
+
+        Throwable second = null;
+
+        for (int line = 1; second == null; line++)
+        {
+            Throwable candidate = withFrames(new IllegalStateException(), "Slot" + line, 1);
+
+            Throwable previous = bySlot.putIfAbsent(ExceptionRecorder.slot(fingerprint(recorder, candidate)), candidate);
+
+            if (previous != null)
+            {
+                first = previous;
+
+                second = candidate;
+            }
+        }
+
+        assertEquals(1L, recorder.describe(first, 0).get(COUNT));
+
+        assertEquals(1L, recorder.describe(second, 1).get(COUNT));
+
+        Attributes again = recorder.describe(first, 2);
+
+        assertEquals(1L, again.get(COUNT));
+
+        assertNotNull(again.get(STACKTRACE));
+    }
+
+    @Test
+    void fingerprintCoversTheCauseChain()
+    {
+        ExceptionRecorder recorder = new ExceptionRecorder(32, 8, 1_000);
+
+        long ioCause = fingerprint(recorder, wrapped(withFrames(new IOException(), "Cause", 2)));
+
+        long stateCause = fingerprint(recorder, wrapped(withFrames(new IllegalStateException(), "Cause", 2)));
+
+        long otherFrames = fingerprint(recorder, wrapped(withFrames(new IOException(), "Elsewhere", 2)));
+
+        assertNotEquals(ioCause, stateCause);
+
+        assertNotEquals(ioCause, otherFrames);
+
+        assertEquals(ioCause, fingerprint(recorder, wrapped(withFrames(new IOException("other message"), "Cause", 2))));
+    }
+
+    @Test
+    void cyclicCauseChainIsFingerprinted()
+    {
+        ExceptionRecorder recorder = new ExceptionRecorder(32, 8, 1_000);
+
+        Throwable inner = withFrames(new IllegalStateException("inner"), "Inner", 2);
+
+        Throwable outer = withFrames(new IllegalStateException("outer", inner), "Outer", 2);
+
+        inner.initCause(outer);
+
+        assertEquals(1L, recorder.describe(outer).get(COUNT));
+    }
+
+    private static Throwable wrapped(Throwable cause)
+    {
+        return withFrames(new RuntimeException("wrapper", cause), "Wrapper", 2);
+    }
+
+    private static long fingerprint(ExceptionRecorder recorder, Throwable throwable)
+    {
+        return recorder.fingerprint(throwable, throwable.getStackTrace());
+    }
+
+    private static Throwable withFrames(Throwable throwable, String className, int frames)
+    {
+        StackTraceElement[] trace = new StackTraceElement[frames];
+
+        for (int i = 0; i < frames; i++)
+        {
+            trace[i] = new StackTraceElement(className, "call" + i, className + ".java", i + 1);
+        }
+
+        throwable.setStackTrace(trace);
+
+        return throwable;
+    }
+
+    private static int count(String text, String fragment)
+    {
+        int count = 0;
+
+        for (int index = text.indexOf(fragment); index >= 0; index = text.indexOf(fragment, index + 1))
+        {
+            count++;
+        }
+
+        return count;
+    }
+}
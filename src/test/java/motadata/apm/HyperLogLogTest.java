@@ -0,0 +1,79 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest
+{
+
+    @Test
+    void emptySketchEstimatesZero()
+    {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void runningSumsTrackTheDistinctCount()
+    {
+        HyperLogLog sketch = new HyperLogLog();
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            sketch.offer(HyperLogLog.hash("value-" + (i % 20_000)));
+        }
+
+        assertWithin(20_000, sketch.estimate());
+    }
+
+    @Test
+    void seededSketchEstimatesTheUnion()
+    {
+        HyperLogLog previous = new HyperLogLog();
+
+        for (int i = 0; i < 5_000; i++)
+        {
+            previous.offer(HyperLogLog.hash("value-" + i));
+        }
+
+        HyperLogLog union = new HyperLogLog(previous);
+
+        assertEquals(previous.estimate(), union.estimate());
+
+        for (int i = 2_500; i < 10_000; i++)
+        {
+            union.offer(HyperLogLog.hash("value-" + i));
+        }
+
+        assertWithin(10_000, union.estimate());
+
+        assertWithin(5_000, previous.estimate());
+    }
+
+    private static void assertWithin(long expected, long estimate)
+    {
+        assertTrue(Math.abs(estimate - expected) <= expected / 10, "estimate " + estimate + " for " + expected);
+    }
+}
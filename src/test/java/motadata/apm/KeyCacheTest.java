@@ -0,0 +1,97 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyCacheTest
+{
+
+    @Test
+    void hotKeysSurviveAFloodOfUniqueKeys()
+    {
+        KeyCache cache = new KeyCache(64);
+
+        for (int i = 0; i < 64; i++)
+        {
+            cache.put("hot." + i, new PreparedKey("apm.hot." + i));
+        }
+
+        for (int round = 0; round < 200; round++)
+        {
+            for (int i = 0; i < 64; i++)
+            {
+                assertNotNull(cache.get("hot." + i));
+            }
+        }
+
+        for (int i = 0; i < 20_000; i++)
+        {
+            String key = "unique." + i;
+
+            if (cache.get(key) == null)
+            {
+                cache.put(key, new PreparedKey("apm." + key));
+            }
+
+            for (int j = 0; j < 64; j++)
+            {
+                cache.get("hot." + j);
+            }
+        }
+
+        int resident = 0;
+
+        for (int i = 0; i < 64; i++)
+        {
+            if (cache.get("hot." + i) != null)
+            {
+                resident++;
+            }
+        }
+
+        // Admission is probabilistic: a unique key can collide with hot keys
+        // in every row of the sketch.
+        assertTrue(resident >= 58, "hot keys resident: " + resident);
+    }
+
+    @Test
+    void countsHitsAndMisses()
+    {
+        KeyCache cache = new KeyCache(4);
+
+        assertNull(cache.get("key"));
+
+        cache.put("key", new PreparedKey("apm.key"));
+
+        assertNotNull(cache.get("key"));
+
+        assertEquals(1, cache.stats().getHitCount());
+
+        assertEquals(1, cache.stats().getMissCount());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeyHandleTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    @Test
+    void handlesWriteThePreparedKey() throws Exception
+    {
+        BooleanKey flag = CustomInstrumentation.booleanKey("handle.flag");
+
+        DoubleKey ratio = CustomInstrumentation.doubleKey("Handle.Ratio");
+
+        LongKey count = CustomInstrumentation.longKey("apm.handle.count");
+
+        StringKey name = CustomInstrumentation.stringKey("handle.name");
+
+        assertEquals("apm.handle.flag", flag.getName());
+
+        assertEquals(CustomInstrumentation.prepareKey("Handle.Ratio"), ratio.getName());
+
+        assertEquals("apm.handle.count", count.getName());
+
+        assertEquals(AttributeKey.stringKey("apm.handle.name"), name.getAttributeKey());
+
+        Span span = spans.recording();
+
+        flag.set(span, true);
+
+        ratio.set(span, 0.25);
+
+        count.set(span, 4);
+
+        try (Scope ignored = span.makeCurrent())
+        {
+            name.set("current");
+        }
+
+        Attributes attributes = spans.finish(span).getAttributes();
+
+        assertEquals(4, attributes.size());
+
+        assertEquals(true, attributes.get(flag.getAttributeKey()));
+
+        assertEquals(0.25, attributes.get(ratio.getAttributeKey()));
+
+        assertEquals(4L, attributes.get(AttributeKey.longKey("apm.handle.count")));
+
+        assertEquals("current", attributes.get(AttributeKey.stringKey("apm.handle.name")));
+    }
+
+    @Test
+    void handleCreationRejectsInvalidKeys()
+    {
+        for (String key : new String[]{null, "", " ", "handle key", "handle-key", "handlé"})
+        {
+            Exception exception = assertThrows(Exception.class, () -> CustomInstrumentation.longKey(key), String.valueOf(key));
+
+            Exception expected = assertThrows(Exception.class, () -> CustomInstrumentation.prepareKey(key));
+
+            assertEquals(expected.getMessage(), exception.getMessage());
+
+            assertThrows(Exception.class, () -> CustomInstrumentation.stringKey(key));
+
+            assertThrows(Exception.class, () -> CustomInstrumentation.booleanKey(key));
+
+            assertThrows(Exception.class, () -> CustomInstrumentation.doubleKey(key));
+        }
+    }
+
+    @Test
+    void handlesValidateValuesAndSpans() throws Exception
+    {
+        DoubleKey ratio = CustomInstrumentation.doubleKey("handle.ratio");
+
+        StringKey name = CustomInstrumentation.stringKey("handle.name");
+
+        Span span = spans.recording();
+
+        assertThrows(Exception.class, () -> ratio.set(span, Double.NaN));
+
+        assertThrows(Exception.class, () -> name.set(span, null));
+
+        assertThrows(Exception.class, () -> name.set(null, "a"));
+
+        assertDoesNotThrow(() -> ratio.set(spans.nonRecording(), Double.NaN));
+
+        assertEquals(0, spans.finish(span).getAttributes().size());
+    }
+}
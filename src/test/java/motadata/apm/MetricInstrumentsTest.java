@@ -0,0 +1,140 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MetricInstrumentsTest
+{
+
+    private final InMemoryMetricReader reader = InMemoryMetricReader.create();
+
+    private final OpenTelemetrySdk sdk = OpenTelemetrySdk.builder()
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(reader).build())
+            .build();
+
+    @BeforeEach
+    @AfterEach
+    void reset()
+    {
+        CustomInstrumentation.clearOpenTelemetry();
+
+        GlobalOpenTelemetry.resetForTest();
+    }
+
+    @Test
+    void earlyInstrumentsRecordOnceTheSdkIsPassedIn() throws Exception
+    {
+        MetricCounter counter = CustomInstrumentation.counter("early.requests");
+
+        MetricCounter bound = counter.bind(Collections.singletonMap("region", "eu"));
+
+        counter.add(1);
+
+        CustomInstrumentation.setOpenTelemetry(sdk);
+
+        assertSame(counter, CustomInstrumentation.counter("early.requests"));
+
+        counter.add(3);
+
+        bound.add(2);
+
+        Collection<MetricData> metrics = reader.collectAllMetrics();
+
+        assertEquals(1, metrics.size());
+
+        MetricData metric = metrics.iterator().next();
+
+        assertEquals("apm.early.requests", metric.getName());
+
+        long total = 0;
+
+        for (LongPointData point : metric.getLongSumData().getPoints())
+        {
+            total += point.getValue();
+        }
+
+        assertEquals(5L, total);
+
+        assertEquals(2, metric.getLongSumData().getPoints().size());
+    }
+
+    @Test
+    void instrumentsReadNoMeterUntilTheFirstMeasurement() throws Exception
+    {
+        CustomInstrumentation.histogram("early.latency");
+
+        CustomInstrumentation.gauge("early.depth");
+
+        assertDoesNotThrow(() -> GlobalOpenTelemetry.set(sdk));
+
+        CustomInstrumentation.histogram("early.latency").record(4.0);
+
+        CustomInstrumentation.gauge("early.depth").set(7.0);
+
+        assertEquals(2, reader.collectAllMetrics().size());
+    }
+
+    @Test
+    void metricNamesSkipThePreparedKeyCache() throws Exception
+    {
+        KeyCacheStats before = CustomInstrumentation.keyCacheStats();
+
+        CustomInstrumentation.counter("uncached.requests");
+
+        CustomInstrumentation.histogram("uncached.latency");
+
+        CustomInstrumentation.gauge("uncached.depth");
+
+        KeyCacheStats after = CustomInstrumentation.keyCacheStats();
+
+        assertEquals(before.getHitCount() + before.getMissCount(), after.getHitCount() + after.getMissCount());
+    }
+
+    @Test
+    void passingTheSdkLeavesTheGlobalInstanceUnset() throws Exception
+    {
+        CustomInstrumentation.setOpenTelemetry(sdk);
+
+        CustomInstrumentation.counter("early.requests").increment();
+
+        assertDoesNotThrow(() -> GlobalOpenTelemetry.set(OpenTelemetry.noop()));
+
+        assertEquals(1, reader.collectAllMetrics().size());
+    }
+}
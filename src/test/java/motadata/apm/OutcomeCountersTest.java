@@ -0,0 +1,79 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class OutcomeCountersTest
+{
+
+    @Test
+    void lateHeavyHittersDisplaceOneOffKeys()
+    {
+        OutcomeCounters counters = new OutcomeCounters();
+
+        for (int i = 0; i < 10_000; i++)
+        {
+            counters.record(AttributeStatus.INVALID_KEY, "one.off." + i);
+        }
+
+        for (int i = 0; i < 1_000; i++)
+        {
+            counters.record(AttributeStatus.NULL_VALUE, "apm.late");
+        }
+
+        Map.Entry<String, Map<AttributeStatus, Long>> top = counters.snapshot(new KeyCache(1).stats())
+                .getTopRejectedKeys().entrySet().iterator().next();
+
+        assertEquals("apm.late", top.getKey());
+
+        assertEquals(1_000L, (long) top.getValue().get(AttributeStatus.NULL_VALUE));
+    }
+
+    @Test
+    void longKeysAreCountedWithoutTracking()
+    {
+        OutcomeCounters counters = new OutcomeCounters();
+
+        StringBuilder key = new StringBuilder();
+
+        for (int i = 0; i <= OutcomeCounters.MAX_KEY_LENGTH; i++)
+        {
+            key.append('x');
+        }
+
+        counters.record(AttributeStatus.INVALID_KEY, key.toString());
+
+        InstrumentationStats stats = counters.snapshot(new KeyCache(1).stats());
+
+        assertEquals(1, stats.getCount(AttributeStatus.INVALID_KEY));
+
+        assertEquals(1, stats.getUntrackedRejectionCount());
+
+        assertFalse(stats.getTopRejectedKeys().containsKey(key.toString()));
+    }
+}
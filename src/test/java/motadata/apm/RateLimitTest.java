@@ -0,0 +1,105 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    @AfterEach
+    void resetLimits()
+    {
+        CustomInstrumentation.clearRateLimit();
+    }
+
+    @Test
+    void perSpanCapAppliesToEachSpanSeparately() throws Exception
+    {
+        CustomInstrumentation.setRateLimit(0, 3);
+
+        Span first = spans.recording();
+
+        Span second = spans.recording();
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(first, "retry", "a"));
+        }
+
+        assertEquals(AttributeStatus.RATE_LIMITED, CustomInstrumentation.trySet(first, "retry", "a"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(first, "other", "a"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(second, "retry", "a"));
+    }
+
+    @Test
+    void shedWritesOfACachedKeySkipKeyPreparation() throws Exception
+    {
+        CustomInstrumentation.setRateLimit(0, 1);
+
+        Span span = spans.recording();
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "rate.cached", "a"));
+
+        KeyCacheStats before = CustomInstrumentation.stats().getKeyCacheStats();
+
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(AttributeStatus.RATE_LIMITED, CustomInstrumentation.trySet(span, "rate.cached", (String) null));
+        }
+
+        KeyCacheStats after = CustomInstrumentation.stats().getKeyCacheStats();
+
+        assertEquals(before.getMissCount(), after.getMissCount());
+
+        assertEquals(before.getHitCount() + 5, after.getHitCount());
+    }
+
+    @Test
+    void writesShedByTheRateDoNotConsumeTheSpanCap()
+    {
+        KeyRateLimiter limiter = new KeyRateLimiter(1, 2);
+
+        Span span = spans.recording();
+
+        assertTrue(limiter.tryAcquire(span, "apm.key"));
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertFalse(limiter.tryAcquire(span, "apm.key"));
+        }
+
+        assertTrue(SpanStates.get(span).acquireKeyWrite("apm.key", 2));
+
+        assertFalse(SpanStates.get(span).acquireKeyWrite("apm.key", 2));
+    }
+}
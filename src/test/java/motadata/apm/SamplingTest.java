@@ -0,0 +1,175 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SamplingTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    @AfterEach
+    void resetRates()
+    {
+        CustomInstrumentation.clearSamplingRates();
+    }
+
+    @Test
+    void exactRateAppliesToItsKeyOnly() throws Exception
+    {
+        CustomInstrumentation.setSamplingRate("sampling.exact", 0);
+
+        Span span = spans.recording();
+
+        assertEquals(AttributeStatus.SAMPLED_OUT, CustomInstrumentation.trySet(span, "sampling.exact", "a"));
+
+        assertEquals(AttributeStatus.SAMPLED_OUT, CustomInstrumentation.trySet(span, "apm.sampling.exact", 1L));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "sampling.exact.child", "a"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "sampling.other", "a"));
+    }
+
+    @Test
+    void prefixRatesMatchOnDotBoundariesAndTheMostSpecificRuleWins() throws Exception
+    {
+        CustomInstrumentation.setPrefixSamplingRate("sampling.debug", 0);
+
+        CustomInstrumentation.setPrefixSamplingRate("sampling.debug.kept", 1);
+
+        CustomInstrumentation.setSamplingRate("sampling.debug.exact", 1);
+
+        Span span = spans.recording();
+
+        assertEquals(AttributeStatus.SAMPLED_OUT, CustomInstrumentation.trySet(span, "sampling.debug", "a"));
+
+        assertEquals(AttributeStatus.SAMPLED_OUT, CustomInstrumentation.trySet(span, "sampling.debug.sql", "a"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "sampling.debugger", "a"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "sampling.debug.kept.sql", "a"));
+
+        assertEquals(AttributeStatus.OK, CustomInstrumentation.trySet(span, "sampling.debug.exact", "a"));
+    }
+
+    @Test
+    void fractionalRateKeepsRoughlyThatShare() throws Exception
+    {
+        CustomInstrumentation.setSamplingRate("sampling.quarter", 0.25);
+
+        Span span = spans.recording();
+
+        int kept = 0;
+
+        for (int i = 0; i < 10_000; i++)
+        {
+            if (CustomInstrumentation.trySet(span, "sampling.quarter", i) == AttributeStatus.OK)
+            {
+                kept++;
+            }
+        }
+
+        assertTrue(kept > 2_000 && kept < 3_000, "kept " + kept);
+    }
+
+    @Test
+    void decisionComesBeforeValueValidationAndListFiltering() throws Exception
+    {
+        CustomInstrumentation.setSamplingRate("sampling.values", 0);
+
+        Span span = spans.recording();
+
+        assertEquals(AttributeStatus.SAMPLED_OUT, CustomInstrumentation.trySet(span, "sampling.values", (String) null));
+
+        assertEquals(AttributeStatus.SAMPLED_OUT, CustomInstrumentation.trySet(span, "sampling.values", Double.NaN));
+
+        assertEquals(AttributeStatus.SAMPLED_OUT, CustomInstrumentation.trySetStringList(span, "sampling.values", untouchable()));
+
+        assertDoesNotThrow(() -> CustomInstrumentation.set(span, "sampling.values", (String) null));
+
+        assertEquals(AttributeStatus.INVALID_KEY, CustomInstrumentation.trySet(span, "sampling values", "a"));
+
+        assertEquals(AttributeStatus.NULL_VALUE, CustomInstrumentation.trySet(span, "sampling.unsampled", (String) null));
+    }
+
+    @Test
+    void sampledOutWritesAreCountedInStatsAndPerRule() throws Exception
+    {
+        CustomInstrumentation.setSamplingRate("sampling.counted", 0);
+
+        CustomInstrumentation.setPrefixSamplingRate("sampling.group", 0);
+
+        Span span = spans.recording();
+
+        long before = CustomInstrumentation.stats().getCount(AttributeStatus.SAMPLED_OUT);
+
+        for (int i = 0; i < 3; i++)
+        {
+            CustomInstrumentation.trySet(span, "sampling.counted", "a");
+        }
+
+        CustomInstrumentation.trySet(span, "sampling.group.first", "a");
+
+        CustomInstrumentation.trySet(span, "sampling.group.second", "a");
+
+        assertEquals(before + 5, CustomInstrumentation.stats().getCount(AttributeStatus.SAMPLED_OUT));
+
+        Map<String, Long> perRule = CustomInstrumentation.sampledOutCounts();
+
+        assertEquals(3L, perRule.get("apm.sampling.counted"));
+
+        assertEquals(2L, perRule.get("apm.sampling.group.*"));
+    }
+
+    /**
+     * A list that fails on any access, to show that a sampled-out write never
+     * reads its values.
+     */
+    private static List<String> untouchable()
+    {
+        return new AbstractList<String>()
+        {
+            @Override
+            public String get(int index)
+            {
+                throw new AssertionError("list read");
+            }
+
+            @Override
+            public int size()
+            {
+                throw new AssertionError("list read");
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import motadata.apm.rules.KeyRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the single-pass key scanner against the regular-expression key
+ * preparation it replaced, and against the copy of the key rules compiled
+ * into the annotation processor and agent.
+ */
+class ScanKeyTest
+{
+
+    private static final Pattern BASELINE_PATTERN = Pattern.compile("[a-zA-Z0-9.]+");
+
+    private static final String[] FRAGMENTS = {
+            "a", "Z", "k", "Q", "0", "9", ".", "..", " ", "\t", "\n", "\r", "\u0000", "\u001f",
+            "\u00a0", "\u2003", "\u00e9", "\u0130", "\u0131", "\u00df", "\u212a", "_", "-", "/", "!",
+            "apm.", "APM.", "Apm.", "aPm.", "apm", "apm..", "order", "Order.ID", "\ud83d\ude00"
+    };
+
+    private static final List<String> EXPLICIT_KEYS = Arrays.asList(
+            "", " ", "   ", "\t\n", "order.id", "Order.ID", "ORDER.ID", " order.id ", "\torder.id\n",
+            "apm.order.id", "APM.order.id", "Apm.Order.Id", "apm.", "APM.", "apm", "apmorder", "apm.apm.x",
+            " APM.x ", "order id", "order_id", "order-id", "ord\u00e9r", "\u0130d", "\u0131d", "\u212aey", "\u00a0order\u00a0",
+            "\u00a0order", "order\u2003", "order.\ud83d\ude00", "...", ".", "a", "A", "1", "apm.A");
+
+    /**
+     * Reproduces the original {@code prepareKey}: trim, regular expression,
+     * lowercase and prefix. The original lowercased with the default locale;
+     * for the ASCII keys the expression admits, the root locale gives the
+     * same result on every non-Turkic locale.
+     */
+    private static String baseline(String key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        key = key.trim();
+
+        if (key.isEmpty() || !BASELINE_PATTERN.matcher(key).matches())
+        {
+            return null;
+        }
+
+        key = key.toLowerCase(Locale.ROOT);
+
+        return key.startsWith("apm.") ? key : "apm." + key;
+    }
+
+    private static String baselineMessage(String key)
+    {
+        if (key == null)
+        {
+            return "Attribute key cannot be null";
+        }
+
+        key = key.trim();
+
+        if (key.isEmpty())
+        {
+            return "Attribute key cannot be empty or whitespace only";
+        }
+
+        return "Attribute key contains invalid characters. Only alphabets, numbers, and dots are allowed: '" + key + "'";
+    }
+
+    private static void assertEquivalent(String key)
+    {
+        String expected = baseline(key);
+
+        assertEquals(expected, key == null ? null : CustomInstrumentation.scanKey(key), () -> "scanKey(" + describe(key) + ")");
+
+        assertEquals(expected, KeyRules.prepare(key), () -> "KeyRules.prepare(" + describe(key) + ")");
+
+        if (expected == null)
+        {
+            Exception exception = assertThrows(Exception.class, () -> CustomInstrumentation.prepareKey(key));
+
+            assertEquals(baselineMessage(key), exception.getMessage());
+
+            assertEquals(baselineMessage(key), KeyRules.describe(key));
+        }
+    }
+
+    private static String describe(String key)
+    {
+        StringBuilder builder = new StringBuilder("\"");
+
+        for (char c : key.toCharArray())
+        {
+            if (c < 0x20 || c > 0x7e)
+            {
+                builder.append(String.format("\\u%04x", (int) c));
+            }
+            else
+            {
+                builder.append(c);
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+
+    @Test
+    void nullKeyIsRejected() throws Exception
+    {
+        assertEquivalent(null);
+    }
+
+    @Test
+    void explicitKeysMatchBaseline()
+    {
+        for (String key : EXPLICIT_KEYS)
+        {
+            assertEquivalent(key);
+        }
+    }
+
+    @Test
+    void fuzzedKeysMatchBaseline()
+    {
+        Random random = new Random(0x5eedL);
+
+        for (int i = 0; i < 200_000; i++)
+        {
+            StringBuilder key = new StringBuilder();
+
+            int parts = random.nextInt(8);
+
+            for (int j = 0; j < parts; j++)
+            {
+                key.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+
+            assertEquivalent(key.toString());
+        }
+    }
+
+    @Test
+    void fuzzedRandomCharactersMatchBaseline()
+    {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++)
+        {
+            char[] chars = new char[random.nextInt(12)];
+
+            for (int j = 0; j < chars.length; j++)
+            {
+                chars[j] = random.nextInt(4) == 0 ? (char) random.nextInt(0x3000) : (char) (0x20 + random.nextInt(0x5f));
+            }
+
+            assertEquivalent(new String(chars));
+        }
+    }
+
+    @Test
+    void preparedKeysAreReturnedWithoutCopying()
+    {
+        String key = "apm.order.id";
+
+        assertSame(key, CustomInstrumentation.scanKey(key));
+    }
+
+    @Test
+    void invalidKeysScanToNull()
+    {
+        assertNull(CustomInstrumentation.scanKey("order id"));
+    }
+}
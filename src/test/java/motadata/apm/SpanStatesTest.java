@@ -0,0 +1,80 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpanStatesTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    @AfterEach
+    void resetLimits() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.unlimited());
+    }
+
+    @Test
+    void wrappersOfOneSpanShareOneState()
+    {
+        Span span = spans.recording();
+
+        SpanState state = SpanStates.get(spans.bridged(span));
+
+        assertSame(state, SpanStates.get(span));
+
+        assertSame(state, SpanStates.find(spans.bridged(span)));
+
+        assertNull(SpanStates.find(spans.recording()));
+    }
+
+    @Test
+    void statesOfEndedSpansAreSwept() throws Exception
+    {
+        CustomInstrumentation.setAttributeLimits(AttributeLimits.builder().setMaxAttributeCount(8).build());
+
+        Span live = spans.recording();
+
+        CustomInstrumentation.trySet(live, "live", "x");
+
+        for (int i = 0; i < 5_000; i++)
+        {
+            Span span = spans.recording();
+
+            CustomInstrumentation.trySet(span, "order.id", "x");
+
+            spans.finish(span);
+        }
+
+        assertTrue(SpanStates.size() < 2_048, "states: " + SpanStates.size());
+
+        assertNotNull(SpanStates.find(live));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording and non-recording spans backed by an in-memory SDK exporter.
+ * <p>
+ * {@link #bridged(Span)} mimics the spans the OpenTelemetry Java agent hands
+ * to the application: a new wrapper with a new {@link SpanContext} on every
+ * lookup, all forwarding to the same underlying span.
+ */
+final class TestSpans
+{
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    private final Tracer tracer = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build()
+            .get("test");
+
+    private final Tracer unsampled = SdkTracerProvider.builder()
+            .setSampler(Sampler.alwaysOff())
+            .build()
+            .get("test");
+
+    Span recording()
+    {
+        return tracer.spanBuilder("test").startSpan();
+    }
+
+    Span nonRecording()
+    {
+        return unsampled.spanBuilder("test").startSpan();
+    }
+
+    Span bridged(Span span)
+    {
+        return new BridgedSpan(span);
+    }
+
+    SpanData finish(Span span)
+    {
+        span.end();
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+
+        return spans.get(spans.size() - 1);
+    }
+
+    private static final class BridgedSpan implements Span
+    {
+
+        private final Span delegate;
+
+        private BridgedSpan(Span delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> Span setAttribute(AttributeKey<T> key, T value)
+        {
+            delegate.setAttribute(key, value);
+
+            return this;
+        }
+
+        @Override
+        public Span addEvent(String name, Attributes attributes)
+        {
+            delegate.addEvent(name, attributes);
+
+            return this;
+        }
+
+        @Override
+        public Span addEvent(String name, Attributes attributes, long timestamp, TimeUnit unit)
+        {
+            delegate.addEvent(name, attributes, timestamp, unit);
+
+            return this;
+        }
+
+        @Override
+        public Span setStatus(StatusCode statusCode, String description)
+        {
+            delegate.setStatus(statusCode, description);
+
+            return this;
+        }
+
+        @Override
+        public Span recordException(Throwable exception, Attributes additionalAttributes)
+        {
+            delegate.recordException(exception, additionalAttributes);
+
+            return this;
+        }
+
+        @Override
+        public Span updateName(String name)
+        {
+            delegate.updateName(name);
+
+            return this;
+        }
+
+        @Override
+        public void end()
+        {
+            delegate.end();
+        }
+
+        @Override
+        public void end(long timestamp, TimeUnit unit)
+        {
+            delegate.end(timestamp, unit);
+        }
+
+        @Override
+        public SpanContext getSpanContext()
+        {
+            SpanContext context = delegate.getSpanContext();
+
+            return SpanContext.create(new String(context.getTraceId()), new String(context.getSpanId()),
+                    context.getTraceFlags(), context.getTraceState());
+        }
+
+        @Override
+        public boolean isRecording()
+        {
+            return delegate.isRecording();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThrowingSettersTest
+{
+
+    private final TestSpans spans = new TestSpans();
+
+    private final Span span = spans.recording();
+
+    @Test
+    void invalidKeysKeepTheirMessages()
+    {
+        assertRejected(AttributeStatus.INVALID_KEY, "Attribute key cannot be null",
+                () -> CustomInstrumentation.set(span, null, "x"));
+
+        assertRejected(AttributeStatus.INVALID_KEY, "Attribute key cannot be empty or whitespace only",
+                () -> CustomInstrumentation.set(span, "  ", 1L));
+
+        assertRejected(AttributeStatus.INVALID_KEY, "Attribute key contains invalid characters. Only alphabets, numbers, and dots are allowed: 'bad key'",
+                () -> CustomInstrumentation.set(span, " bad key ", true));
+    }
+
+    @Test
+    void invalidValuesKeepTheirMessages()
+    {
+        assertRejected(AttributeStatus.NULL_VALUE, "Attribute value cannot be null for key: apm.k",
+                () -> CustomInstrumentation.set(span, "K", (String) null));
+
+        assertRejected(AttributeStatus.NULL_VALUE, "Invalid Double value for key: apm.k",
+                () -> CustomInstrumentation.set(span, "k", (Double) null));
+
+        assertRejected(AttributeStatus.NON_FINITE, "Invalid Double value for key: apm.k",
+                () -> CustomInstrumentation.set(span, "k", Double.NaN));
+
+        assertRejected(AttributeStatus.NULL_VALUE, "List cannot be null for key: apm.k",
+                () -> CustomInstrumentation.setLongList(span, "k", null));
+
+        assertRejected(AttributeStatus.EMPTY_LIST, "List cannot be empty for key: apm.k",
+                () -> CustomInstrumentation.setStringList(span, "k", Collections.<String>emptyList()));
+
+        assertRejected(AttributeStatus.EMPTY_LIST, "List contains only null values for key: apm.k",
+                () -> CustomInstrumentation.setBooleanList(span, "k", Arrays.asList(null, null)));
+
+        assertRejected(AttributeStatus.EMPTY_LIST, "List contains only invalid values for key: apm.k",
+                () -> CustomInstrumentation.setDoubleList(span, "k", Arrays.asList(Double.NaN, null)));
+
+        assertRejected(AttributeStatus.NULL_VALUE, "Array cannot be null for key: apm.k",
+                () -> CustomInstrumentation.setIntegerArray(span, "k", null));
+
+        assertRejected(AttributeStatus.EMPTY_LIST, "Array cannot be empty for key: apm.k",
+                () -> CustomInstrumentation.setLongArray(span, "k", new long[0]));
+
+        assertRejected(AttributeStatus.EMPTY_LIST, "Array contains only invalid values for key: apm.k",
+                () -> CustomInstrumentation.setDoubleArray(span, "k", new double[] {Double.POSITIVE_INFINITY}));
+    }
+
+    @Test
+    void supplierRejectionsKeepTheirMessages()
+    {
+        assertRejected(AttributeStatus.NULL_VALUE, "Attribute value cannot be null for key: apm.k",
+                () -> CustomInstrumentation.setStringList(span, "k", (Supplier<List<String>>) null));
+
+        assertRejected(AttributeStatus.NULL_VALUE, "List cannot be null for key: apm.k",
+                () -> CustomInstrumentation.setStringList(span, "k", () -> null));
+
+        assertRejected(AttributeStatus.EMPTY_LIST, "List cannot be empty for key: apm.k",
+                () -> CustomInstrumentation.setStringList(span, "k", Collections::emptyList));
+
+        assertRejected(AttributeStatus.EMPTY_LIST, "List contains only null values for key: apm.k",
+                () -> CustomInstrumentation.setStringList(span, "k", () -> Collections.singletonList(null)));
+
+        assertRejected(AttributeStatus.NULL_VALUE, "Attribute value cannot be null for key: apm.k",
+                () -> CustomInstrumentation.setDouble(span, "k", null));
+
+        assertRejected(AttributeStatus.NON_FINITE, "Invalid Double value for key: apm.k",
+                () -> CustomInstrumentation.setDouble(span, "k", () -> Double.NaN));
+    }
+
+    @Test
+    void droppedWritesDoNotThrow()
+    {
+        Span unsampled = spans.nonRecording();
+
+        assertDoesNotThrow(() -> CustomInstrumentation.set(unsampled, "bad key", (String) null));
+
+        assertDoesNotThrow(() -> CustomInstrumentation.set(span, "k", "v"));
+    }
+
+    private static void assertRejected(AttributeStatus status, String message, Executable write)
+    {
+        long before = CustomInstrumentation.stats().getCount(status);
+
+        assertEquals(message, assertThrows(Exception.class, write).getMessage());
+
+        assertEquals(before + 1, CustomInstrumentation.stats().getCount(status));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *   Copyright (c) Motadata 2026. All rights reserved.
+ *
+ *   This source code is the property of Motadata and constitutes
+ *   proprietary and confidential information. Unauthorized copying, distribution,
+ *   modification, or use of this file, via any medium, is strictly prohibited
+ *   unless prior written permission is obtained from Motadata.
+ *
+ *   Unauthorized access or use of this software may result in legal action
+ *   and/or prosecution to the fullest extent of the law.
+ *
+ *   This software is provided "AS IS," without warranties of any kind, express
+ *   or implied, including but not limited to implied warranties of
+ *   merchantability or fitness for a particular purpose. In no event shall
+ *   Motadata be held liable for any damages arising from the use
+ *   of this software.
+ *
+ *   For inquiries, contact: engg@motadata.com
+ *
+ */
+
+package motadata.apm;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceTest
+{
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    private final OpenTelemetrySdk sdk = OpenTelemetrySdk.builder()
+            .setTracerProvider(SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build())
+            .build();
+
+    @BeforeEach
+    @AfterEach
+    void reset()
+    {
+        CustomInstrumentation.clearOpenTelemetry();
+
+        GlobalOpenTelemetry.resetForTest();
+    }
+
+    @Test
+    void spansAreRecordedOnceTheSdkIsPassedInAfterAnEarlyCall() throws Exception
+    {
+        CustomInstrumentation.trace("early", () -> assertFalse(Span.current().isRecording()));
+
+        CustomInstrumentation.setOpenTelemetry(sdk);
+
+        String result = CustomInstrumentation.trace("Cache.Lookup", () ->
+        {
+            assertTrue(Span.current().isRecording());
+
+            return "hit";
+        });
+
+        assertEquals("hit", result);
+
+        List<SpanData> finished = exporter.getFinishedSpanItems();
+
+        assertEquals(1, finished.size());
+
+        assertEquals("apm.cache.lookup", finished.get(0).getName());
+    }
+
+    @Test
+    void passingTheSdkLeavesTheGlobalInstanceUnset() throws Exception
+    {
+        CustomInstrumentation.setOpenTelemetry(sdk);
+
+        CustomInstrumentation.trace("cache.lookup", () -> assertTrue(Span.current().isRecording()));
+
+        assertDoesNotThrow(() -> GlobalOpenTelemetry.set(OpenTelemetry.noop()));
+
+        assertEquals(1, exporter.getFinishedSpanItems().size());
+    }
+
+    @Test
+    void globalSdkRegisteredBeforeTheFirstSpanIsUsed() throws Exception
+    {
+        GlobalOpenTelemetry.set(sdk);
+
+        CustomInstrumentation.trace("cache.lookup", () -> assertTrue(Span.current().isRecording()));
+
+        assertEquals(1, exporter.getFinishedSpanItems().size());
+    }
+}